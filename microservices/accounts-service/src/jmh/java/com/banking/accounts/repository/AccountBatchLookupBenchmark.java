@@ -0,0 +1,123 @@
+package com.banking.accounts.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Resolving N accounts with one SELECT per account number (what N GET /api/accounts/number/{n} calls cost the
+// database) against the chunked IN-list queries behind POST /api/accounts/batch. HTTP overhead comes on top of
+// every single call and is not measured here. Needs a PostgreSQL reachable at the url param; works on a scratch table.
+// Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.include=AccountBatchLookup
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountBatchLookupBenchmark {
+
+    private static final int TABLE_SIZE = 100_000;
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String SINGLE_LOOKUP = "SELECT * FROM bench_lookup_accounts WHERE account_number = ?";
+
+    @Param("jdbc:postgresql://localhost:5432/banking_accounts")
+    public String url;
+
+    @Param("banking_user")
+    public String user;
+
+    @Param("banking_password")
+    public String password;
+
+    @Param({"10", "100", "1000", "5000"})
+    public int accounts;
+
+    private Connection connection;
+    private List<String> accountNumbers;
+
+    @Setup
+    public void createTable() throws SQLException {
+        connection = DriverManager.getConnection(url, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_lookup_accounts");
+            statement.execute("CREATE TABLE bench_lookup_accounts (id BIGINT PRIMARY KEY, account_number VARCHAR(20) UNIQUE, " +
+                    "balance NUMERIC(19, 2), status VARCHAR(20), currency VARCHAR(3))");
+            statement.execute("INSERT INTO bench_lookup_accounts SELECT n, lpad(n::text, 10, '0'), 100, 'ACTIVE', 'EUR' " +
+                    "FROM generate_series(1, " + TABLE_SIZE + ") n");
+            statement.execute("ANALYZE bench_lookup_accounts");
+        }
+
+        List<String> numbers = new ArrayList<>(TABLE_SIZE);
+        for (int n = 1; n <= TABLE_SIZE; n++) {
+            numbers.add(String.format("%010d", n));
+        }
+        Collections.shuffle(numbers);
+        accountNumbers = numbers.subList(0, accounts);
+    }
+
+    @TearDown
+    public void dropTable() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_lookup_accounts");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int singleLookups() throws SQLException {
+        int found = 0;
+        try (PreparedStatement statement = connection.prepareStatement(SINGLE_LOOKUP)) {
+            for (String accountNumber : accountNumbers) {
+                statement.setString(1, accountNumber);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int batchLookup() throws SQLException {
+        int found = 0;
+        for (int from = 0; from < accountNumbers.size(); from += CHUNK_SIZE) {
+            List<String> chunk = accountNumbers.subList(from, Math.min(from + CHUNK_SIZE, accountNumbers.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT * FROM bench_lookup_accounts WHERE account_number IN (" + placeholders + ")")) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setString(i + 1, chunk.get(i));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,131 @@
+package com.banking.accounts.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 64 threads crediting one merchant account: slots = 0 is the guarded UPDATE on the accounts row every credit
+// queues behind, other values spread credits over that many account_balance_slots rows with the statement
+// AccountBalanceSlotRepository.credit runs. Needs a PostgreSQL reachable at the url param; works on scratch tables.
+// Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.include=BalanceSlotCredit
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(64)
+@Fork(1)
+public class BalanceSlotCreditBenchmark {
+
+    private static final String ACCOUNT_NUMBER = "BENCH00002";
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    private static final String ROW_CREDIT =
+            "UPDATE bench_slot_accounts SET balance = balance + ?, available_balance = available_balance + ?, updated_at = ? " +
+            "WHERE account_number = ? AND status = 'ACTIVE' RETURNING *";
+    private static final String SLOT_CREDIT =
+            "INSERT INTO bench_balance_slots (account_number, slot, balance) " +
+            "SELECT a.account_number, ? % a.balance_slots, ? FROM bench_slot_accounts a " +
+            "WHERE a.account_number = ? AND a.status = 'ACTIVE' AND a.balance_slots > 0 " +
+            "ON CONFLICT (account_number, slot) DO UPDATE SET balance = bench_balance_slots.balance + EXCLUDED.balance";
+
+    @State(Scope.Benchmark)
+    public static class MerchantAccount {
+
+        @Param("jdbc:postgresql://localhost:5432/banking_accounts")
+        public String url;
+
+        @Param("banking_user")
+        public String user;
+
+        @Param("banking_password")
+        public String password;
+
+        @Param({"0", "4", "16", "64"})
+        public int slots;
+
+        @Setup
+        public void createTables() throws SQLException {
+            try (Connection connection = DriverManager.getConnection(url, user, password);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS bench_balance_slots, bench_slot_accounts");
+                statement.execute("CREATE TABLE bench_slot_accounts (account_number VARCHAR(20) PRIMARY KEY, " +
+                        "balance NUMERIC(19, 2), available_balance NUMERIC(19, 2), status VARCHAR(20), " +
+                        "balance_slots INTEGER, updated_at TIMESTAMP)");
+                statement.execute("CREATE TABLE bench_balance_slots (account_number VARCHAR(20), slot INTEGER, " +
+                        "balance NUMERIC(19, 2) NOT NULL, PRIMARY KEY (account_number, slot))");
+                statement.execute("INSERT INTO bench_slot_accounts VALUES ('" + ACCOUNT_NUMBER + "', 0, 0, 'ACTIVE', " +
+                        (slots > 0 ? slots : "NULL") + ", now())");
+            }
+        }
+
+        @TearDown
+        public void dropTables() throws SQLException {
+            try (Connection connection = DriverManager.getConnection(url, user, password);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS bench_balance_slots, bench_slot_accounts");
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+        Connection connection;
+        PreparedStatement credit;
+
+        @Setup
+        public void open(MerchantAccount account) throws SQLException {
+            connection = DriverManager.getConnection(account.url, account.user, account.password);
+            connection.setAutoCommit(false);
+            credit = connection.prepareStatement(account.slots > 0 ? SLOT_CREDIT : ROW_CREDIT);
+        }
+
+        @TearDown
+        public void close() throws SQLException {
+            credit.close();
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public int credit(MerchantAccount account, Session session) throws SQLException {
+        PreparedStatement credit = session.credit;
+        int updated;
+        if (account.slots > 0) {
+            credit.setInt(1, ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE));
+            credit.setBigDecimal(2, AMOUNT);
+            credit.setString(3, ACCOUNT_NUMBER);
+            updated = credit.executeUpdate();
+        } else {
+            credit.setBigDecimal(1, AMOUNT);
+            credit.setBigDecimal(2, AMOUNT);
+            credit.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+            credit.setString(4, ACCOUNT_NUMBER);
+            credit.execute();
+            updated = 1;
+        }
+        // Each credit is its own transaction, so the row lock is held for a full commit like in updateBalance
+        session.connection.commit();
+        return updated;
+    }
+}
@@ -0,0 +1,177 @@
+package com.banking.accounts.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 64 threads debiting one account: the old read-modify-write (two statements, unlocked or with SELECT ... FOR UPDATE)
+// against the guarded UPDATE ... RETURNING behind AccountService.updateBalance. After each iteration the balance is
+// checked against the debits that reported success, so the unlocked variant shows its lost updates.
+// Needs a PostgreSQL reachable at the url param; works on a scratch bench_accounts table.
+// Run with: mvn -Pbenchmark test-compile exec:exec
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(64)
+@Fork(1)
+public class BalanceUpdateContentionBenchmark {
+
+    private static final String ACCOUNT_NUMBER = "BENCH00001";
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    private static final String GUARDED_DEBIT =
+            "UPDATE bench_accounts SET balance = balance - ?, available_balance = available_balance - ?, updated_at = ? " +
+            "WHERE account_number = ? AND status = 'ACTIVE' AND available_balance >= ? RETURNING balance";
+    private static final String READ = "SELECT balance, available_balance, status FROM bench_accounts WHERE account_number = ?";
+    private static final String WRITE = "UPDATE bench_accounts SET balance = ?, available_balance = ?, updated_at = ? WHERE account_number = ?";
+
+    @State(Scope.Benchmark)
+    public static class SharedAccount {
+
+        @Param("jdbc:postgresql://localhost:5432/banking_accounts")
+        public String url;
+
+        @Param("banking_user")
+        public String user;
+
+        @Param("banking_password")
+        public String password;
+
+        final AtomicLong debits = new AtomicLong();
+
+        @Setup(Level.Iteration)
+        public void reset() throws SQLException {
+            try (Connection connection = DriverManager.getConnection(url, user, password);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS bench_accounts (account_number VARCHAR(20) PRIMARY KEY, " +
+                        "balance NUMERIC(19, 2), available_balance NUMERIC(19, 2), status VARCHAR(20), updated_at TIMESTAMP)");
+                statement.execute("DELETE FROM bench_accounts");
+                statement.execute("INSERT INTO bench_accounts VALUES ('" + ACCOUNT_NUMBER + "', " + OPENING_BALANCE + ", " +
+                        OPENING_BALANCE + ", 'ACTIVE', now())");
+            }
+            debits.set(0);
+        }
+
+        @TearDown(Level.Iteration)
+        public void check() throws SQLException {
+            BigDecimal balance;
+            try (Connection connection = DriverManager.getConnection(url, user, password);
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT balance FROM bench_accounts")) {
+                resultSet.next();
+                balance = resultSet.getBigDecimal(1);
+            }
+            BigDecimal expected = OPENING_BALANCE.subtract(AMOUNT.multiply(BigDecimal.valueOf(debits.get())));
+            long lost = balance.subtract(expected).divide(AMOUNT).longValueExact();
+            System.out.printf("%n%d debits reported, %d lost to concurrent overwrites%n", debits.get(), lost);
+        }
+
+        @TearDown
+        public void dropTable() throws SQLException {
+            try (Connection connection = DriverManager.getConnection(url, user, password);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS bench_accounts");
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+        Connection connection;
+
+        @Setup
+        public void open(SharedAccount account) throws SQLException {
+            connection = DriverManager.getConnection(account.url, account.user, account.password);
+            connection.setAutoCommit(false);
+        }
+
+        @TearDown
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public boolean readModifyWrite(SharedAccount account, Session session) throws SQLException {
+        return debitAfterRead(account, session.connection, READ);
+    }
+
+    @Benchmark
+    public boolean lockedReadModifyWrite(SharedAccount account, Session session) throws SQLException {
+        return debitAfterRead(account, session.connection, READ + " FOR UPDATE");
+    }
+
+    @Benchmark
+    public boolean guardedUpdate(SharedAccount account, Session session) throws SQLException {
+        Connection connection = session.connection;
+        boolean debited;
+        try (PreparedStatement statement = connection.prepareStatement(GUARDED_DEBIT)) {
+            statement.setBigDecimal(1, AMOUNT);
+            statement.setBigDecimal(2, AMOUNT);
+            statement.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+            statement.setString(4, ACCOUNT_NUMBER);
+            statement.setBigDecimal(5, AMOUNT);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                debited = resultSet.next();
+            }
+        }
+        connection.commit();
+        if (debited) {
+            account.debits.incrementAndGet();
+        }
+        return debited;
+    }
+
+    // What findById, canDebit, debit and save amount to on the wire
+    private static boolean debitAfterRead(SharedAccount account, Connection connection, String read) throws SQLException {
+        BigDecimal balance;
+        BigDecimal availableBalance;
+        try (PreparedStatement statement = connection.prepareStatement(read)) {
+            statement.setString(1, ACCOUNT_NUMBER);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                balance = resultSet.getBigDecimal(1);
+                availableBalance = resultSet.getBigDecimal(2);
+                if (!"ACTIVE".equals(resultSet.getString(3)) || availableBalance.compareTo(AMOUNT) < 0) {
+                    connection.rollback();
+                    return false;
+                }
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement(WRITE)) {
+            statement.setBigDecimal(1, balance.subtract(AMOUNT));
+            statement.setBigDecimal(2, availableBalance.subtract(AMOUNT));
+            statement.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+            statement.setString(4, ACCOUNT_NUMBER);
+            statement.executeUpdate();
+        }
+        connection.commit();
+        account.debits.incrementAndGet();
+        return true;
+    }
+}
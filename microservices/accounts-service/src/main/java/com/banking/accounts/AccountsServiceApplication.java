@@ -3,9 +3,11 @@ package com.banking.accounts;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableKafka
+@EnableScheduling
 public class AccountsServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(AccountsServiceApplication.class, args);
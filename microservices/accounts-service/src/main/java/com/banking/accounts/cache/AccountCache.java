@@ -0,0 +1,136 @@
+package com.banking.accounts.cache;
+
+import com.banking.accounts.dto.AccountDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+// AccountDto by account number, plus the id -> account number mapping (which never changes).
+// This instance writes its own updates through once they commit; every instance evicts on account-events,
+// and the ttl bounds what a missed event can leave behind. Cached DTOs are shared: callers must not modify them.
+@Component
+public class AccountCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<String, AccountDto> accounts;
+    private final Cache<Long, String> accountNumbersById;
+
+    // Bumped before every put or eviction of a key in the stripe; a load that saw the stripe move
+    // while it was reading the database may hold an older row and is not cached
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final Timer hitTimer;
+    private final Timer missTimer;
+
+    public AccountCache(MeterRegistry meterRegistry,
+                        @Value("${banking.account-cache.maximum-size:100000}") long maximumSize,
+                        @Value("${banking.account-cache.ttl:30s}") Duration ttl) {
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.accountNumbersById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, accounts, "accounts");
+        CaffeineCacheMetrics.monitor(meterRegistry, accountNumbersById, "account-numbers-by-id");
+        this.hitTimer = lookupTimer(meterRegistry, "hit");
+        this.missTimer = lookupTimer(meterRegistry, "miss");
+    }
+
+    private static Timer lookupTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("accounts.cache.lookup")
+                .description("Time taken to answer an account lookup, from the cache or the database")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public Optional<AccountDto> getByNumber(String accountNumber, Supplier<Optional<AccountDto>> loader) {
+        return lookup(accountNumber, loader);
+    }
+
+    // An id seen for the first time is loaded without caching the account; the next lookup finds its number
+    public Optional<AccountDto> getById(Long id, Supplier<Optional<AccountDto>> loader) {
+        return lookup(accountNumbersById.getIfPresent(id), loader);
+    }
+
+    private Optional<AccountDto> lookup(String accountNumber, Supplier<Optional<AccountDto>> loader) {
+        long start = System.nanoTime();
+        AccountDto cached = accountNumber != null ? accounts.getIfPresent(accountNumber) : null;
+        if (cached != null) {
+            hitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(cached);
+        }
+
+        long generation = accountNumber != null ? generations.get(stripe(accountNumber)) : 0;
+        Optional<AccountDto> loaded = loader.get();
+        loaded.ifPresent(account -> {
+            accountNumbersById.put(account.getId(), account.getAccountNumber());
+            if (account.getAccountNumber().equals(accountNumber)) {
+                putIfUnchanged(account, generation);
+            }
+        });
+        missTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return loaded;
+    }
+
+    private void putIfUnchanged(AccountDto account, long generation) {
+        int stripe = stripe(account.getAccountNumber());
+        // compute holds the key, so a concurrent put or eviction lands either before the check or after the write
+        accounts.asMap().compute(account.getAccountNumber(),
+                (accountNumber, current) -> generations.get(stripe) == generation ? account : current);
+    }
+
+    public void put(AccountDto account) {
+        generations.incrementAndGet(stripe(account.getAccountNumber()));
+        accountNumbersById.put(account.getId(), account.getAccountNumber());
+        accounts.put(account.getAccountNumber(), account);
+    }
+
+    public void invalidate(String accountNumber) {
+        generations.incrementAndGet(stripe(accountNumber));
+        accounts.invalidate(accountNumber);
+    }
+
+    // Inside a transaction the write waits for the commit, so a rolled-back update never reaches the cache
+    public void putAfterCommit(AccountDto account) {
+        afterCommit(() -> put(account));
+    }
+
+    public void invalidateAfterCommit(String accountNumber) {
+        afterCommit(() -> invalidate(accountNumber));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static int stripe(String accountNumber) {
+        return (accountNumber.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+}
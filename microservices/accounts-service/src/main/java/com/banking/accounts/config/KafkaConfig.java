@@ -0,0 +1,23 @@
+package com.banking.accounts.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaConfig {
+
+    @Value("${banking.kafka.topics.account-events.partitions:12}")
+    private int accountEventsPartitions;
+
+    @Value("${banking.kafka.topics.replicas:1}")
+    private int replicas;
+
+    // Events are keyed by account number, so one account's events stay on one partition and in order
+    @Bean
+    public NewTopic accountEventsTopic() {
+        return TopicBuilder.name("account-events").partitions(accountEventsPartitions).replicas(replicas).build();
+    }
+}
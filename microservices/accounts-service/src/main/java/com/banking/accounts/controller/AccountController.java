@@ -54,6 +54,14 @@ public class AccountController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    @Timed(value = "accounts.getBatch", description = "Time taken to look up a batch of accounts")
+    public ResponseEntity<AccountBatchLookupResponse> getAccounts(@Valid @RequestBody AccountBatchLookupRequest request) {
+        AccountBatchLookupResponse accounts = accountService.getAccounts(request);
+        return ResponseEntity.ok(accounts);
+    }
+
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('EMPLOYEE') or hasRole('ADMIN')")
     @Timed(value = "accounts.getByUser", description = "Time taken to get accounts by user")
@@ -88,6 +96,40 @@ public class AccountController {
         return ResponseEntity.ok(account);
     }
 
+    @PutMapping("/number/{accountNumber}/balance")
+    @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    @Timed(value = "accounts.updateBalance", description = "Time taken to update balance")
+    public ResponseEntity<AccountDto> updateBalanceByNumber(
+            @PathVariable String accountNumber,
+            @Valid @RequestBody UpdateBalanceRequest request) {
+        AccountDto account = accountService.updateBalanceByNumber(accountNumber, request);
+        return ResponseEntity.ok(account);
+    }
+
+    @PostMapping("/transfers")
+    @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    @Timed(value = "accounts.postTransfer", description = "Time taken to post a transfer")
+    public ResponseEntity<TransferPostingResponse> postTransfer(@Valid @RequestBody TransferPostingRequest request) {
+        TransferPostingResponse posting = accountService.postTransfer(request);
+        return ResponseEntity.ok(posting);
+    }
+
+    @PostMapping("/transfers/batch")
+    @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    @Timed(value = "accounts.postTransfers", description = "Time taken to post a batch of transfers")
+    public ResponseEntity<List<TransferPostingResult>> postTransfers(@Valid @RequestBody BatchTransferPostingRequest request) {
+        List<TransferPostingResult> results = accountService.postTransfers(request);
+        return ResponseEntity.ok(results);
+    }
+
+    @PostMapping("/ledger/lookup")
+    @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    @Timed(value = "accounts.ledgerLookup", description = "Time taken to look up posted transactions")
+    public ResponseEntity<List<String>> findPostedTransactionIds(@Valid @RequestBody LedgerLookupRequest request) {
+        List<String> posted = accountService.findPostedTransactionIds(request.getTransactionIds());
+        return ResponseEntity.ok(posted);
+    }
+
     @PutMapping("/{id}/status")
     @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
     @Timed(value = "accounts.updateStatus", description = "Time taken to update status")
@@ -98,6 +140,15 @@ public class AccountController {
         return ResponseEntity.ok(account);
     }
 
+    @PutMapping("/{id}/balance-slots")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AccountDto> enableBalanceSlots(
+            @PathVariable Long id,
+            @RequestParam int slots) {
+        AccountDto account = accountService.enableBalanceSlots(id, slots);
+        return ResponseEntity.ok(account);
+    }
+
     @GetMapping("/user/{userId}/count")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('EMPLOYEE') or hasRole('ADMIN')")
     public ResponseEntity<Long> countActiveAccountsByUserId(@PathVariable Long userId) {
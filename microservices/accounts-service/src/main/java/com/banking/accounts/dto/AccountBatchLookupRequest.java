@@ -0,0 +1,29 @@
+package com.banking.accounts.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class AccountBatchLookupRequest {
+    @Size(max = 5000)
+    private List<String> accountNumbers;
+
+    @Size(max = 5000)
+    private List<Long> ids;
+
+    @JsonIgnore
+    @AssertTrue(message = "Between 1 and 5000 account numbers and ids are required")
+    public boolean isSizeValid() {
+        int size = (accountNumbers != null ? accountNumbers.size() : 0) + (ids != null ? ids.size() : 0);
+        return size > 0 && size <= 5000;
+    }
+
+    // Getters and Setters
+    public List<String> getAccountNumbers() { return accountNumbers; }
+    public void setAccountNumbers(List<String> accountNumbers) { this.accountNumbers = accountNumbers; }
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+}
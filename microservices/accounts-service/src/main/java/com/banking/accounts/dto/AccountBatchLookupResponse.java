@@ -0,0 +1,30 @@
+package com.banking.accounts.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class AccountBatchLookupResponse {
+    // Keyed by account number, whether the account was asked for by number or by id
+    private Map<String, AccountDto> accounts;
+    private List<String> missingAccountNumbers;
+    private List<Long> missingIds;
+
+    // Constructors
+    public AccountBatchLookupResponse() {}
+
+    public AccountBatchLookupResponse(Map<String, AccountDto> accounts, List<String> missingAccountNumbers, List<Long> missingIds) {
+        this.accounts = accounts;
+        this.missingAccountNumbers = missingAccountNumbers;
+        this.missingIds = missingIds;
+    }
+
+    // Getters and Setters
+    public Map<String, AccountDto> getAccounts() { return accounts; }
+    public void setAccounts(Map<String, AccountDto> accounts) { this.accounts = accounts; }
+
+    public List<String> getMissingAccountNumbers() { return missingAccountNumbers; }
+    public void setMissingAccountNumbers(List<String> missingAccountNumbers) { this.missingAccountNumbers = missingAccountNumbers; }
+
+    public List<Long> getMissingIds() { return missingIds; }
+    public void setMissingIds(List<Long> missingIds) { this.missingIds = missingIds; }
+}
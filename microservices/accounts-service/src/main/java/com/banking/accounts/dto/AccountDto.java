@@ -19,6 +19,7 @@ public class AccountDto {
     private String branchCode;
     private String iban;
     private String bic;
+    private Integer balanceSlots;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -62,6 +63,9 @@ public class AccountDto {
     public String getBic() { return bic; }
     public void setBic(String bic) { this.bic = bic; }
 
+    public Integer getBalanceSlots() { return balanceSlots; }
+    public void setBalanceSlots(Integer balanceSlots) { this.balanceSlots = balanceSlots; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -0,0 +1,18 @@
+package com.banking.accounts.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchTransferPostingRequest {
+    @NotEmpty
+    @Size(max = 5000)
+    @Valid
+    private List<TransferPostingRequest> transfers;
+
+    // Getters and Setters
+    public List<TransferPostingRequest> getTransfers() { return transfers; }
+    public void setTransfers(List<TransferPostingRequest> transfers) { this.transfers = transfers; }
+}
@@ -0,0 +1,16 @@
+package com.banking.accounts.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class LedgerLookupRequest {
+    @NotEmpty
+    @Size(max = 5000)
+    private List<String> transactionIds;
+
+    // Getters and Setters
+    public List<String> getTransactionIds() { return transactionIds; }
+    public void setTransactionIds(List<String> transactionIds) { this.transactionIds = transactionIds; }
+}
@@ -0,0 +1,39 @@
+package com.banking.accounts.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public class TransferPostingRequest {
+    @NotBlank
+    private String fromAccountNumber;
+
+    @NotBlank
+    private String toAccountNumber;
+
+    @NotNull
+    @DecimalMin(value = "0.01")
+    private BigDecimal amount;
+
+    private String description;
+
+    private String transactionId;
+
+    // Getters and Setters
+    public String getFromAccountNumber() { return fromAccountNumber; }
+    public void setFromAccountNumber(String fromAccountNumber) { this.fromAccountNumber = fromAccountNumber; }
+
+    public String getToAccountNumber() { return toAccountNumber; }
+    public void setToAccountNumber(String toAccountNumber) { this.toAccountNumber = toAccountNumber; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+}
@@ -0,0 +1,26 @@
+package com.banking.accounts.dto;
+
+public class TransferPostingResponse {
+    private String transactionId;
+    private AccountDto fromAccount;
+    private AccountDto toAccount;
+
+    // Constructors
+    public TransferPostingResponse() {}
+
+    public TransferPostingResponse(String transactionId, AccountDto fromAccount, AccountDto toAccount) {
+        this.transactionId = transactionId;
+        this.fromAccount = fromAccount;
+        this.toAccount = toAccount;
+    }
+
+    // Getters and Setters
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public AccountDto getFromAccount() { return fromAccount; }
+    public void setFromAccount(AccountDto fromAccount) { this.fromAccount = fromAccount; }
+
+    public AccountDto getToAccount() { return toAccount; }
+    public void setToAccount(AccountDto toAccount) { this.toAccount = toAccount; }
+}
@@ -0,0 +1,26 @@
+package com.banking.accounts.dto;
+
+public class TransferPostingResult {
+    private String transactionId;
+    private boolean posted;
+    private String reason;
+
+    // Constructors
+    public TransferPostingResult() {}
+
+    public TransferPostingResult(String transactionId, boolean posted, String reason) {
+        this.transactionId = transactionId;
+        this.posted = posted;
+        this.reason = reason;
+    }
+
+    // Getters and Setters
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public boolean isPosted() { return posted; }
+    public void setPosted(boolean posted) { this.posted = posted; }
+
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+}
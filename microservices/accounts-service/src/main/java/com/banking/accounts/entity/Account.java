@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class Account {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+    @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -55,6 +56,9 @@ public class Account {
 
     private String bic;
 
+    // Number of balance slots for a hot account (null = unsharded); part of its balance then lives in account_balance_slots
+    private Integer balanceSlots;
+
     @CreatedDate
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -108,6 +112,9 @@ public class Account {
     public String getBic() { return bic; }
     public void setBic(String bic) { this.bic = bic; }
 
+    public Integer getBalanceSlots() { return balanceSlots; }
+    public void setBalanceSlots(Integer balanceSlots) { this.balanceSlots = balanceSlots; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -115,6 +122,10 @@ public class Account {
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
     // Business methods
+    public boolean isBalanceSharded() {
+        return balanceSlots != null && balanceSlots > 0;
+    }
+
     public void updateAvailableBalance() {
         this.availableBalance = this.balance.add(this.overdraftLimit);
     }
@@ -0,0 +1,65 @@
+package com.banking.accounts.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+// Credits parked on one slot of a sharded account; the account's balance is its accounts row plus all of its slots
+@Entity
+@Table(name = "account_balance_slots")
+@IdClass(AccountBalanceSlot.Key.class)
+public class AccountBalanceSlot {
+    @Id
+    @Column(length = 20)
+    private String accountNumber;
+
+    @Id
+    private Integer slot;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance = BigDecimal.ZERO;
+
+    // Constructors
+    public AccountBalanceSlot() {}
+
+    // Getters and Setters
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+
+    public Integer getSlot() { return slot; }
+    public void setSlot(Integer slot) { this.slot = slot; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+
+    public static class Key implements Serializable {
+        private String accountNumber;
+        private Integer slot;
+
+        public Key() {}
+
+        public Key(String accountNumber, Integer slot) {
+            this.accountNumber = accountNumber;
+            this.slot = slot;
+        }
+
+        public String getAccountNumber() { return accountNumber; }
+
+        public Integer getSlot() { return slot; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(accountNumber, key.accountNumber) && Objects.equals(slot, key.slot);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountNumber, slot);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.banking.accounts.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One posted leg of a transaction; written in the same database transaction as the balance change it records
+@Entity
+@Table(name = "ledger_entries", indexes = {
+    @Index(name = "idx_ledger_transaction_id", columnList = "transactionId")
+})
+public class LedgerEntry {
+    @Id
+    // postTransfers writes these in batches, so ids come from a pooled sequence rather than IDENTITY
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_entries_seq")
+    @SequenceGenerator(name = "ledger_entries_seq", sequenceName = "ledger_entries_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String transactionId;
+
+    @Column(nullable = false, length = 20)
+    private String accountNumber;
+
+    @Column(nullable = false, length = 10)
+    private String operation;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public LedgerEntry() {}
+
+    public LedgerEntry(String transactionId, String accountNumber, String operation, BigDecimal amount) {
+        this.transactionId = transactionId;
+        this.accountNumber = accountNumber;
+        this.operation = operation;
+        this.amount = amount;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+
+    public String getOperation() { return operation; }
+    public void setOperation(String operation) { this.operation = operation; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
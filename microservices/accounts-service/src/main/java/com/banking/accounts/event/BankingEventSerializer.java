@@ -0,0 +1,44 @@
+package com.banking.accounts.event;
+
+import com.banking.events.BinaryEventCodec;
+import com.banking.events.EventSchema;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+
+// Kafka value serializer: events with a binary schema go out as BinaryEventCodec frames when
+// banking.events.format=binary, everything else (and everything by default) as JSON for older consumers
+public class BankingEventSerializer implements Serializer<Object> {
+
+    public static final String FORMAT_CONFIG = "banking.events.format";
+
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+    private boolean binary;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+        binary = "binary".equals(configs.get(FORMAT_CONFIG));
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (binary && data != null) {
+            EventSchema<?> schema = EventSchemas.REGISTRY.forEvent(data.getClass());
+            if (schema != null) {
+                return encode(schema, data);
+            }
+        }
+        return jsonSerializer.serialize(topic, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+
+    private static <T> byte[] encode(EventSchema<T> schema, Object event) {
+        return BinaryEventCodec.encode(schema, schema.getEventClass().cast(event));
+    }
+}
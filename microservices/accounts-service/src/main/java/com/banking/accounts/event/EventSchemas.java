@@ -0,0 +1,39 @@
+package com.banking.accounts.event;
+
+import com.banking.accounts.service.AccountService.AccountCreatedEvent;
+import com.banking.accounts.service.AccountService.BalanceUpdatedEvent;
+import com.banking.events.EventSchema;
+import com.banking.events.EventSchemaRegistry;
+
+import java.util.List;
+
+import static com.banking.events.EventSchema.FieldType.*;
+
+// Binary schemas of the account-events this service publishes; ids and field order must match notifications-service
+public final class EventSchemas {
+
+    public static final EventSchema<AccountCreatedEvent> ACCOUNT_CREATED =
+            EventSchema.builder(101, "ACCOUNT_CREATED", AccountCreatedEvent.class)
+                    .field("accountId", LONG, AccountCreatedEvent::getAccountId)
+                    .field("accountNumber", STRING, AccountCreatedEvent::getAccountNumber)
+                    .field("userId", LONG, AccountCreatedEvent::getUserId)
+                    .field("accountType", STRING, AccountCreatedEvent::getAccountType)
+                    .field("balance", DECIMAL, AccountCreatedEvent::getBalance)
+                    .field("currency", STRING, AccountCreatedEvent::getCurrency)
+                    .build();
+
+    public static final EventSchema<BalanceUpdatedEvent> BALANCE_UPDATED =
+            EventSchema.builder(102, "BALANCE_UPDATED", BalanceUpdatedEvent.class)
+                    .field("accountId", LONG, BalanceUpdatedEvent::getAccountId)
+                    .field("accountNumber", STRING, BalanceUpdatedEvent::getAccountNumber)
+                    .field("newBalance", DECIMAL, BalanceUpdatedEvent::getNewBalance)
+                    .field("availableBalance", DECIMAL, BalanceUpdatedEvent::getAvailableBalance)
+                    .field("operation", STRING, BalanceUpdatedEvent::getOperation)
+                    .field("amount", DECIMAL, BalanceUpdatedEvent::getAmount)
+                    .field("transactionId", STRING, BalanceUpdatedEvent::getTransactionId)
+                    .build();
+
+    public static final EventSchemaRegistry REGISTRY = new EventSchemaRegistry(List.of(ACCOUNT_CREATED, BALANCE_UPDATED));
+
+    private EventSchemas() {}
+}
@@ -0,0 +1,23 @@
+package com.banking.accounts.listener;
+
+import com.banking.accounts.cache.AccountCache;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AccountCacheInvalidationListener {
+
+    @Autowired
+    private AccountCache accountCache;
+
+    // Each instance evicts from its own cache, so each one consumes the topic under its own group.
+    // Events are keyed by account number: the key is all this needs, the value is never decoded.
+    @KafkaListener(topics = "account-events", groupId = "accounts-service-cache-${HOSTNAME:${random.uuid}}")
+    public void handleAccountEvent(ConsumerRecord<String, byte[]> record) {
+        if (record.key() != null) {
+            accountCache.invalidate(record.key());
+        }
+    }
+}
@@ -25,6 +25,7 @@ public class AccountMapper {
         dto.setBranchCode(account.getBranchCode());
         dto.setIban(account.getIban());
         dto.setBic(account.getBic());
+        dto.setBalanceSlots(account.getBalanceSlots());
         dto.setCreatedAt(account.getCreatedAt());
         dto.setUpdatedAt(account.getUpdatedAt());
 
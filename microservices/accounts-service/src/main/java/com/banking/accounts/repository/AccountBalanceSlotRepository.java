@@ -0,0 +1,44 @@
+package com.banking.accounts.repository;
+
+import com.banking.accounts.entity.AccountBalanceSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, AccountBalanceSlot.Key> {
+
+    // Locks one slot row only; the accounts row is read, not locked. Returns 0 when the account is inactive or not sharded.
+    @Modifying
+    @Query(value = "INSERT INTO account_balance_slots (account_number, slot, balance) " +
+                   "SELECT a.account_number, :seed % a.balance_slots, :amount FROM accounts a " +
+                   "WHERE a.account_number = :accountNumber AND a.status = 'ACTIVE' AND a.balance_slots > 0 " +
+                   "ON CONFLICT (account_number, slot) DO UPDATE SET balance = account_balance_slots.balance + EXCLUDED.balance",
+           nativeQuery = true)
+    int credit(@Param("accountNumber") String accountNumber,
+               @Param("seed") int seed,
+               @Param("amount") BigDecimal amount);
+
+    @Query("SELECT COALESCE(SUM(s.balance), 0) FROM AccountBalanceSlot s WHERE s.accountNumber = :accountNumber")
+    BigDecimal sumByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    // Folds every slot back into the accounts row in one statement and returns the amount moved (0 for an unsharded account).
+    // Locks the accounts row before the slots, the order transfer postings already hold them in, so sweeps cannot deadlock.
+    @Query(value = "WITH account AS (SELECT account_number FROM accounts WHERE account_number = :accountNumber FOR UPDATE), " +
+                   "held AS (SELECT s.slot, s.balance FROM account_balance_slots s JOIN account a ON a.account_number = s.account_number " +
+                   "         ORDER BY s.slot FOR UPDATE OF s), " +
+                   "drained AS (UPDATE account_balance_slots s SET balance = 0 FROM held " +
+                   "            WHERE s.account_number = :accountNumber AND s.slot = held.slot AND held.balance <> 0 " +
+                   "            RETURNING held.balance AS amount), " +
+                   "total AS (SELECT COALESCE(SUM(amount), 0) AS amount FROM drained), " +
+                   "moved AS (UPDATE accounts SET balance = balance + (SELECT amount FROM total), " +
+                   "          available_balance = available_balance + (SELECT amount FROM total) " +
+                   "          WHERE account_number = :accountNumber AND (SELECT amount FROM total) <> 0) " +
+                   "SELECT amount FROM total",
+           nativeQuery = true)
+    BigDecimal sweep(@Param("accountNumber") String accountNumber);
+}
@@ -0,0 +1,23 @@
+package com.banking.accounts.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// account_numbers_seq hands out blocks of account number serials: each nextval reserves the blockSize serials
+// ending at the returned value. Not an entity sequence, so ddl-auto does not create it.
+@Repository
+public class AccountNumberSequenceRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void createIfMissing(int blockSize, long maxSerial) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS account_numbers_seq " +
+                "START WITH " + blockSize + " INCREMENT BY " + blockSize + " MINVALUE " + blockSize + " MAXVALUE " + maxSerial);
+    }
+
+    public long nextBlockEnd() {
+        return jdbcTemplate.queryForObject("SELECT nextval('account_numbers_seq')", Long.class);
+    }
+}
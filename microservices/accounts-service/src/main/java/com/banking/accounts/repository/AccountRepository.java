@@ -4,12 +4,17 @@ import com.banking.accounts.entity.Account;
 import com.banking.accounts.entity.AccountStatus;
 import com.banking.accounts.entity.AccountType;
 import org.springframework.data.domain.Page;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import org.springframework.data.domain.Pageable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +22,9 @@ import java.util.Optional;
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByAccountNumber(String accountNumber);
 
+    @Query("SELECT a.accountNumber FROM Account a WHERE a.id = :id")
+    Optional<String> findAccountNumberById(@Param("id") Long id);
+
     List<Account> findByUserId(Long userId);
 
     List<Account> findByUserIdAndStatus(Long userId, AccountStatus status);
@@ -33,6 +41,38 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     @Query("SELECT COUNT(a) FROM Account a WHERE a.userId = :userId AND a.status = 'ACTIVE'")
     Long countActiveAccountsByUserId(@Param("userId") Long userId);
 
+    // Batch lookups: callers pass chunks of at most a thousand keys
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    List<Account> findByIdIn(Collection<Long> ids);
+
+    // Rows are locked in account number order so concurrent transfers cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountNumber IN :accountNumbers ORDER BY a.accountNumber")
+    List<Account> findByAccountNumberInForUpdate(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    // Guarded single-statement balance updates: status and funds are checked by the same UPDATE that writes,
+    // so concurrent debits cannot overdraw. No row comes back when the account is missing, inactive or short of funds.
+    @Query(value = "UPDATE accounts SET balance = balance - :amount, available_balance = available_balance - :amount, updated_at = :updatedAt " +
+                   "WHERE account_number = :accountNumber AND status = 'ACTIVE' AND available_balance >= :amount RETURNING *",
+           nativeQuery = true)
+    Optional<Account> debitIfAvailable(@Param("accountNumber") String accountNumber,
+                                       @Param("amount") BigDecimal amount,
+                                       @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query(value = "UPDATE accounts SET balance = balance + :amount, available_balance = available_balance + :amount, updated_at = :updatedAt " +
+                   "WHERE account_number = :accountNumber AND status = 'ACTIVE' RETURNING *",
+           nativeQuery = true)
+    Optional<Account> creditIfActive(@Param("accountNumber") String accountNumber,
+                                     @Param("amount") BigDecimal amount,
+                                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("SELECT a.accountNumber FROM Account a WHERE a.balanceSlots > 0")
+    List<String> findBalanceShardedAccountNumbers();
+
+    @Query("SELECT COUNT(a) > 0 FROM Account a WHERE a.accountNumber = :accountNumber AND a.balanceSlots > 0")
+    boolean isBalanceSharded(@Param("accountNumber") String accountNumber);
+
     Boolean existsByAccountNumber(String accountNumber);
 
     @Query("SELECT a FROM Account a WHERE a.iban = :iban")
@@ -0,0 +1,17 @@
+package com.banking.accounts.repository;
+
+import com.banking.accounts.entity.LedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    @Query("SELECT DISTINCT e.transactionId FROM LedgerEntry e WHERE e.transactionId IN :transactionIds")
+    List<String> findPostedTransactionIds(@Param("transactionIds") Collection<String> transactionIds);
+}
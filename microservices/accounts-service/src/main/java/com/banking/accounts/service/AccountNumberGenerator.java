@@ -0,0 +1,65 @@
+package com.banking.accounts.service;
+
+import com.banking.accounts.repository.AccountNumberSequenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// Account numbers are a 9-digit serial followed by a Luhn check digit. Each instance leases serials a block at a
+// time from account_numbers_seq, so numbers are unique without an existence check and a lease costs one nextval
+// per BLOCK_SIZE accounts. Serials of a block left unused when an instance stops are simply skipped.
+@Component
+public class AccountNumberGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(AccountNumberGenerator.class);
+
+    static final int BLOCK_SIZE = 1000;
+    private static final int SERIAL_DIGITS = 9;
+    private static final long MAX_SERIAL = 999_999_999L;
+
+    private final AccountNumberSequenceRepository sequenceRepository;
+
+    // Guarded by this: the next serial to hand out and the last one of the leased block
+    private long nextSerial = 1;
+    private long blockEnd = 0;
+    private boolean sequenceReady;
+
+    public AccountNumberGenerator(AccountNumberSequenceRepository sequenceRepository) {
+        this.sequenceRepository = sequenceRepository;
+    }
+
+    public synchronized String next() {
+        if (nextSerial > blockEnd) {
+            leaseBlock();
+        }
+        String serial = String.format("%0" + SERIAL_DIGITS + "d", nextSerial++);
+        return serial + checkDigit(serial);
+    }
+
+    private void leaseBlock() {
+        if (!sequenceReady) {
+            sequenceRepository.createIfMissing(BLOCK_SIZE, MAX_SERIAL);
+            sequenceReady = true;
+        }
+        blockEnd = sequenceRepository.nextBlockEnd();
+        nextSerial = blockEnd - BLOCK_SIZE + 1;
+        logger.debug("Leased account number serials {} to {}", nextSerial, blockEnd);
+    }
+
+    // Luhn (mod 10): catches any single wrong digit and most swaps of adjacent digits
+    static int checkDigit(String digits) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
@@ -1,30 +1,55 @@
 package com.banking.accounts.service;
 
+import com.banking.accounts.cache.AccountCache;
+import com.banking.accounts.dto.AccountBatchLookupRequest;
+import com.banking.accounts.dto.AccountBatchLookupResponse;
 import com.banking.accounts.dto.AccountDto;
+import com.banking.accounts.dto.BatchTransferPostingRequest;
 import com.banking.accounts.dto.CreateAccountRequest;
+import com.banking.accounts.dto.TransferPostingRequest;
+import com.banking.accounts.dto.TransferPostingResponse;
+import com.banking.accounts.dto.TransferPostingResult;
 import com.banking.accounts.dto.UpdateBalanceRequest;
 import com.banking.accounts.entity.Account;
 import com.banking.accounts.entity.AccountStatus;
 import com.banking.accounts.entity.AccountType;
+import com.banking.accounts.entity.LedgerEntry;
 import com.banking.accounts.exception.AccountNotFoundException;
 import com.banking.accounts.exception.InsufficientFundsException;
 import com.banking.accounts.mapper.AccountMapper;
+import com.banking.accounts.repository.AccountBalanceSlotRepository;
 import com.banking.accounts.repository.AccountRepository;
+import com.banking.accounts.repository.LedgerEntryRepository;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,12 +57,36 @@ import java.util.stream.Collectors;
 public class AccountService {
     private static final Logger logger = LoggerFactory.getLogger(AccountService.class);
 
+    // Keys per IN list in batch lookups, well under PostgreSQL's bind parameter limit
+    private static final int BATCH_LOOKUP_CHUNK_SIZE = 1000;
+
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AccountBalanceSlotRepository balanceSlotRepository;
+
+    @Autowired
+    private BalanceSlotDirectory balanceSlotDirectory;
+
     @Autowired
     private AccountMapper accountMapper;
 
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${banking.balance-slots.max-slots:64}")
+    private int maxBalanceSlots;
+
     @Autowired
     private KafkaTemplate<String, Object> kafkaTemplate;
 
@@ -45,7 +94,7 @@ public class AccountService {
     @Retry(name = "account-service")
     public AccountDto createAccount(CreateAccountRequest request) {
         Account account = new Account();
-        account.setAccountNumber(generateAccountNumber());
+        account.setAccountNumber(accountNumberGenerator.next());
         account.setUserId(request.getUserId());
         account.setAccountType(request.getAccountType());
         account.setBalance(request.getInitialDeposit());
@@ -56,10 +105,12 @@ public class AccountService {
         account.setBic("BANKFRPP");
         account.updateAvailableBalance();
 
-        Account savedAccount = accountRepository.save(account);
+        // Pooled sequence ids defer the INSERT to commit; flushing here makes a number clashing with a legacy
+        // random one fail now, so @Retry tries the next serial before any event names the rejected number
+        Account savedAccount = accountRepository.saveAndFlush(account);
 
-        // Send account creation event
-        sendAccountCreatedEvent(savedAccount);
+        // Send account creation event once the row is committed
+        afterCommit(() -> sendAccountCreatedEvent(savedAccount));
 
         return accountMapper.toDto(savedAccount);
     }
@@ -69,78 +120,284 @@ public class AccountService {
         throw new RuntimeException("Account creation service is currently unavailable");
     }
 
-    @Transactional(readOnly = true)
+    // SUPPORTS: a cache hit never opens a transaction
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<AccountDto> getAccountById(Long id) {
-        return accountRepository.findById(id)
-                .map(accountMapper::toDto);
+        return accountCache.getById(id, () -> loadFromPrimary(() -> accountRepository.findById(id)));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<AccountDto> getAccountByNumber(String accountNumber) {
-        return accountRepository.findByAccountNumber(accountNumber)
-                .map(accountMapper::toDto);
+        return accountCache.getByNumber(accountNumber, () -> loadFromPrimary(() -> accountRepository.findByAccountNumber(accountNumber)));
+    }
+
+    // Cache misses are read in a read-write transaction, which keeps them on the primary: a replica row up to
+    // max-lag old would otherwise stay cached for the whole ttl, over a fresher one this instance just wrote
+    private Optional<AccountDto> loadFromPrimary(Supplier<Optional<Account>> query) {
+        return transactionTemplate.execute(status -> query.get().map(this::toDto));
+    }
+
+    // One IN-list query per chunk of keys instead of one lookup per account
+    @Transactional(readOnly = true)
+    public AccountBatchLookupResponse getAccounts(AccountBatchLookupRequest request) {
+        Map<String, AccountDto> accounts = new LinkedHashMap<>();
+        List<String> accountNumbers = distinct(request.getAccountNumbers());
+        for (List<String> chunk : chunked(accountNumbers)) {
+            for (Account account : accountRepository.findByAccountNumberIn(chunk)) {
+                accounts.put(account.getAccountNumber(), toDto(account));
+            }
+        }
+
+        List<Long> ids = distinct(request.getIds());
+        Set<Long> foundIds = new HashSet<>();
+        for (List<Long> chunk : chunked(ids)) {
+            for (Account account : accountRepository.findByIdIn(chunk)) {
+                foundIds.add(account.getId());
+                accounts.computeIfAbsent(account.getAccountNumber(), accountNumber -> toDto(account));
+            }
+        }
+
+        List<String> missingAccountNumbers = accountNumbers.stream()
+                .filter(accountNumber -> !accounts.containsKey(accountNumber))
+                .toList();
+        List<Long> missingIds = ids.stream()
+                .filter(id -> !foundIds.contains(id))
+                .toList();
+        return new AccountBatchLookupResponse(accounts, missingAccountNumbers, missingIds);
     }
 
     @Transactional(readOnly = true)
     public List<AccountDto> getAccountsByUserId(Long userId) {
         return accountRepository.findByUserId(userId)
                 .stream()
-                .map(accountMapper::toDto)
+                .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public Page<AccountDto> getAccountsByUserId(Long userId, Pageable pageable) {
         return accountRepository.findByUserId(userId,pageable)
-                .map(accountMapper::toDto);
+                .map(this::toDto);
     }
 
     @Transactional(readOnly = true)
     public List<AccountDto> getActiveAccountsByUserId(Long userId) {
         return accountRepository.findByUserIdAndStatus(userId, AccountStatus.ACTIVE)
                 .stream()
-                .map(accountMapper::toDto)
+                .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
     @CircuitBreaker(name = "account-service", fallbackMethod = "updateBalanceFallback")
     @Retry(name = "account-service")
     public AccountDto updateBalance(Long accountId, UpdateBalanceRequest request) {
-        Account account = accountRepository.findById(accountId)
+        // Number only: a managed Account here would shadow the row RETURNING hands back
+        String accountNumber = accountRepository.findAccountNumberById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + accountId));
+        return applyBalanceUpdate(accountNumber, request);
+    }
 
-        if (account.getStatus() != AccountStatus.ACTIVE) {
-            throw new IllegalStateException("Cannot update balance for inactive account");
-        }
+    public AccountDto updateBalanceFallback(Long accountId, UpdateBalanceRequest request, Exception ex) {
+        logger.error("Failed to update balance for account {}: {}", accountId, ex.getMessage());
+        throw new RuntimeException("Balance update service is currently unavailable");
+    }
+
+    @CircuitBreaker(name = "account-service", fallbackMethod = "updateBalanceByNumberFallback")
+    @Retry(name = "account-service")
+    public AccountDto updateBalanceByNumber(String accountNumber, UpdateBalanceRequest request) {
+        return applyBalanceUpdate(accountNumber, request);
+    }
+
+    public AccountDto updateBalanceByNumberFallback(String accountNumber, UpdateBalanceRequest request, Exception ex) {
+        logger.error("Failed to update balance for account {}: {}", accountNumber, ex.getMessage());
+        throw new RuntimeException("Balance update service is currently unavailable");
+    }
 
+    private AccountDto applyBalanceUpdate(String accountNumber, UpdateBalanceRequest request) {
         BigDecimal amount = request.getAmount();
         String operation = request.getOperation().toUpperCase();
 
+        // Guarded single statements, no read-modify-write on the entity
+        Optional<Account> updated;
         switch (operation) {
             case "CREDIT":
-                account.credit(amount);
+                // Hot accounts take credits on a random balance slot instead of queueing on their accounts row
+                if (balanceSlotDirectory.isSharded(accountNumber)
+                        && balanceSlotRepository.credit(accountNumber, ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE), amount) > 0) {
+                    updated = accountRepository.findByAccountNumber(accountNumber);
+                } else {
+                    updated = accountRepository.creditIfActive(accountNumber, amount, LocalDateTime.now());
+                }
                 break;
             case "DEBIT":
-                if (!account.canDebit(amount)) {
-                    throw new InsufficientFundsException("Insufficient funds for debit operation");
+                updated = accountRepository.debitIfAvailable(accountNumber, amount, LocalDateTime.now());
+                // Only sharded accounts park credits in slots. The flag is read from the accounts row: this instance's
+                // directory lags a sharding just enabled elsewhere, and the slots would then never be swept
+                if (updated.isEmpty() && accountRepository.isBalanceSharded(accountNumber)
+                        && balanceSlotRepository.sweep(accountNumber).signum() > 0) {
+                    // Credits parked in balance slots now sit on the row and may cover the debit
+                    updated = accountRepository.debitIfAvailable(accountNumber, amount, LocalDateTime.now());
                 }
-                account.debit(amount);
                 break;
             default:
                 throw new IllegalArgumentException("Invalid operation: " + operation);
         }
+        Account updatedAccount = updated.orElseThrow(() -> balanceUpdateRejected(accountNumber));
 
-        Account updatedAccount = accountRepository.save(account);
+        if (request.getTransactionId() != null) {
+            ledgerEntryRepository.save(new LedgerEntry(request.getTransactionId(), accountNumber, operation, amount));
+        }
 
         // Send balance update event
-        sendBalanceUpdatedEvent(updatedAccount, request);
+        sendBalanceUpdatedEvent(updatedAccount, operation, amount, request.getTransactionId());
 
-        return accountMapper.toDto(updatedAccount);
+        AccountDto updatedDto = toDto(updatedAccount);
+        accountCache.putAfterCommit(updatedDto);
+        return updatedDto;
     }
 
-    public AccountDto updateBalanceFallback(Long accountId, UpdateBalanceRequest request, Exception ex) {
-        logger.error("Failed to update balance for account {}: {}", accountId, ex.getMessage());
-        throw new RuntimeException("Balance update service is currently unavailable");
+    // Only read when the guarded update matched no row, to report why
+    private RuntimeException balanceUpdateRejected(String accountNumber) {
+        Optional<Account> account = accountRepository.findByAccountNumber(accountNumber);
+        if (account.isEmpty()) {
+            return new AccountNotFoundException("Account not found with number: " + accountNumber);
+        }
+        if (account.get().getStatus() != AccountStatus.ACTIVE) {
+            return new IllegalStateException("Cannot update balance for inactive account");
+        }
+        return new InsufficientFundsException("Insufficient funds for debit operation");
+    }
+
+    @CircuitBreaker(name = "account-service", fallbackMethod = "postTransferFallback")
+    @Retry(name = "account-service")
+    public TransferPostingResponse postTransfer(TransferPostingRequest request) {
+        if (request.getFromAccountNumber().equals(request.getToAccountNumber())) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+
+        // Lock both legs up front so the debit and credit commit or roll back together
+        Map<String, Account> accounts = accountRepository
+                .findByAccountNumberInForUpdate(List.of(request.getFromAccountNumber(), request.getToAccountNumber()))
+                .stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+
+        Account fromAccount = accounts.get(request.getFromAccountNumber());
+        if (fromAccount == null) {
+            throw new AccountNotFoundException("Account not found with number: " + request.getFromAccountNumber());
+        }
+        Account toAccount = accounts.get(request.getToAccountNumber());
+        if (toAccount == null) {
+            throw new AccountNotFoundException("Account not found with number: " + request.getToAccountNumber());
+        }
+
+        if (fromAccount.getStatus() != AccountStatus.ACTIVE || toAccount.getStatus() != AccountStatus.ACTIVE) {
+            throw new IllegalStateException("Cannot update balance for inactive account");
+        }
+
+        BigDecimal amount = request.getAmount();
+        if (!canDebitIncludingSlots(fromAccount, amount)) {
+            throw new InsufficientFundsException("Insufficient funds for debit operation");
+        }
+        fromAccount.debit(amount);
+        toAccount.credit(amount);
+
+        Account updatedFromAccount = accountRepository.save(fromAccount);
+        Account updatedToAccount = accountRepository.save(toAccount);
+        if (request.getTransactionId() != null) {
+            ledgerEntryRepository.saveAll(List.of(
+                    new LedgerEntry(request.getTransactionId(), fromAccount.getAccountNumber(), "DEBIT", amount),
+                    new LedgerEntry(request.getTransactionId(), toAccount.getAccountNumber(), "CREDIT", amount)));
+        }
+
+        // Send balance update events for both legs
+        sendBalanceUpdatedEvent(updatedFromAccount, "DEBIT", amount, request.getTransactionId());
+        sendBalanceUpdatedEvent(updatedToAccount, "CREDIT", amount, request.getTransactionId());
+
+        AccountDto fromAccountDto = toDto(updatedFromAccount);
+        AccountDto toAccountDto = toDto(updatedToAccount);
+        accountCache.putAfterCommit(fromAccountDto);
+        accountCache.putAfterCommit(toAccountDto);
+        return new TransferPostingResponse(request.getTransactionId(), fromAccountDto, toAccountDto);
+    }
+
+    // Not retried: a replayed batch would post its transfers twice
+    public List<TransferPostingResult> postTransfers(BatchTransferPostingRequest request) {
+        List<TransferPostingRequest> transfers = request.getTransfers();
+
+        // Lock every account touched by the batch once, in account number order
+        TreeSet<String> accountNumbers = new TreeSet<>();
+        for (TransferPostingRequest transfer : transfers) {
+            accountNumbers.add(transfer.getFromAccountNumber());
+            accountNumbers.add(transfer.getToAccountNumber());
+        }
+        Map<String, Account> accounts = accountRepository.findByAccountNumberInForUpdate(accountNumbers)
+                .stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+
+        // Transfers are applied in request order; a rejected item leaves balances untouched
+        List<TransferPostingResult> results = new ArrayList<>(transfers.size());
+        Map<String, Account> updatedAccounts = new LinkedHashMap<>();
+        List<TransferPostingRequest> postedTransfers = new ArrayList<>();
+        for (TransferPostingRequest transfer : transfers) {
+            Account fromAccount = accounts.get(transfer.getFromAccountNumber());
+            Account toAccount = accounts.get(transfer.getToAccountNumber());
+            BigDecimal amount = transfer.getAmount();
+
+            String reason = null;
+            if (fromAccount == null) {
+                reason = "Account not found with number: " + transfer.getFromAccountNumber();
+            } else if (toAccount == null) {
+                reason = "Account not found with number: " + transfer.getToAccountNumber();
+            } else if (fromAccount == toAccount) {
+                reason = "Cannot transfer to the same account";
+            } else if (fromAccount.getStatus() != AccountStatus.ACTIVE || toAccount.getStatus() != AccountStatus.ACTIVE) {
+                reason = "Cannot update balance for inactive account";
+            } else if (!canDebitIncludingSlots(fromAccount, amount)) {
+                reason = "Insufficient funds for debit operation";
+            }
+
+            if (reason != null) {
+                results.add(new TransferPostingResult(transfer.getTransactionId(), false, reason));
+                continue;
+            }
+
+            fromAccount.debit(amount);
+            toAccount.credit(amount);
+            updatedAccounts.put(fromAccount.getAccountNumber(), fromAccount);
+            updatedAccounts.put(toAccount.getAccountNumber(), toAccount);
+            postedTransfers.add(transfer);
+            results.add(new TransferPostingResult(transfer.getTransactionId(), true, null));
+        }
+
+        accountRepository.saveAll(updatedAccounts.values());
+        updatedAccounts.keySet().forEach(accountCache::invalidateAfterCommit);
+        List<LedgerEntry> ledgerEntries = new ArrayList<>(postedTransfers.size() * 2);
+        for (TransferPostingRequest transfer : postedTransfers) {
+            if (transfer.getTransactionId() != null) {
+                ledgerEntries.add(new LedgerEntry(transfer.getTransactionId(), transfer.getFromAccountNumber(), "DEBIT", transfer.getAmount()));
+                ledgerEntries.add(new LedgerEntry(transfer.getTransactionId(), transfer.getToAccountNumber(), "CREDIT", transfer.getAmount()));
+            }
+        }
+        ledgerEntryRepository.saveAll(ledgerEntries);
+
+        // Send balance update events for every posted leg
+        for (TransferPostingRequest transfer : postedTransfers) {
+            sendBalanceUpdatedEvent(accounts.get(transfer.getFromAccountNumber()), "DEBIT", transfer.getAmount(), transfer.getTransactionId());
+            sendBalanceUpdatedEvent(accounts.get(transfer.getToAccountNumber()), "CREDIT", transfer.getAmount(), transfer.getTransactionId());
+        }
+
+        return results;
+    }
+
+    public TransferPostingResponse postTransferFallback(TransferPostingRequest request, Exception ex) {
+        logger.error("Failed to post transfer {}: {}", request.getTransactionId(), ex.getMessage());
+        throw new RuntimeException("Transfer posting service is currently unavailable");
+    }
+
+    // Transaction ids that have at least one posted leg, for callers reconciling their own pending records
+    @Transactional(readOnly = true)
+    public List<String> findPostedTransactionIds(List<String> transactionIds) {
+        return ledgerEntryRepository.findPostedTransactionIds(transactionIds);
     }
 
     public AccountDto updateAccountStatus(Long accountId, AccountStatus status) {
@@ -153,7 +410,28 @@ public class AccountService {
         // Send status update event
         sendAccountStatusUpdatedEvent(updatedAccount);
 
-        return accountMapper.toDto(updatedAccount);
+        AccountDto updatedDto = toDto(updatedAccount);
+        accountCache.putAfterCommit(updatedDto);
+        return updatedDto;
+    }
+
+    // Opt-in for hot merchant and settlement accounts: spreads credits over the given number of slots.
+    // Slot count can be changed later; going back to a single row is not supported, reads keep summing the slots.
+    public AccountDto enableBalanceSlots(Long accountId, int slots) {
+        if (slots < 2 || slots > maxBalanceSlots) {
+            throw new IllegalArgumentException("Balance slots must be between 2 and " + maxBalanceSlots);
+        }
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + accountId));
+
+        account.setBalanceSlots(slots);
+        Account updatedAccount = accountRepository.save(account);
+        balanceSlotDirectory.add(updatedAccount.getAccountNumber());
+        logger.info("Account {} now spreads credits over {} balance slots", updatedAccount.getAccountNumber(), slots);
+
+        AccountDto updatedDto = toDto(updatedAccount);
+        accountCache.putAfterCommit(updatedDto);
+        return updatedDto;
     }
 
     @Transactional(readOnly = true)
@@ -161,20 +439,44 @@ public class AccountService {
         return accountRepository.countActiveAccountsByUserId(userId);
     }
 
-    private String generateAccountNumber() {
-        Random random = new Random();
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < 10; i++) {
-            sb.append(random.nextInt(10));
+    private AccountDto toDto(Account account) {
+        AccountDto dto = accountMapper.toDto(account);
+        BigDecimal parked = parkedBalance(account);
+        if (parked.signum() != 0) {
+            dto.setBalance(dto.getBalance().add(parked));
+            dto.setAvailableBalance(dto.getAvailableBalance().add(parked));
         }
-        String accountNumber = sb.toString();
+        return dto;
+    }
+
+    // Credits sitting in the balance slots of a sharded account, on top of its accounts row
+    private BigDecimal parkedBalance(Account account) {
+        if (!account.isBalanceSharded()) {
+            return BigDecimal.ZERO;
+        }
+        return balanceSlotRepository.sumByAccountNumber(account.getAccountNumber());
+    }
 
-        // Ensure uniqueness
-        if (accountRepository.existsByAccountNumber(accountNumber)) {
-            return generateAccountNumber();
+    // The locked row of a sharded account may be short while its slots are not: fold them in and check again
+    private boolean canDebitIncludingSlots(Account account, BigDecimal amount) {
+        if (account.canDebit(amount) || !account.isBalanceSharded()) {
+            return account.canDebit(amount);
         }
+        // The sweep already moved the amount in the table; keep the managed entity in step so the later save agrees
+        account.credit(balanceSlotRepository.sweep(account.getAccountNumber()));
+        return account.canDebit(amount);
+    }
+
+    private static <T> List<T> distinct(List<T> keys) {
+        return keys == null ? List.of() : keys.stream().filter(Objects::nonNull).distinct().toList();
+    }
 
-        return accountNumber;
+    private static <T> List<List<T>> chunked(List<T> keys) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += BATCH_LOOKUP_CHUNK_SIZE) {
+            chunks.add(keys.subList(from, Math.min(from + BATCH_LOOKUP_CHUNK_SIZE, keys.size())));
+        }
+        return chunks;
     }
 
     private String generateIban(String accountNumber) {
@@ -182,6 +484,19 @@ public class AccountService {
         return "FR76" + "30003" + "00001" + accountNumber;
     }
 
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private void sendAccountCreatedEvent(Account account) {
         try {
             AccountCreatedEvent event = new AccountCreatedEvent(
@@ -192,25 +507,26 @@ public class AccountService {
                 account.getBalance(),
                 account.getCurrency()
             );
-            kafkaTemplate.send("account-events", event);
+            kafkaTemplate.send("account-events", account.getAccountNumber(), event);
             logger.info("Account created event sent for account: {}", account.getAccountNumber());
         } catch (Exception e) {
             logger.error("Failed to send account created event: {}", e.getMessage());
         }
     }
 
-    private void sendBalanceUpdatedEvent(Account account, UpdateBalanceRequest request) {
+    private void sendBalanceUpdatedEvent(Account account, String operation, BigDecimal amount, String transactionId) {
         try {
+            BigDecimal parked = parkedBalance(account);
             BalanceUpdatedEvent event = new BalanceUpdatedEvent(
                 account.getId(),
                 account.getAccountNumber(),
-                account.getBalance(),
-                account.getAvailableBalance(),
-                request.getOperation(),
-                request.getAmount(),
-                request.getTransactionId()
+                account.getBalance().add(parked),
+                account.getAvailableBalance().add(parked),
+                operation,
+                amount,
+                transactionId
             );
-            kafkaTemplate.send("account-events", event);
+            kafkaTemplate.send("account-events", account.getAccountNumber(), event);
             logger.info("Balance updated event sent for account: {}", account.getAccountNumber());
         } catch (Exception e) {
             logger.error("Failed to send balance updated event: {}", e.getMessage());
@@ -224,7 +540,7 @@ public class AccountService {
                 account.getAccountNumber(),
                 account.getStatus().name()
             );
-            kafkaTemplate.send("account-events", event);
+            kafkaTemplate.send("account-events", account.getAccountNumber(), event);
             logger.info("Account status updated event sent for account: {}", account.getAccountNumber());
         } catch (Exception e) {
             logger.error("Failed to send account status updated event: {}", e.getMessage());
@@ -0,0 +1,43 @@
+package com.banking.accounts.service;
+
+import com.banking.accounts.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+// Account numbers in sharded-balance mode, so credits to every other account go straight to the accounts row.
+// Refreshed from the accounts table; an account sharded on another instance just takes row credits until the next refresh.
+@Component
+public class BalanceSlotDirectory {
+    private static final Logger logger = LoggerFactory.getLogger(BalanceSlotDirectory.class);
+
+    private final AccountRepository accountRepository;
+    private volatile Set<String> shardedAccountNumbers = Set.of();
+
+    public BalanceSlotDirectory(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    public boolean isSharded(String accountNumber) {
+        return shardedAccountNumbers.contains(accountNumber);
+    }
+
+    synchronized void add(String accountNumber) {
+        Set<String> updated = new HashSet<>(shardedAccountNumbers);
+        updated.add(accountNumber);
+        shardedAccountNumbers = Set.copyOf(updated);
+    }
+
+    @Scheduled(fixedDelayString = "${banking.balance-slots.refresh-interval-ms:30000}")
+    public synchronized void refresh() {
+        try {
+            shardedAccountNumbers = Set.copyOf(accountRepository.findBalanceShardedAccountNumbers());
+        } catch (Exception e) {
+            logger.error("Failed to refresh sharded accounts: {}", e.getMessage());
+        }
+    }
+}
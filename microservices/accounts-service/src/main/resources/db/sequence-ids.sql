@@ -0,0 +1,19 @@
+-- One-off migration to pooled sequence ids. Run it before deploying the version that uses accounts_seq and
+-- ledger_entries_seq, otherwise ddl-auto creates the sequences at 1 and new ids collide with existing rows.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS accounts_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS ledger_entries_seq INCREMENT BY 50;
+
+-- Inserts that leave id to the database draw from the same sequences
+ALTER TABLE accounts ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE accounts ALTER COLUMN id SET DEFAULT nextval('accounts_seq');
+ALTER TABLE ledger_entries ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE ledger_entries ALTER COLUMN id SET DEFAULT nextval('ledger_entries_seq');
+
+-- The pooled optimizer hands out (value - 49) .. value, so the first block starts right after the current maximum
+SELECT setval('accounts_seq', (SELECT COALESCE(MAX(id), 0) FROM accounts) + 50, false);
+SELECT setval('ledger_entries_seq', (SELECT COALESCE(MAX(id), 0) FROM ledger_entries) + 50, false);
+
+COMMIT;
@@ -0,0 +1,104 @@
+package com.banking.accounts.cache;
+
+import com.banking.accounts.dto.AccountDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccountCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountCache accountCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        accountCache = new AccountCache(meterRegistry, 100, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void testLookupMissLoadsOnceThenHits() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        Optional<AccountDto> first = accountCache.getByNumber("1234567890", () -> {
+            loads.incrementAndGet();
+            return Optional.of(account("1000.00"));
+        });
+        Optional<AccountDto> second = accountCache.getByNumber("1234567890", Optional::empty);
+
+        // Then
+        assertEquals(1, loads.get());
+        assertSame(first.get(), second.get());
+        assertEquals(1, meterRegistry.get("accounts.cache.lookup").tag("result", "hit").timer().count());
+        assertEquals(1, meterRegistry.get("accounts.cache.lookup").tag("result", "miss").timer().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "accounts").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testLookupByIdUsesNumberLearnedFromFirstLoad() {
+        // Given
+        accountCache.getById(1L, () -> Optional.of(account("1000.00")));
+        accountCache.getById(1L, () -> Optional.of(account("1000.00")));
+
+        // When
+        Optional<AccountDto> cached = accountCache.getById(1L, Optional::empty);
+
+        // Then
+        assertEquals("1234567890", cached.get().getAccountNumber());
+    }
+
+    @Test
+    void testInvalidationDuringLoadIsNotOverwritten() {
+        // Given
+        AccountDto stale = account("1000.00");
+
+        // When
+        accountCache.getByNumber("1234567890", () -> {
+            // Another update commits while this load is still reading the old row
+            accountCache.invalidate("1234567890");
+            return Optional.of(stale);
+        });
+        Optional<AccountDto> next = accountCache.getByNumber("1234567890", () -> Optional.of(account("1500.00")));
+
+        // Then
+        assertEquals(new BigDecimal("1500.00"), next.get().getBalance());
+    }
+
+    @Test
+    void testPutAfterCommitWaitsForCommit() {
+        // Given
+        accountCache.getByNumber("1234567890", () -> Optional.of(account("1000.00")));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            accountCache.putAfterCommit(account("1500.00"));
+            BigDecimal beforeCommit = accountCache.getByNumber("1234567890", Optional::empty).get().getBalance();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Then
+            assertEquals(new BigDecimal("1000.00"), beforeCommit);
+            assertEquals(new BigDecimal("1500.00"), accountCache.getByNumber("1234567890", Optional::empty).get().getBalance());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private AccountDto account(String balance) {
+        AccountDto account = new AccountDto();
+        account.setId(1L);
+        account.setAccountNumber("1234567890");
+        account.setBalance(new BigDecimal(balance));
+        return account;
+    }
+}
@@ -0,0 +1,72 @@
+package com.banking.accounts.service;
+
+import com.banking.accounts.repository.AccountNumberSequenceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountNumberGeneratorTest {
+
+    @Mock
+    private AccountNumberSequenceRepository sequenceRepository;
+
+    @InjectMocks
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Test
+    void testNumbersComeFromLeasedBlockWithCheckDigit() {
+        // Given
+        when(sequenceRepository.nextBlockEnd()).thenReturn(5000L);
+
+        // When
+        String first = accountNumberGenerator.next();
+        String second = accountNumberGenerator.next();
+
+        // Then
+        assertEquals("0000040014", first);
+        assertEquals("0000040022", second);
+        verify(sequenceRepository).createIfMissing(AccountNumberGenerator.BLOCK_SIZE, 999_999_999L);
+        verify(sequenceRepository, times(1)).nextBlockEnd();
+    }
+
+    @Test
+    void testNextBlockIsLeasedOnceCurrentOneIsUsedUp() {
+        // Given
+        when(sequenceRepository.nextBlockEnd()).thenReturn(1000L, 7000L);
+        Set<String> numbers = new HashSet<>();
+
+        // When
+        for (int i = 0; i <= AccountNumberGenerator.BLOCK_SIZE; i++) {
+            numbers.add(accountNumberGenerator.next());
+        }
+
+        // Then
+        assertEquals(AccountNumberGenerator.BLOCK_SIZE + 1, numbers.size());
+        assertTrue(numbers.contains("0000060012"));
+        verify(sequenceRepository, times(2)).nextBlockEnd();
+        verify(sequenceRepository, times(1)).createIfMissing(anyInt(), anyLong());
+    }
+
+    @Test
+    void testCheckDigitCatchesSingleDigitAndAdjacentSwapErrors() {
+        // Given
+        String serial = "123456789";
+
+        // When
+        int checkDigit = AccountNumberGenerator.checkDigit(serial);
+
+        // Then
+        assertEquals(7, checkDigit);
+        assertNotEquals(checkDigit, AccountNumberGenerator.checkDigit("123456788"));
+        assertNotEquals(checkDigit, AccountNumberGenerator.checkDigit("123457689"));
+    }
+}
@@ -1,27 +1,45 @@
 package com.banking.accounts.service;
 
+import com.banking.accounts.cache.AccountCache;
+import com.banking.accounts.dto.AccountBatchLookupRequest;
+import com.banking.accounts.dto.AccountBatchLookupResponse;
+import com.banking.accounts.dto.AccountDto;
+import com.banking.accounts.dto.BatchTransferPostingRequest;
 import com.banking.accounts.dto.CreateAccountRequest;
+import com.banking.accounts.dto.TransferPostingRequest;
+import com.banking.accounts.dto.TransferPostingResult;
 import com.banking.accounts.dto.UpdateBalanceRequest;
 import com.banking.accounts.entity.Account;
 import com.banking.accounts.entity.AccountStatus;
 import com.banking.accounts.entity.AccountType;
+import com.banking.accounts.entity.LedgerEntry;
 import com.banking.accounts.exception.AccountNotFoundException;
 import com.banking.accounts.exception.InsufficientFundsException;
 import com.banking.accounts.mapper.AccountMapper;
+import com.banking.accounts.repository.AccountBalanceSlotRepository;
 import com.banking.accounts.repository.AccountRepository;
+import com.banking.accounts.repository.LedgerEntryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,9 +48,27 @@ public class AccountServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private AccountBalanceSlotRepository balanceSlotRepository;
+
+    @Mock
+    private BalanceSlotDirectory balanceSlotDirectory;
+
     @Mock
     private AccountMapper accountMapper;
 
+    @Mock
+    private AccountCache accountCache;
+
+    @Mock
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @Mock
     private KafkaTemplate<String, Object> kafkaTemplate;
 
@@ -63,15 +99,91 @@ public class AccountServiceTest {
     @Test
     void testCreateAccountSuccess() {
         // Given
-        when(accountRepository.existsByAccountNumber(any())).thenReturn(false);
-        when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
+        when(accountNumberGenerator.next()).thenReturn("1234567890");
+        when(accountRepository.saveAndFlush(any(Account.class))).thenReturn(testAccount);
 
         // When
         accountService.createAccount(createRequest);
 
         // Then
-        verify(accountRepository).save(any(Account.class));
-        verify(kafkaTemplate).send(eq("account-events"), any());
+        verify(accountRepository).saveAndFlush(argThat((Account account) -> "FR7630003000011234567890".equals(account.getIban())));
+        verify(accountRepository, never()).existsByAccountNumber(any());
+        verify(kafkaTemplate).send(eq("account-events"), eq("1234567890"), any());
+    }
+
+    @Test
+    void testCreateAccountNumberClashPublishesNoEvent() {
+        // Given: the leased serial matches a legacy random account number
+        when(accountNumberGenerator.next()).thenReturn("1234567890");
+        when(accountRepository.saveAndFlush(any(Account.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+        // When & Then: the failure surfaces from createAccount, for @Retry, before anything is published
+        assertThrows(DataIntegrityViolationException.class, () -> accountService.createAccount(createRequest));
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void testCreateAccountEventWaitsForCommit() {
+        // Given
+        when(accountNumberGenerator.next()).thenReturn("1234567890");
+        when(accountRepository.saveAndFlush(any(Account.class))).thenReturn(testAccount);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            accountService.createAccount(createRequest);
+
+            // Then
+            verifyNoInteractions(kafkaTemplate);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(kafkaTemplate).send(eq("account-events"), eq("1234567890"), any());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testCacheMissIsLoadedInReadWriteTransaction() {
+        // Given
+        AccountDto dto = new AccountDto();
+        dto.setAccountNumber("1234567890");
+        when(accountCache.getByNumber(eq("1234567890"), any())).thenAnswer(invocation ->
+                invocation.<Supplier<Optional<AccountDto>>>getArgument(1).get());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(accountRepository.findByAccountNumber("1234567890")).thenReturn(Optional.of(testAccount));
+        when(accountMapper.toDto(testAccount)).thenReturn(dto);
+
+        // When
+        Optional<AccountDto> result = accountService.getAccountByNumber("1234567890");
+
+        // Then: not a read-only transaction, so the row comes from the primary, never from a lagging replica
+        assertEquals(Optional.of(dto), result);
+        verify(transactionTemplate).execute(any());
+    }
+
+    @Test
+    void testBatchLookupReportsFoundAndMissingAccounts() {
+        // Given
+        AccountBatchLookupRequest request = new AccountBatchLookupRequest();
+        request.setAccountNumbers(List.of("1234567890", "5555555555", "1234567890"));
+        request.setIds(List.of(1L, 99L));
+
+        AccountDto dto = new AccountDto();
+        dto.setAccountNumber("1234567890");
+        when(accountRepository.findByAccountNumberIn(List.of("1234567890", "5555555555"))).thenReturn(List.of(testAccount));
+        when(accountRepository.findByIdIn(List.of(1L, 99L))).thenReturn(List.of(testAccount));
+        when(accountMapper.toDto(testAccount)).thenReturn(dto);
+
+        // When
+        AccountBatchLookupResponse response = accountService.getAccounts(request);
+
+        // Then
+        assertEquals(1, response.getAccounts().size());
+        assertSame(dto, response.getAccounts().get("1234567890"));
+        assertEquals(List.of("5555555555"), response.getMissingAccountNumbers());
+        assertEquals(List.of(99L), response.getMissingIds());
+        verify(accountMapper, times(1)).toDto(testAccount);
     }
 
     @Test
@@ -81,16 +193,15 @@ public class AccountServiceTest {
         request.setAmount(new BigDecimal("500.00"));
         request.setOperation("CREDIT");
 
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
-        when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
+        when(accountRepository.findAccountNumberById(1L)).thenReturn(Optional.of("1234567890"));
+        when(accountRepository.creditIfActive(eq("1234567890"), eq(new BigDecimal("500.00")), any())).thenReturn(Optional.of(testAccount));
 
         // When
         accountService.updateBalance(1L, request);
 
         // Then
-        assertEquals(new BigDecimal("1500.00"), testAccount.getBalance());
-        verify(accountRepository).save(testAccount);
-        verify(kafkaTemplate).send(eq("account-events"), any());
+        verify(accountRepository, never()).save(any(Account.class));
+        verify(kafkaTemplate).send(eq("account-events"), eq("1234567890"), any());
     }
 
     @Test
@@ -99,16 +210,17 @@ public class AccountServiceTest {
         UpdateBalanceRequest request = new UpdateBalanceRequest();
         request.setAmount(new BigDecimal("500.00"));
         request.setOperation("DEBIT");
+        request.setTransactionId("TXN1");
 
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
-        when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
+        when(accountRepository.debitIfAvailable(eq("1234567890"), eq(new BigDecimal("500.00")), any())).thenReturn(Optional.of(testAccount));
 
         // When
-        accountService.updateBalance(1L, request);
+        accountService.updateBalanceByNumber("1234567890", request);
 
         // Then
-        assertEquals(new BigDecimal("500.00"), testAccount.getBalance());
-        verify(accountRepository).save(testAccount);
+        verify(ledgerEntryRepository).save(any(LedgerEntry.class));
+        verify(accountRepository, never()).findByAccountNumber(any());
+        verify(accountRepository, never()).save(any(Account.class));
     }
 
     @Test
@@ -118,11 +230,82 @@ public class AccountServiceTest {
         request.setAmount(new BigDecimal("2000.00")); // More than available balance
         request.setOperation("DEBIT");
 
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
+        when(accountRepository.debitIfAvailable(eq("1234567890"), eq(new BigDecimal("2000.00")), any())).thenReturn(Optional.empty());
+        when(accountRepository.findByAccountNumber("1234567890")).thenReturn(Optional.of(testAccount));
 
         // When & Then
         assertThrows(InsufficientFundsException.class, () -> {
-            accountService.updateBalance(1L, request);
+            accountService.updateBalanceByNumber("1234567890", request);
+        });
+        verifyNoInteractions(ledgerEntryRepository, kafkaTemplate);
+        // Not sharded: no balance slots to sweep
+        verify(balanceSlotRepository, never()).sweep(any());
+    }
+
+    @Test
+    void testShardedAccountCreditGoesToBalanceSlot() {
+        // Given
+        UpdateBalanceRequest request = new UpdateBalanceRequest();
+        request.setAmount(new BigDecimal("500.00"));
+        request.setOperation("CREDIT");
+        testAccount.setBalanceSlots(8);
+
+        when(balanceSlotDirectory.isSharded("1234567890")).thenReturn(true);
+        when(balanceSlotRepository.credit(eq("1234567890"), anyInt(), eq(new BigDecimal("500.00")))).thenReturn(1);
+        when(accountRepository.findByAccountNumber("1234567890")).thenReturn(Optional.of(testAccount));
+        when(balanceSlotRepository.sumByAccountNumber("1234567890")).thenReturn(new BigDecimal("500.00"));
+        AccountDto rowOnly = new AccountDto();
+        rowOnly.setBalance(new BigDecimal("1000.00"));
+        rowOnly.setAvailableBalance(new BigDecimal("1500.00"));
+        when(accountMapper.toDto(testAccount)).thenReturn(rowOnly);
+
+        // When
+        AccountDto result = accountService.updateBalanceByNumber("1234567890", request);
+
+        // Then
+        assertEquals(new BigDecimal("1500.00"), result.getBalance());
+        assertEquals(new BigDecimal("2000.00"), result.getAvailableBalance());
+        verify(accountRepository, never()).creditIfActive(any(), any(), any());
+        verify(kafkaTemplate).send(eq("account-events"), eq("1234567890"),
+                argThat((Object event) -> new BigDecimal("1500.00").equals(((AccountService.BalanceUpdatedEvent) event).getNewBalance())));
+    }
+
+    @Test
+    void testDebitShortOnRowSweepsBalanceSlots() {
+        // Given
+        UpdateBalanceRequest request = new UpdateBalanceRequest();
+        request.setAmount(new BigDecimal("2000.00"));
+        request.setOperation("DEBIT");
+
+        when(accountRepository.debitIfAvailable(eq("1234567890"), eq(new BigDecimal("2000.00")), any()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(testAccount));
+        // Sharded on the row, though this instance's directory has not picked it up yet
+        when(accountRepository.isBalanceSharded("1234567890")).thenReturn(true);
+        when(balanceSlotRepository.sweep("1234567890")).thenReturn(new BigDecimal("800.00"));
+
+        // When
+        accountService.updateBalanceByNumber("1234567890", request);
+
+        // Then
+        verify(accountRepository, times(2)).debitIfAvailable(eq("1234567890"), eq(new BigDecimal("2000.00")), any());
+        verify(accountRepository, never()).findByAccountNumber(any());
+    }
+
+    @Test
+    void testUpdateBalanceInactiveAccount() {
+        // Given
+        UpdateBalanceRequest request = new UpdateBalanceRequest();
+        request.setAmount(new BigDecimal("500.00"));
+        request.setOperation("CREDIT");
+        testAccount.setStatus(AccountStatus.SUSPENDED);
+
+        when(accountRepository.creditIfActive(eq("1234567890"), eq(new BigDecimal("500.00")), any())).thenReturn(Optional.empty());
+        when(accountRepository.findByAccountNumber("1234567890")).thenReturn(Optional.of(testAccount));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> {
+            accountService.updateBalanceByNumber("1234567890", request);
         });
     }
 
@@ -133,7 +316,7 @@ public class AccountServiceTest {
         request.setAmount(new BigDecimal("500.00"));
         request.setOperation("CREDIT");
 
-        when(accountRepository.findById(1L)).thenReturn(Optional.empty());
+        when(accountRepository.findAccountNumberById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(AccountNotFoundException.class, () -> {
@@ -153,6 +336,141 @@ public class AccountServiceTest {
         // Then
         assertEquals(AccountStatus.SUSPENDED, testAccount.getStatus());
         verify(accountRepository).save(testAccount);
-        verify(kafkaTemplate).send(eq("account-events"), any());
+        verify(accountCache).putAfterCommit(any());
+        verify(kafkaTemplate).send(eq("account-events"), eq("1234567890"), any());
+    }
+
+    @Test
+    void testPostTransferAppliesBothLegs() {
+        // Given
+        Account toAccount = new Account();
+        toAccount.setId(2L);
+        toAccount.setAccountNumber("0987654321");
+        toAccount.setUserId(2L);
+        toAccount.setAccountType(AccountType.CHECKING);
+        toAccount.setBalance(new BigDecimal("100.00"));
+        toAccount.updateAvailableBalance();
+        toAccount.setStatus(AccountStatus.ACTIVE);
+
+        TransferPostingRequest request = new TransferPostingRequest();
+        request.setFromAccountNumber("1234567890");
+        request.setToAccountNumber("0987654321");
+        request.setAmount(new BigDecimal("250.00"));
+        request.setTransactionId("TXN1");
+
+        when(accountRepository.findByAccountNumberInForUpdate(anyCollection())).thenReturn(List.of(toAccount, testAccount));
+        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        accountService.postTransfer(request);
+
+        // Then
+        assertEquals(new BigDecimal("750.00"), testAccount.getBalance());
+        assertEquals(new BigDecimal("350.00"), toAccount.getBalance());
+        verify(accountRepository).save(testAccount);
+        verify(accountRepository).save(toAccount);
+        verify(ledgerEntryRepository).saveAll(argThat((List<LedgerEntry> entries) -> entries.size() == 2));
+        verify(kafkaTemplate, times(2)).send(eq("account-events"), anyString(), any());
+    }
+
+    @Test
+    void testPostTransferInsufficientFundsLeavesBothLegsUntouched() {
+        // Given
+        Account toAccount = new Account();
+        toAccount.setAccountNumber("0987654321");
+        toAccount.setBalance(new BigDecimal("100.00"));
+        toAccount.updateAvailableBalance();
+        toAccount.setStatus(AccountStatus.ACTIVE);
+
+        TransferPostingRequest request = new TransferPostingRequest();
+        request.setFromAccountNumber("1234567890");
+        request.setToAccountNumber("0987654321");
+        request.setAmount(new BigDecimal("2000.00"));
+
+        when(accountRepository.findByAccountNumberInForUpdate(anyCollection())).thenReturn(List.of(testAccount, toAccount));
+
+        // When & Then
+        assertThrows(InsufficientFundsException.class, () -> {
+            accountService.postTransfer(request);
+        });
+        assertEquals(new BigDecimal("100.00"), toAccount.getBalance());
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+
+    @Test
+    void testPostTransferFromShardedAccountFoldsSlotsIntoLockedRow() {
+        // Given
+        Account toAccount = new Account();
+        toAccount.setAccountNumber("0987654321");
+        toAccount.setBalance(new BigDecimal("100.00"));
+        toAccount.updateAvailableBalance();
+        toAccount.setStatus(AccountStatus.ACTIVE);
+        testAccount.setBalanceSlots(8);
+
+        TransferPostingRequest request = new TransferPostingRequest();
+        request.setFromAccountNumber("1234567890");
+        request.setToAccountNumber("0987654321");
+        request.setAmount(new BigDecimal("2000.00"));
+
+        when(accountRepository.findByAccountNumberInForUpdate(anyCollection())).thenReturn(List.of(testAccount, toAccount));
+        when(balanceSlotRepository.sweep("1234567890")).thenReturn(new BigDecimal("700.00"));
+        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(balanceSlotRepository.sumByAccountNumber("1234567890")).thenReturn(BigDecimal.ZERO);
+
+        // When
+        accountService.postTransfer(request);
+
+        // Then
+        assertEquals(new BigDecimal("-300.00"), testAccount.getBalance());
+        assertEquals(new BigDecimal("2100.00"), toAccount.getBalance());
+    }
+
+    @Test
+    void testPostTransfersRejectsOnlyTheFailingItems() {
+        // Given
+        Account toAccount = new Account();
+        toAccount.setAccountNumber("0987654321");
+        toAccount.setBalance(new BigDecimal("100.00"));
+        toAccount.updateAvailableBalance();
+        toAccount.setStatus(AccountStatus.ACTIVE);
+
+        TransferPostingRequest first = new TransferPostingRequest();
+        first.setFromAccountNumber("1234567890");
+        first.setToAccountNumber("0987654321");
+        first.setAmount(new BigDecimal("600.00"));
+        first.setTransactionId("TXN1");
+
+        TransferPostingRequest second = new TransferPostingRequest();
+        second.setFromAccountNumber("1234567890");
+        second.setToAccountNumber("0987654321");
+        second.setAmount(new BigDecimal("1000.00"));
+        second.setTransactionId("TXN2");
+
+        TransferPostingRequest third = new TransferPostingRequest();
+        third.setFromAccountNumber("1234567890");
+        third.setToAccountNumber("5555555555");
+        third.setAmount(new BigDecimal("10.00"));
+        third.setTransactionId("TXN3");
+
+        BatchTransferPostingRequest request = new BatchTransferPostingRequest();
+        request.setTransfers(List.of(first, second, third));
+
+        when(accountRepository.findByAccountNumberInForUpdate(anyCollection())).thenReturn(List.of(testAccount, toAccount));
+
+        // When
+        List<TransferPostingResult> results = accountService.postTransfers(request);
+
+        // Then
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isPosted());
+        assertFalse(results.get(1).isPosted());
+        assertEquals("Insufficient funds for debit operation", results.get(1).getReason());
+        assertFalse(results.get(2).isPosted());
+        assertEquals(new BigDecimal("400.00"), testAccount.getBalance());
+        assertEquals(new BigDecimal("700.00"), toAccount.getBalance());
+        verify(accountRepository).saveAll(anyCollection());
+        verify(accountCache).invalidateAfterCommit("1234567890");
+        verify(accountCache).invalidateAfterCommit("0987654321");
+        verify(kafkaTemplate, times(2)).send(eq("account-events"), anyString(), any());
     }
 }
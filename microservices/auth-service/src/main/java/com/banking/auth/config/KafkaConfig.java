@@ -1,10 +1,12 @@
 package com.banking.auth.config;
 
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
@@ -19,6 +21,18 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${banking.kafka.topics.user-events.partitions:12}")
+    private int userEventsPartitions;
+
+    @Value("${banking.kafka.topics.replicas:1}")
+    private int replicas;
+
+    // Events are keyed by user ID, so the partition count bounds consumer parallelism without reordering a user's events
+    @Bean
+    public NewTopic userEventsTopic() {
+        return TopicBuilder.name("user-events").partitions(userEventsPartitions).replicas(replicas).build();
+    }
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
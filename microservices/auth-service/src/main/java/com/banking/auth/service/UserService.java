@@ -120,7 +120,7 @@ public class UserService {
                 user.getFirstName(),
                 user.getLastName()
             );
-            kafkaTemplate.send("user-events", event);
+            kafkaTemplate.send("user-events", String.valueOf(user.getId()), event);
             logger.info("User created event sent for user: {}", user.getUsername());
         } catch (Exception e) {
             logger.error("Failed to send user created event: {}", e.getMessage());
@@ -74,7 +74,7 @@ public class UserServiceTest {
         assertEquals("testuser", result.getUsername());
         assertEquals("test@example.com", result.getEmail());
         verify(userRepository).save(any(User.class));
-        verify(kafkaTemplate).send(eq("user-events"), any());
+        verify(kafkaTemplate).send(eq("user-events"), anyString(), any());
     }
 
     @Test
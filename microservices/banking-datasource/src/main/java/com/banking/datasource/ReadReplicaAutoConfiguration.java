@@ -0,0 +1,88 @@
+package com.banking.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Replaces Spring Boot's single pool once banking.datasource.replica.url is set: read-only transactions go to the replica pool,
+// everything else (writes, schema update, health checks, work outside a transaction) to the primary pool.
+// Runs before DataSourceAutoConfiguration, whose own pool then backs off.
+@AutoConfiguration(before = DataSourceAutoConfiguration.class)
+@ConditionalOnProperty("banking.datasource.replica.url")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReadReplicaAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${banking.datasource.replica.url}") String replicaUrl,
+            @Value("${banking.datasource.replica.username:}") String replicaUsername,
+            @Value("${banking.datasource.replica.password:}") String replicaPassword,
+            @Value("${banking.datasource.replica.maximum-pool-size:10}") int replicaPoolSize,
+            @Value("${banking.datasource.replica.connection-timeout:2s}") Duration replicaConnectionTimeout) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setDriverClassName(properties.determineDriverClassName());
+        replica.setJdbcUrl(replicaUrl);
+        replica.setUsername(replicaUsername.isEmpty() ? properties.determineUsername() : replicaUsername);
+        replica.setPassword(replicaPassword.isEmpty() ? properties.determinePassword() : replicaPassword);
+        replica.setMaximumPoolSize(replicaPoolSize);
+        replica.setConnectionTimeout(replicaConnectionTimeout.toMillis());
+        replica.setReadOnly(true);
+
+        // hikaricp.* meters, tagged pool=primary / pool=replica
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+        primary.setMetricsTrackerFactory(metricsTrackerFactory);
+        replica.setMetricsTrackerFactory(metricsTrackerFactory);
+        return new ReadReplicaRoutingDataSource(primary, replica, meterRegistry);
+    }
+
+    // Hibernate and Spring ask for a connection when the transaction begins, before its read-only flag is bound;
+    // the lazy proxy defers the pool choice to the first statement
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReadReplicaRoutingDataSource routingDataSource,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${banking.datasource.replica.max-lag:5s}") Duration maxLag) {
+        return new ReplicaLagMonitor(routingDataSource, meterRegistry, maxLag);
+    }
+
+    // By default the EntityManager keeps its connection until it closes, so with open-in-view a request that reads and
+    // then writes would reuse the replica connection; release it after each transaction instead
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
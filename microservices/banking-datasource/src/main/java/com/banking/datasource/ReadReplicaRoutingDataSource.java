@@ -0,0 +1,86 @@
+package com.banking.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+// Hands out replica connections inside @Transactional(readOnly = true) while the replica is in rotation, primary connections otherwise.
+// Only sees the read-only flag when wrapped in a LazyConnectionDataSourceProxy (see ReadReplicaAutoConfiguration).
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter replicaFallbacks;
+
+    // Off until ReplicaLagMonitor has reached the replica once
+    private volatile boolean replicaAvailable;
+
+    public ReadReplicaRoutingDataSource(HikariDataSource primary, HikariDataSource replica, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.primaryConnections = Counter.builder("banking.datasource.connections")
+                .description("Connections handed out, by pool")
+                .tag("pool", "primary")
+                .register(meterRegistry);
+        this.replicaConnections = Counter.builder("banking.datasource.connections")
+                .description("Connections handed out, by pool")
+                .tag("pool", "replica")
+                .register(meterRegistry);
+        this.replicaFallbacks = Counter.builder("banking.datasource.replica.fallbacks")
+                .description("Read-only transactions sent to the primary because the replica connection failed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicaAvailable && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                // Stays out of rotation until the next successful lag check
+                replicaAvailable = false;
+                replicaFallbacks.increment();
+                logger.warn("Replica connection failed, routing reads to the primary: {}", e.getMessage());
+            }
+        }
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Both pools use the configured credentials");
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    void setReplicaAvailable(boolean replicaAvailable) {
+        this.replicaAvailable = replicaAvailable;
+    }
+
+    HikariDataSource getReplica() {
+        return replica;
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+}
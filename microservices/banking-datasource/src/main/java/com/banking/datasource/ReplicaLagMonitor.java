@@ -0,0 +1,66 @@
+package com.banking.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+// Takes the replica out of rotation while its replay lag is above banking.datasource.replica.max-lag or it cannot be reached
+public class ReplicaLagMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // Zero on a standby that has replayed everything it received (or on a server that is not a standby),
+    // otherwise the age of the last replayed transaction; null while a fresh standby has replayed nothing
+    static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final ReadReplicaRoutingDataSource routingDataSource;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final double maxLagSeconds;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(ReadReplicaRoutingDataSource routingDataSource, MeterRegistry meterRegistry, Duration maxLag) {
+        this.routingDataSource = routingDataSource;
+        this.replicaJdbcTemplate = new JdbcTemplate(routingDataSource.getReplica());
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        Gauge.builder("banking.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replay lag of the read replica at the last check, NaN when it could not be read")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("banking.datasource.replica.available", routingDataSource, dataSource -> dataSource.isReplicaAvailable() ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${banking.datasource.replica.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        Double lag;
+        try {
+            lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+        } catch (DataAccessException e) {
+            logger.debug("Replica lag check failed: {}", e.getMessage());
+            lag = null;
+        }
+        lagSeconds = lag != null ? lag : Double.NaN;
+
+        boolean available = lag != null && lag <= maxLagSeconds;
+        if (available != routingDataSource.isReplicaAvailable()) {
+            if (available) {
+                logger.info("Read replica back in rotation (lag {}s)", lag);
+            } else {
+                logger.warn("Read replica out of rotation (lag {}s, limit {}s)", lag, maxLagSeconds);
+            }
+        }
+        routingDataSource.setReplicaAvailable(available);
+    }
+
+    double getLagSeconds() {
+        return lagSeconds;
+    }
+}
@@ -0,0 +1,126 @@
+package com.banking.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two independent PostgreSQL containers stand in for primary and replica; current_database() tells them apart
+@Testcontainers(disabledWithoutDocker = true)
+public class ReadReplicaRoutingDataSourceTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:15").withDatabaseName("banking_primary");
+
+    @Container
+    private static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15").withDatabaseName("banking_replica");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        routingDataSource.close();
+    }
+
+    @Test
+    void testReadOnlyTransactionGoesToReplica() {
+        // Given
+        connect(replica.getJdbcUrl());
+        lagMonitor.checkLag();
+
+        // When
+        String database = currentDatabase(true);
+
+        // Then
+        assertEquals("banking_replica", database);
+        assertEquals(0.0, lagMonitor.getLagSeconds());
+        assertEquals(1.0, meterRegistry.get("banking.datasource.connections").tag("pool", "replica").counter().count());
+    }
+
+    @Test
+    void testWritesAndNonTransactionalWorkGoToPrimary() {
+        // Given
+        connect(replica.getJdbcUrl());
+        lagMonitor.checkLag();
+
+        // When
+        String readWrite = currentDatabase(false);
+        String outsideTransaction = jdbcTemplate.queryForObject("SELECT current_database()", String.class);
+
+        // Then
+        assertEquals("banking_primary", readWrite);
+        assertEquals("banking_primary", outsideTransaction);
+    }
+
+    @Test
+    void testReadsStayOnPrimaryUntilReplicaIsChecked() {
+        // Given
+        connect(replica.getJdbcUrl());
+
+        // When
+        String database = currentDatabase(true);
+
+        // Then
+        assertEquals("banking_primary", database);
+        assertFalse(routingDataSource.isReplicaAvailable());
+    }
+
+    @Test
+    void testUnreachableReplicaFallsBackToPrimary() {
+        // Given
+        connect("jdbc:postgresql://localhost:1/banking_replica");
+        routingDataSource.setReplicaAvailable(true);
+
+        // When
+        String database = currentDatabase(true);
+        lagMonitor.checkLag();
+
+        // Then
+        assertEquals("banking_primary", database);
+        assertFalse(routingDataSource.isReplicaAvailable());
+        assertTrue(Double.isNaN(lagMonitor.getLagSeconds()));
+        assertEquals(1.0, meterRegistry.get("banking.datasource.replica.fallbacks").counter().count());
+    }
+
+    private void connect(String replicaUrl) {
+        routingDataSource = new ReadReplicaRoutingDataSource(
+                pool("primary", primary.getJdbcUrl()), pool("replica", replicaUrl), meterRegistry);
+        lagMonitor = new ReplicaLagMonitor(routingDataSource, meterRegistry, Duration.ofSeconds(5));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+
+    private static HikariDataSource pool(String name, String jdbcUrl) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(jdbcUrl);
+        pool.setUsername(primary.getUsername());
+        pool.setPassword(primary.getPassword());
+        pool.setMaximumPoolSize(2);
+        pool.setConnectionTimeout(500);
+        return pool;
+    }
+}
@@ -0,0 +1,195 @@
+package com.banking.events;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Binary frame: magic byte, schema id, presence bits, then each non-null field in schema order.
+// Integers are varints (signed ones zig-zagged), decimals keep their exact scale, timestamps are UTC seconds + nanos.
+// JSON payloads always start with '{', so the magic byte tells the two formats apart.
+public final class BinaryEventCodec {
+
+    public static final byte MAGIC = 0;
+
+    private BinaryEventCodec() {}
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 0 && data[0] == MAGIC;
+    }
+
+    public static <T> byte[] encode(EventSchema<T> schema, T event) {
+        List<EventSchema.Field<T>> fields = schema.getFields();
+        Object[] values = new Object[fields.size()];
+        long presence = 0;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = fields.get(i).read(event);
+            if (values[i] != null) {
+                presence |= 1L << i;
+            }
+        }
+
+        Output out = new Output();
+        out.write(MAGIC);
+        out.writeUnsignedVarLong(schema.getId());
+        out.writeUnsignedVarLong(presence);
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            switch (fields.get(i).getType()) {
+                case LONG -> out.writeVarLong(((Number) value).longValue());
+                case STRING -> out.writeBytes(value.toString().getBytes(StandardCharsets.UTF_8));
+                case DECIMAL -> writeDecimal(out, (BigDecimal) value);
+                case TIMESTAMP -> {
+                    LocalDateTime timestamp = (LocalDateTime) value;
+                    out.writeVarLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+                    out.writeUnsignedVarLong(timestamp.getNano());
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    // Absent fields decode to null entries, so the map has the same keys as the JSON form
+    public static Map<String, Object> decode(byte[] data, EventSchemaRegistry registry) {
+        Input in = new Input(data);
+        if (in.read() != MAGIC) {
+            throw new IllegalArgumentException("Not a binary event frame");
+        }
+        EventSchema<?> schema = registry.get((int) in.readUnsignedVarLong());
+        long presence = in.readUnsignedVarLong();
+
+        // Fields appended by a newer producer are past the end of this schema and left unread
+        List<? extends EventSchema.Field<?>> fields = schema.getFields();
+        Map<String, Object> event = new LinkedHashMap<>(fields.size() * 2);
+        for (int i = 0; i < fields.size(); i++) {
+            EventSchema.Field<?> field = fields.get(i);
+            Object value = null;
+            if ((presence & (1L << i)) != 0) {
+                value = switch (field.getType()) {
+                    case LONG -> in.readVarLong();
+                    case STRING -> new String(in.readBytes(), StandardCharsets.UTF_8);
+                    case DECIMAL -> readDecimal(in);
+                    case TIMESTAMP -> LocalDateTime.ofEpochSecond(in.readVarLong(), (int) in.readUnsignedVarLong(), ZoneOffset.UTC);
+                };
+            }
+            event.put(field.getName(), value);
+        }
+        return event;
+    }
+
+    // Low header bit set: unscaled value did not fit a long and follows as two's-complement bytes
+    private static void writeDecimal(Output out, BigDecimal value) {
+        BigInteger unscaled = value.unscaledValue();
+        boolean big = unscaled.bitLength() >= Long.SIZE;
+        out.writeUnsignedVarLong(zigZag(value.scale()) << 1 | (big ? 1 : 0));
+        if (big) {
+            out.writeBytes(unscaled.toByteArray());
+        } else {
+            out.writeVarLong(unscaled.longValue());
+        }
+    }
+
+    private static BigDecimal readDecimal(Input in) {
+        long header = in.readUnsignedVarLong();
+        int scale = (int) unZigZag(header >>> 1);
+        if ((header & 1) != 0) {
+            return new BigDecimal(new BigInteger(in.readBytes()), scale);
+        }
+        return BigDecimal.valueOf(in.readVarLong(), scale);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Output {
+        private byte[] buffer = new byte[64];
+        private int size;
+
+        void write(int b) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, size * 2);
+            }
+            buffer[size++] = (byte) b;
+        }
+
+        void writeUnsignedVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeVarLong(long value) {
+            writeUnsignedVarLong(zigZag(value));
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeUnsignedVarLong(bytes.length);
+            if (size + bytes.length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytes.length));
+            }
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    private static final class Input {
+        private final byte[] data;
+        private int position;
+
+        Input(byte[] data) {
+            this.data = data;
+        }
+
+        int read() {
+            if (position >= data.length) {
+                throw new IllegalArgumentException("Truncated binary event frame");
+            }
+            return data[position++];
+        }
+
+        long readUnsignedVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                int b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in binary event frame");
+        }
+
+        long readVarLong() {
+            return unZigZag(readUnsignedVarLong());
+        }
+
+        byte[] readBytes() {
+            int length = (int) readUnsignedVarLong();
+            if (length < 0 || length > data.length - position) {
+                throw new IllegalArgumentException("Truncated binary event frame");
+            }
+            byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+            position += length;
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.banking.events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+// Field layout of one binary event version; fields are only ever appended, a breaking change gets a new id
+public final class EventSchema<T> {
+
+    public enum FieldType { LONG, STRING, DECIMAL, TIMESTAMP }
+
+    private final int id;
+    private final String name;
+    private final Class<T> eventClass;
+    private final List<Field<T>> fields;
+
+    private EventSchema(int id, String name, Class<T> eventClass, List<Field<T>> fields) {
+        if (fields.size() > Long.SIZE) {
+            throw new IllegalArgumentException("Schema " + name + " has more than " + Long.SIZE + " fields");
+        }
+        this.id = id;
+        this.name = name;
+        this.eventClass = eventClass;
+        this.fields = Collections.unmodifiableList(fields);
+    }
+
+    public static <T> Builder<T> builder(int id, String name, Class<T> eventClass) {
+        return new Builder<>(id, name, eventClass);
+    }
+
+    public int getId() { return id; }
+
+    public String getName() { return name; }
+
+    public Class<T> getEventClass() { return eventClass; }
+
+    public List<Field<T>> getFields() { return fields; }
+
+    public static final class Field<T> {
+        private final String name;
+        private final FieldType type;
+        private final Function<T, ?> getter;
+
+        private Field(String name, FieldType type, Function<T, ?> getter) {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+        }
+
+        public String getName() { return name; }
+
+        public FieldType getType() { return type; }
+
+        Object read(T event) {
+            return getter.apply(event);
+        }
+    }
+
+    public static final class Builder<T> {
+        private final int id;
+        private final String name;
+        private final Class<T> eventClass;
+        private final List<Field<T>> fields = new ArrayList<>();
+
+        private Builder(int id, String name, Class<T> eventClass) {
+            this.id = id;
+            this.name = name;
+            this.eventClass = eventClass;
+        }
+
+        // Consumers only decode, so they declare fields without a getter
+        public Builder<T> field(String fieldName, FieldType type) {
+            return field(fieldName, type, null);
+        }
+
+        public Builder<T> field(String fieldName, FieldType type, Function<T, ?> getter) {
+            fields.add(new Field<>(fieldName, type, getter));
+            return this;
+        }
+
+        public EventSchema<T> build() {
+            return new EventSchema<>(id, name, eventClass, new ArrayList<>(fields));
+        }
+    }
+}
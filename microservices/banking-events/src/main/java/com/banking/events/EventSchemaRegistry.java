@@ -0,0 +1,37 @@
+package com.banking.events;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// In-process stand-in for a schema registry: frames carry only the schema id, both sides resolve it here
+public final class EventSchemaRegistry {
+
+    private final Map<Integer, EventSchema<?>> schemasById = new HashMap<>();
+    private final Map<Class<?>, EventSchema<?>> schemasByClass = new HashMap<>();
+
+    public EventSchemaRegistry(List<EventSchema<?>> schemas) {
+        for (EventSchema<?> schema : schemas) {
+            if (schemasById.putIfAbsent(schema.getId(), schema) != null) {
+                throw new IllegalArgumentException("Duplicate event schema id: " + schema.getId());
+            }
+            if (schema.getEventClass() != null) {
+                schemasByClass.put(schema.getEventClass(), schema);
+            }
+        }
+    }
+
+    public EventSchema<?> get(int id) {
+        EventSchema<?> schema = schemasById.get(id);
+        if (schema == null) {
+            throw new IllegalArgumentException("Unknown event schema id: " + id);
+        }
+        return schema;
+    }
+
+    // Null when the event has no binary schema and must go out as JSON
+    @SuppressWarnings("unchecked")
+    public <T> EventSchema<T> forEvent(Class<T> eventClass) {
+        return (EventSchema<T>) schemasByClass.get(eventClass);
+    }
+}
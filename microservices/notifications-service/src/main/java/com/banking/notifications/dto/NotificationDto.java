@@ -29,6 +29,33 @@ public class NotificationDto {
     // Constructors
     public NotificationDto() {}
 
+    // Filled straight from a JPQL constructor expression (NotificationRepository.DTO_SELECT), argument order matters.
+    // Template parameters live in a collection table and are attached afterwards.
+    public NotificationDto(Long id, Long userId, NotificationType type, NotificationChannel channel, String recipient,
+                           String subject, String content, String htmlContent, NotificationStatus status,
+                           NotificationPriority priority, String templateName, String externalId, String errorMessage,
+                           Integer retryCount, LocalDateTime scheduledAt, LocalDateTime sentAt,
+                           LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.type = type;
+        this.channel = channel;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.content = content;
+        this.htmlContent = htmlContent;
+        this.status = status;
+        this.priority = priority;
+        this.templateName = templateName;
+        this.externalId = externalId;
+        this.errorMessage = errorMessage;
+        this.retryCount = retryCount;
+        this.scheduledAt = scheduledAt;
+        this.sentAt = sentAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
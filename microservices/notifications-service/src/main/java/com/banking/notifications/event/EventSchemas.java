@@ -0,0 +1,55 @@
+package com.banking.notifications.event;
+
+import com.banking.events.EventSchema;
+import com.banking.events.EventSchemaRegistry;
+
+import java.util.List;
+
+import static com.banking.events.EventSchema.FieldType.*;
+
+// Decoding side of the binary schemas published by accounts-service (1xx) and transactions-service (2xx)
+public final class EventSchemas {
+
+    public static final EventSchema<Object> ACCOUNT_CREATED = EventSchema.<Object>builder(101, "ACCOUNT_CREATED", null)
+            .field("accountId", LONG)
+            .field("accountNumber", STRING)
+            .field("userId", LONG)
+            .field("accountType", STRING)
+            .field("balance", DECIMAL)
+            .field("currency", STRING)
+            .build();
+
+    public static final EventSchema<Object> BALANCE_UPDATED = EventSchema.<Object>builder(102, "BALANCE_UPDATED", null)
+            .field("accountId", LONG)
+            .field("accountNumber", STRING)
+            .field("newBalance", DECIMAL)
+            .field("availableBalance", DECIMAL)
+            .field("operation", STRING)
+            .field("amount", DECIMAL)
+            .field("transactionId", STRING)
+            .build();
+
+    public static final EventSchema<Object> TRANSACTION_COMPLETED = EventSchema.<Object>builder(201, "TRANSACTION_COMPLETED", null)
+            .field("transactionId", LONG)
+            .field("transactionReference", STRING)
+            .field("type", STRING)
+            .field("amount", DECIMAL)
+            .field("fromAccount", STRING)
+            .field("toAccount", STRING)
+            .field("completedAt", TIMESTAMP)
+            .build();
+
+    public static final EventSchema<Object> TRANSACTION_FAILED = EventSchema.<Object>builder(202, "TRANSACTION_FAILED", null)
+            .field("transactionId", LONG)
+            .field("transactionReference", STRING)
+            .field("type", STRING)
+            .field("amount", DECIMAL)
+            .field("reason", STRING)
+            .field("failedAt", TIMESTAMP)
+            .build();
+
+    public static final EventSchemaRegistry REGISTRY = new EventSchemaRegistry(
+            List.of(ACCOUNT_CREATED, BALANCE_UPDATED, TRANSACTION_COMPLETED, TRANSACTION_FAILED));
+
+    private EventSchemas() {}
+}
@@ -1,10 +1,13 @@
 package com.banking.notifications.listener;
 
+import com.banking.events.BinaryEventCodec;
 import com.banking.notifications.dto.SendNotificationRequest;
 import com.banking.notifications.entity.NotificationChannel;
 import com.banking.notifications.entity.NotificationPriority;
 import com.banking.notifications.entity.NotificationType;
+import com.banking.notifications.event.EventSchemas;
 import com.banking.notifications.service.NotificationService;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +15,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,16 +24,20 @@ import java.util.Map;
 public class BankingEventListener {
     private static final Logger logger = LoggerFactory.getLogger(BankingEventListener.class);
 
+    private static final BigDecimal HIGH_VALUE_DEBIT = new BigDecimal("1000");
+    private static final BigDecimal HIGH_VALUE_TRANSACTION = new BigDecimal("5000");
+
     @Autowired
     private NotificationService notificationService;
 
     @Autowired
     private ObjectMapper objectMapper;
 
-    @KafkaListener(topics = "user-events", groupId = "notifications-service")
-    public void handleUserEvents(String message) {
+    // Each consumer thread owns whole partitions and events are keyed by account or user, so per-key order holds
+    @KafkaListener(topics = "user-events", groupId = "notifications-service", concurrency = "${banking.kafka.listener.concurrency:6}")
+    public void handleUserEvents(byte[] message) {
         try {
-            Map<String, Object> event = objectMapper.readValue(message, Map.class);
+            Map<String, Object> event = readEvent(message);
             String eventType = determineEventType(event);
 
             switch (eventType) {
@@ -43,10 +52,10 @@ public class BankingEventListener {
         }
     }
 
-    @KafkaListener(topics = "account-events", groupId = "notifications-service")
-    public void handleAccountEvents(String message) {
+    @KafkaListener(topics = "account-events", groupId = "notifications-service", concurrency = "${banking.kafka.listener.concurrency:6}")
+    public void handleAccountEvents(byte[] message) {
         try {
-            Map<String, Object> event = objectMapper.readValue(message, Map.class);
+            Map<String, Object> event = readEvent(message);
             String eventType = determineEventType(event);
 
             switch (eventType) {
@@ -67,10 +76,10 @@ public class BankingEventListener {
         }
     }
 
-    @KafkaListener(topics = "transaction-events", groupId = "notifications-service")
-    public void handleTransactionEvents(String message) {
+    @KafkaListener(topics = "transaction-events", groupId = "notifications-service", concurrency = "${banking.kafka.listener.concurrency:6}")
+    public void handleTransactionEvents(byte[] message) {
         try {
-            Map<String, Object> event = objectMapper.readValue(message, Map.class);
+            Map<String, Object> event = readEvent(message);
             String eventType = determineEventType(event);
 
             switch (eventType) {
@@ -142,9 +151,9 @@ public class BankingEventListener {
     private void handleBalanceUpdatedEvent(Map<String, Object> event) {
         String accountNumber = getStringValue(event, "accountNumber");
         String operation = getStringValue(event, "operation");
-        Double amount = getDoubleValue(event, "amount");
+        BigDecimal amount = getDecimalValue(event, "amount");
 
-        if (accountNumber != null && "DEBIT".equals(operation) && amount != null && amount > 1000) {
+        if (accountNumber != null && "DEBIT".equals(operation) && amount != null && amount.compareTo(HIGH_VALUE_DEBIT) > 0) {
             // Send high-value transaction alert
             // This would typically fetch user details from account service
             logger.info("High-value transaction alert for account: {} amount: {}", accountNumber, amount);
@@ -163,9 +172,9 @@ public class BankingEventListener {
     private void handleTransactionCompletedEvent(Map<String, Object> event) {
         String transactionReference = getStringValue(event, "transactionReference");
         String type = getStringValue(event, "type");
-        Double amount = getDoubleValue(event, "amount");
+        BigDecimal amount = getDecimalValue(event, "amount");
 
-        if (transactionReference != null && amount != null && amount > 5000) {
+        if (transactionReference != null && amount != null && amount.compareTo(HIGH_VALUE_TRANSACTION) > 0) {
             // Send high-value transaction completion notification
             logger.info("High-value transaction completed: {} amount: {}", transactionReference, amount);
         }
@@ -180,6 +189,17 @@ public class BankingEventListener {
         }
     }
 
+    // Binary frames start with a magic byte that JSON never does; JSON decimals are read as BigDecimal to keep their precision
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readEvent(byte[] message) throws IOException {
+        if (BinaryEventCodec.isBinary(message)) {
+            return BinaryEventCodec.decode(message, EventSchemas.REGISTRY);
+        }
+        return objectMapper.readerFor(Map.class)
+                .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .readValue(message);
+    }
+
     private String determineEventType(Map<String, Object> event) {
         // Simple event type determination based on event structure
         if (event.containsKey("username") && event.containsKey("email")) {
@@ -211,10 +231,13 @@ public class BankingEventListener {
         return null;
     }
 
-    private Double getDoubleValue(Map<String, Object> map, String key) {
+    private BigDecimal getDecimalValue(Map<String, Object> map, String key) {
         Object value = map.get(key);
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
         if (value instanceof Number) {
-            return ((Number) value).doubleValue();
+            return new BigDecimal(value.toString());
         }
         return null;
     }
@@ -1,5 +1,6 @@
 package com.banking.notifications.repository;
 
+import com.banking.notifications.dto.NotificationDto;
 import com.banking.notifications.entity.Notification;
 import com.banking.notifications.entity.NotificationChannel;
 import com.banking.notifications.entity.NotificationStatus;
@@ -12,17 +13,40 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    Page<Notification> findByUserId(Long userId, Pageable pageable);
 
-    Page<Notification> findByUserIdAndStatus(Long userId, NotificationStatus status, Pageable pageable);
+    // Read endpoints select straight into NotificationDto instead of hydrating managed entities
+    String DTO_SELECT = "SELECT new com.banking.notifications.dto.NotificationDto(n.id, n.userId, n.type, n.channel, n.recipient, " +
+            "n.subject, n.content, n.htmlContent, n.status, n.priority, n.templateName, n.externalId, n.errorMessage, " +
+            "n.retryCount, n.scheduledAt, n.sentAt, n.createdAt, n.updatedAt) FROM Notification n ";
 
-    Page<Notification> findByUserIdAndType(Long userId, NotificationType type, Pageable pageable);
+    @Query(DTO_SELECT + "WHERE n.id = :id")
+    Optional<NotificationDto> findDtoById(@Param("id") Long id);
 
-    Page<Notification> findByUserIdAndChannel(Long userId, NotificationChannel channel, Pageable pageable);
+    @Query(value = DTO_SELECT + "WHERE n.userId = :userId",
+           countQuery = "SELECT COUNT(n) FROM Notification n WHERE n.userId = :userId")
+    Page<NotificationDto> findByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = DTO_SELECT + "WHERE n.userId = :userId AND n.status = :status",
+           countQuery = "SELECT COUNT(n) FROM Notification n WHERE n.userId = :userId AND n.status = :status")
+    Page<NotificationDto> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") NotificationStatus status, Pageable pageable);
+
+    @Query(value = DTO_SELECT + "WHERE n.userId = :userId AND n.type = :type",
+           countQuery = "SELECT COUNT(n) FROM Notification n WHERE n.userId = :userId AND n.type = :type")
+    Page<NotificationDto> findByUserIdAndType(@Param("userId") Long userId, @Param("type") NotificationType type, Pageable pageable);
+
+    @Query(value = DTO_SELECT + "WHERE n.userId = :userId AND n.channel = :channel",
+           countQuery = "SELECT COUNT(n) FROM Notification n WHERE n.userId = :userId AND n.channel = :channel")
+    Page<NotificationDto> findByUserIdAndChannel(@Param("userId") Long userId, @Param("channel") NotificationChannel channel, Pageable pageable);
+
+    // Template parameters for a whole page in one query, as (notificationId, key, value) rows
+    @Query("SELECT n.id, KEY(p), VALUE(p) FROM Notification n JOIN n.templateParameters p WHERE n.id IN :ids")
+    List<Object[]> findTemplateParameters(@Param("ids") Collection<Long> ids);
 
     List<Notification> findByStatus(NotificationStatus status);
 
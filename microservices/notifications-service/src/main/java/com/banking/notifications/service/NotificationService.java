@@ -20,8 +20,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -162,32 +165,47 @@ public class NotificationService {
 
     @Transactional(readOnly = true)
     public Optional<NotificationDto> getNotificationById(Long id) {
-        return notificationRepository.findById(id)
-                .map(notificationMapper::toDto);
+        Optional<NotificationDto> notification = notificationRepository.findDtoById(id);
+        notification.ifPresent(dto -> attachTemplateParameters(List.of(dto)));
+        return notification;
     }
 
     @Transactional(readOnly = true)
     public Page<NotificationDto> getNotificationsByUserId(Long userId, Pageable pageable) {
-        return notificationRepository.findByUserId(userId, pageable)
-                .map(notificationMapper::toDto);
+        return withTemplateParameters(notificationRepository.findByUserId(userId, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<NotificationDto> getNotificationsByUserIdAndStatus(Long userId, NotificationStatus status, Pageable pageable) {
-        return notificationRepository.findByUserIdAndStatus(userId, status, pageable)
-                .map(notificationMapper::toDto);
+        return withTemplateParameters(notificationRepository.findByUserIdAndStatus(userId, status, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<NotificationDto> getNotificationsByUserIdAndType(Long userId, NotificationType type, Pageable pageable) {
-        return notificationRepository.findByUserIdAndType(userId, type, pageable)
-                .map(notificationMapper::toDto);
+        return withTemplateParameters(notificationRepository.findByUserIdAndType(userId, type, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<NotificationDto> getNotificationsByUserIdAndChannel(Long userId, NotificationChannel channel, Pageable pageable) {
-        return notificationRepository.findByUserIdAndChannel(userId, channel, pageable)
-                .map(notificationMapper::toDto);
+        return withTemplateParameters(notificationRepository.findByUserIdAndChannel(userId, channel, pageable));
+    }
+
+    private Page<NotificationDto> withTemplateParameters(Page<NotificationDto> page) {
+        attachTemplateParameters(page.getContent());
+        return page;
+    }
+
+    // One query for the whole page instead of a lazy collection load per notification
+    private void attachTemplateParameters(List<NotificationDto> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        Map<Long, NotificationDto> notificationsById = notifications.stream()
+                .collect(Collectors.toMap(NotificationDto::getId, Function.identity()));
+        notifications.forEach(dto -> dto.setTemplateParameters(new HashMap<>()));
+        for (Object[] row : notificationRepository.findTemplateParameters(notificationsById.keySet())) {
+            notificationsById.get((Long) row[0]).getTemplateParameters().put((String) row[1], (String) row[2]);
+        }
     }
 
     public void processScheduledNotifications() {
@@ -0,0 +1,15 @@
+-- One-off migration to pooled sequence ids. Run it before deploying the version that uses notifications_seq,
+-- otherwise ddl-auto creates the sequence at 1 and new ids collide with existing rows.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS notifications_seq INCREMENT BY 50;
+
+-- Inserts that leave id to the database draw from the same sequence
+ALTER TABLE notifications ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE notifications ALTER COLUMN id SET DEFAULT nextval('notifications_seq');
+
+-- The pooled optimizer hands out (value - 49) .. value, so the first block starts right after the current maximum
+SELECT setval('notifications_seq', (SELECT COALESCE(MAX(id), 0) FROM notifications) + 50, false);
+
+COMMIT;
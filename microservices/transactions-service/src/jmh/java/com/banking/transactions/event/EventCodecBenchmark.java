@@ -0,0 +1,70 @@
+package com.banking.transactions.event;
+
+import com.banking.events.BinaryEventCodec;
+import com.banking.transactions.service.TransactionService.TransactionCompletedEvent;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Encode/decode cost of one TransactionCompletedEvent, binary frame vs the JSON the listener used to parse.
+// Bytes per event are printed once at setup. Run with: mvn -Pbenchmark test-compile exec:exec
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventCodecBenchmark {
+
+    private TransactionCompletedEvent event;
+    private ObjectMapper objectMapper;
+    private ObjectReader jsonReader;
+    private byte[] binaryFrame;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        event = new TransactionCompletedEvent(123456789L, "TXN1700000000000000001", "TRANSFER",
+                new BigDecimal("1500.00"), "1234567890", "0987654321", LocalDateTime.of(2024, 3, 10, 9, 0, 12));
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        jsonReader = objectMapper.readerFor(Map.class).with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        binaryFrame = BinaryEventCodec.encode(EventSchemas.TRANSACTION_COMPLETED, event);
+        json = objectMapper.writeValueAsBytes(event);
+        System.out.printf("%nBytes per event: binary=%d json=%d%n", binaryFrame.length, json.length);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return BinaryEventCodec.encode(EventSchemas.TRANSACTION_COMPLETED, event);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws Exception {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public Map<String, Object> decodeBinary() {
+        return BinaryEventCodec.decode(binaryFrame, EventSchemas.REGISTRY);
+    }
+
+    @Benchmark
+    public Map<String, Object> decodeJson() throws Exception {
+        return jsonReader.readValue(json);
+    }
+}
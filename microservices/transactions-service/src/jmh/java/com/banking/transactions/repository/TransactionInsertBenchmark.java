@@ -0,0 +1,152 @@
+package com.banking.transactions.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Time to insert 100k transaction rows in one transaction, replaying the JDBC traffic Hibernate produces:
+// one INSERT ... RETURNING round trip per row with IDENTITY, versus one nextval per 50 ids and 50-row
+// batches with the pooled sequence. Needs a PostgreSQL reachable at the url param; works on scratch tables.
+// Run with: mvn -Pbenchmark test-compile exec:exec
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class TransactionInsertBenchmark {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final String COLUMNS =
+            "transaction_id, type, amount, currency, from_account_number, to_account_number, status, transaction_date";
+
+    @Param("jdbc:postgresql://localhost:5432/banking_transactions")
+    public String url;
+
+    @Param("banking_user")
+    public String user;
+
+    @Param("banking_password")
+    public String password;
+
+    @Param({"false", "true"})
+    public boolean reWriteBatchedInserts;
+
+    @Param("100000")
+    public int rows;
+
+    private Connection connection;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(url + "?reWriteBatchedInserts=" + reWriteBatchedInserts, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS bench_transactions_identity (" +
+                    "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " + columnDefinitions() + ")");
+            statement.execute("CREATE TABLE IF NOT EXISTS bench_transactions_sequence (id BIGINT PRIMARY KEY, " + columnDefinitions() + ")");
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS bench_transactions_seq START WITH " + ALLOCATION_SIZE + " INCREMENT BY " + ALLOCATION_SIZE);
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE bench_transactions_identity, bench_transactions_sequence");
+        }
+        connection.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_transactions_identity, bench_transactions_sequence");
+            statement.execute("DROP SEQUENCE IF EXISTS bench_transactions_seq");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long identityRowByRow() throws SQLException {
+        long lastId = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_transactions_identity (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?) RETURNING id")) {
+            for (int i = 0; i < rows; i++) {
+                bind(insert, 1, i);
+                try (ResultSet generated = insert.executeQuery()) {
+                    generated.next();
+                    lastId = generated.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    @Benchmark
+    public long pooledSequenceBatched() throws SQLException {
+        long nextId = 0;
+        long blockEnd = 0;
+        try (PreparedStatement nextval = connection.prepareStatement("SELECT nextval('bench_transactions_seq')");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO bench_transactions_sequence (id, " + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                if (nextId >= blockEnd) {
+                    try (ResultSet value = nextval.executeQuery()) {
+                        value.next();
+                        blockEnd = value.getLong(1);
+                        nextId = blockEnd - ALLOCATION_SIZE;
+                    }
+                }
+                insert.setLong(1, ++nextId);
+                bind(insert, 2, i);
+                insert.addBatch();
+                if ((i + 1) % ALLOCATION_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return nextId;
+    }
+
+    private static void bind(PreparedStatement insert, int first, int i) throws SQLException {
+        insert.setString(first, "BENCH" + i);
+        insert.setString(first + 1, "TRANSFER");
+        insert.setBigDecimal(first + 2, BigDecimal.valueOf(4250 + i % 1000, 2));
+        insert.setString(first + 3, "EUR");
+        insert.setString(first + 4, String.format("%010d", i % 100_000));
+        insert.setString(first + 5, String.format("%010d", (i + 1) % 100_000));
+        insert.setString(first + 6, "PENDING");
+        insert.setTimestamp(first + 7, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private static String columnDefinitions() {
+        return "transaction_id VARCHAR(50), type VARCHAR(20), amount NUMERIC(19, 2), currency VARCHAR(3), " +
+                "from_account_number VARCHAR(20), to_account_number VARCHAR(20), status VARCHAR(20), transaction_date TIMESTAMP";
+    }
+}
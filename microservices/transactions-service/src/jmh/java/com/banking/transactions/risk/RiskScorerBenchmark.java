@@ -0,0 +1,62 @@
+package com.banking.transactions.risk;
+
+import com.banking.transactions.entity.Transaction;
+import com.banking.transactions.entity.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Scoring cost per debit with every account profile already in memory.
+// Run with: mvn -Pbenchmark test-compile exec:exec
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RiskScorerBenchmark {
+
+    @Param("100000")
+    public int accounts;
+
+    private RiskScorer riskScorer;
+    private Transaction[] transactions;
+
+    @Setup
+    public void setUp() {
+        riskScorer = new RiskScorer(new SimpleMeterRegistry(), true, accounts * 2L, 5, 30, new BigDecimal("20000"), 30, 10, 50);
+        transactions = new Transaction[accounts];
+        for (int i = 0; i < accounts; i++) {
+            Transaction transaction = new Transaction("TXN" + i, TransactionType.WITHDRAWAL, new BigDecimal("42.50"),
+                    String.format("%010d", i), null);
+            transaction.setLocation("ATM-" + (i % 500));
+            transactions[i] = transaction;
+            riskScorer.assess(transaction);
+        }
+    }
+
+    @Benchmark
+    public RiskAssessment assess() {
+        return riskScorer.assess(transactions[ThreadLocalRandom.current().nextInt(transactions.length)]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public RiskAssessment assessContended() {
+        return riskScorer.assess(transactions[ThreadLocalRandom.current().nextInt(transactions.length)]);
+    }
+}
@@ -0,0 +1,59 @@
+package com.banking.transactions.cache;
+
+import com.banking.transactions.client.AccountsClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Component
+public class AccountDirectory {
+
+    private final AccountsClient accountsClient;
+    private final Cache<String, AccountDirectoryEntry> entries;
+
+    public AccountDirectory(AccountsClient accountsClient,
+                            MeterRegistry meterRegistry,
+                            @Value("${banking.account-directory.maximum-size:100000}") long maximumSize,
+                            @Value("${banking.account-directory.ttl:10m}") Duration ttl) {
+        this.accountsClient = accountsClient;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        // Exposes cache.gets{result=hit|miss}, cache.evictions and cache.size for the directory
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "account-directory");
+    }
+
+    public Mono<AccountDirectoryEntry> lookup(String accountNumber) {
+        AccountDirectoryEntry entry = entries.getIfPresent(accountNumber);
+        if (entry != null) {
+            return Mono.just(entry);
+        }
+
+        // Miss: resolve against accounts-service and remember the answer
+        return accountsClient.getAccount(accountNumber)
+                .doOnNext(this::put);
+    }
+
+    public void put(AccountDirectoryEntry entry) {
+        entries.put(entry.getAccountNumber(), entry);
+    }
+
+    public void updateStatus(String accountNumber, String status) {
+        AccountDirectoryEntry entry = entries.getIfPresent(accountNumber);
+        String currency = entry != null ? entry.getCurrency() : null;
+        entries.put(accountNumber, new AccountDirectoryEntry(accountNumber, status, currency));
+    }
+
+    public void invalidate(String accountNumber) {
+        entries.invalidate(accountNumber);
+    }
+}
@@ -0,0 +1,31 @@
+package com.banking.transactions.cache;
+
+public class AccountDirectoryEntry {
+    private String accountNumber;
+    private String status;
+    private String currency;
+
+    // Constructors
+    public AccountDirectoryEntry() {}
+
+    public AccountDirectoryEntry(String accountNumber, String status, String currency) {
+        this.accountNumber = accountNumber;
+        this.status = status;
+        this.currency = currency;
+    }
+
+    // Getters and Setters
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    // Business methods
+    public boolean isActive() {
+        return "ACTIVE".equals(status);
+    }
+}
@@ -0,0 +1,161 @@
+package com.banking.transactions.client;
+
+import com.banking.transactions.cache.AccountDirectoryEntry;
+import com.banking.transactions.entity.Transaction;
+import com.banking.transactions.exception.AccountNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Component
+public class AccountsClient {
+
+    private final WebClient webClient;
+
+    public AccountsClient(WebClient.Builder webClientBuilder) {
+        // Built once and shared: the underlying connection pool is reused across requests
+        this.webClient = webClientBuilder.baseUrl("http://accounts-service/api/accounts").build();
+    }
+
+    public Mono<AccountDirectoryEntry> getAccount(String accountNumber) {
+        return webClient.get()
+                .uri("/number/{accountNumber}", accountNumber)
+                .retrieve()
+                .bodyToMono(AccountDirectoryEntry.class)
+                .onErrorMap(e -> new AccountNotFoundException("Account not found: " + accountNumber));
+    }
+
+    public Mono<Void> postTransfer(Transaction transaction) {
+        TransferPostingRequest request = toPostingRequest(transaction);
+
+        return webClient.post()
+                .uri("/transfers")
+                .bodyValue(request)
+                .retrieve()
+                .toBodilessEntity()
+                .then()
+                .onErrorMap(e -> new RuntimeException("Failed to post transfer: " + e.getMessage()));
+    }
+
+    public Mono<List<TransferPostingResult>> postTransfers(List<Transaction> transactions) {
+        BatchTransferPostingRequest request = new BatchTransferPostingRequest();
+        request.setTransfers(transactions.stream().map(this::toPostingRequest).toList());
+
+        return webClient.post()
+                .uri("/transfers/batch")
+                .bodyValue(request)
+                .retrieve()
+                .bodyToFlux(TransferPostingResult.class)
+                .collectList()
+                .onErrorMap(e -> new RuntimeException("Failed to post transfer batch: " + e.getMessage()));
+    }
+
+    public Mono<List<String>> findPostedTransactionIds(List<String> transactionIds) {
+        LedgerLookupRequest request = new LedgerLookupRequest();
+        request.setTransactionIds(transactionIds);
+
+        return webClient.post()
+                .uri("/ledger/lookup")
+                .bodyValue(request)
+                .retrieve()
+                .bodyToFlux(String.class)
+                .collectList()
+                .onErrorMap(e -> new RuntimeException("Failed to look up posted transactions: " + e.getMessage()));
+    }
+
+    public Mono<Void> updateBalance(String accountNumber, BigDecimal amount, String operation, String transactionId) {
+        UpdateBalanceRequest request = new UpdateBalanceRequest();
+        request.setAmount(amount.abs());
+        request.setOperation(operation);
+        request.setTransactionId(transactionId);
+
+        return webClient.put()
+                .uri("/number/{accountNumber}/balance", accountNumber)
+                .bodyValue(request)
+                .retrieve()
+                .toBodilessEntity()
+                .then()
+                .onErrorMap(e -> new RuntimeException("Failed to update account balance: " + e.getMessage()));
+    }
+
+    private TransferPostingRequest toPostingRequest(Transaction transaction) {
+        TransferPostingRequest request = new TransferPostingRequest();
+        request.setFromAccountNumber(transaction.getFromAccountNumber());
+        request.setToAccountNumber(transaction.getToAccountNumber());
+        request.setAmount(transaction.getAmount());
+        request.setDescription(transaction.getDescription());
+        request.setTransactionId(transaction.getTransactionId());
+        return request;
+    }
+
+    // DTOs for account service communication
+    public static class UpdateBalanceRequest {
+        private BigDecimal amount;
+        private String operation;
+        private String transactionId;
+
+        public BigDecimal getAmount() { return amount; }
+        public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+        public String getOperation() { return operation; }
+        public void setOperation(String operation) { this.operation = operation; }
+
+        public String getTransactionId() { return transactionId; }
+        public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+    }
+
+    public static class TransferPostingRequest {
+        private String fromAccountNumber;
+        private String toAccountNumber;
+        private BigDecimal amount;
+        private String description;
+        private String transactionId;
+
+        public String getFromAccountNumber() { return fromAccountNumber; }
+        public void setFromAccountNumber(String fromAccountNumber) { this.fromAccountNumber = fromAccountNumber; }
+
+        public String getToAccountNumber() { return toAccountNumber; }
+        public void setToAccountNumber(String toAccountNumber) { this.toAccountNumber = toAccountNumber; }
+
+        public BigDecimal getAmount() { return amount; }
+        public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+
+        public String getTransactionId() { return transactionId; }
+        public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+    }
+
+    public static class BatchTransferPostingRequest {
+        private List<TransferPostingRequest> transfers;
+
+        public List<TransferPostingRequest> getTransfers() { return transfers; }
+        public void setTransfers(List<TransferPostingRequest> transfers) { this.transfers = transfers; }
+    }
+
+    public static class LedgerLookupRequest {
+        private List<String> transactionIds;
+
+        public List<String> getTransactionIds() { return transactionIds; }
+        public void setTransactionIds(List<String> transactionIds) { this.transactionIds = transactionIds; }
+    }
+
+    public static class TransferPostingResult {
+        private String transactionId;
+        private boolean posted;
+        private String reason;
+
+        public String getTransactionId() { return transactionId; }
+        public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+        public boolean isPosted() { return posted; }
+        public void setPosted(boolean posted) { this.posted = posted; }
+
+        public String getReason() { return reason; }
+        public void setReason(String reason) { this.reason = reason; }
+    }
+}
@@ -0,0 +1,23 @@
+package com.banking.transactions.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class AsyncProcessingConfig {
+
+    @Value("${banking.async.threads:32}")
+    private int threads;
+
+    @Value("${banking.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    // Async submissions are validated and posted here, apart from request threads and the shared JPA scheduler
+    @Bean(destroyMethod = "dispose")
+    public Scheduler transactionProcessingScheduler() {
+        return Schedulers.newBoundedElastic(threads, queueCapacity, "transaction-processing");
+    }
+}
@@ -0,0 +1,50 @@
+package com.banking.transactions.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.Map;
+
+@Configuration
+public class KafkaConfig {
+
+    @Value("${banking.outbox.producer.batch-size:65536}")
+    private int producerBatchSize;
+
+    @Value("${banking.outbox.producer.linger-ms:5}")
+    private int producerLingerMs;
+
+    @Value("${banking.kafka.topics.transaction-events.partitions:12}")
+    private int transactionEventsPartitions;
+
+    @Value("${banking.kafka.topics.replicas:1}")
+    private int replicas;
+
+    // Events are keyed by the debited account (credited for deposits), so one account's events stay on one partition
+    @Bean
+    public NewTopic transactionEventsTopic() {
+        return TopicBuilder.name("transaction-events").partitions(transactionEventsPartitions).replicas(replicas).build();
+    }
+
+    // Outbox payloads are already serialized (JSON text or binary frames), so the relay sends raw bytes
+    @Bean
+    public KafkaTemplate<String, byte[]> outboxKafkaTemplate(KafkaProperties kafkaProperties) {
+        Map<String, Object> configProps = kafkaProperties.buildProducerProperties(null);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, producerBatchSize);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, producerLingerMs);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(configProps));
+    }
+}
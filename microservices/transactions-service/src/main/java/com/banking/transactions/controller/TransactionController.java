@@ -3,20 +3,34 @@ package com.banking.transactions.controller;
 import com.banking.transactions.dto.*;
 import com.banking.transactions.entity.TransactionStatus;
 import com.banking.transactions.entity.TransactionType;
+import com.banking.transactions.service.BulkTransferService;
+import com.banking.transactions.service.IdempotencyService;
+import com.banking.transactions.service.StatementExportService;
 import com.banking.transactions.service.TransactionService;
 import io.micrometer.core.annotation.Timed;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -26,28 +40,82 @@ public class TransactionController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private BulkTransferService bulkTransferService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private StatementExportService statementExportService;
+
     @PostMapping("/transfer")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('EMPLOYEE') or hasRole('ADMIN')")
     @Timed(value = "transactions.transfer", description = "Time taken to process transfer")
-    public ResponseEntity<TransactionDto> transfer(@Valid @RequestBody TransferRequest request) {
-        TransactionDto transaction = transactionService.transfer(request);
-        return new ResponseEntity<>(transaction, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<TransactionDto>> transfer(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
+            @Valid @RequestBody TransferRequest request,
+            Principal principal) {
+        if (respondAsync(prefer)) {
+            return idempotencyService.execute(principalName(principal), idempotencyKey, "TRANSFER", request,
+                            () -> transactionService.submitTransfer(request))
+                    .thenApply(this::accepted);
+        }
+        return idempotencyService.execute(principalName(principal), idempotencyKey, "TRANSFER", request,
+                        () -> transactionService.transfer(request))
+                .thenApply(transaction -> new ResponseEntity<>(transaction, HttpStatus.CREATED));
     }
 
     @PostMapping("/deposit")
     @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
     @Timed(value = "transactions.deposit", description = "Time taken to process deposit")
-    public ResponseEntity<TransactionDto> deposit(@Valid @RequestBody DepositRequest request) {
-        TransactionDto transaction = transactionService.deposit(request);
-        return new ResponseEntity<>(transaction, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<TransactionDto>> deposit(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
+            @Valid @RequestBody DepositRequest request,
+            Principal principal) {
+        if (respondAsync(prefer)) {
+            return idempotencyService.execute(principalName(principal), idempotencyKey, "DEPOSIT", request,
+                            () -> transactionService.submitDeposit(request))
+                    .thenApply(this::accepted);
+        }
+        return idempotencyService.execute(principalName(principal), idempotencyKey, "DEPOSIT", request,
+                        () -> transactionService.deposit(request))
+                .thenApply(transaction -> new ResponseEntity<>(transaction, HttpStatus.CREATED));
     }
 
     @PostMapping("/withdrawal")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('EMPLOYEE') or hasRole('ADMIN')")
     @Timed(value = "transactions.withdrawal", description = "Time taken to process withdrawal")
-    public ResponseEntity<TransactionDto> withdrawal(@Valid @RequestBody WithdrawalRequest request) {
-        TransactionDto transaction = transactionService.withdrawal(request);
-        return new ResponseEntity<>(transaction, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<TransactionDto>> withdrawal(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
+            @Valid @RequestBody WithdrawalRequest request,
+            Principal principal) {
+        if (respondAsync(prefer)) {
+            return idempotencyService.execute(principalName(principal), idempotencyKey, "WITHDRAWAL", request,
+                            () -> transactionService.submitWithdrawal(request))
+                    .thenApply(this::accepted);
+        }
+        return idempotencyService.execute(principalName(principal), idempotencyKey, "WITHDRAWAL", request,
+                        () -> transactionService.withdrawal(request))
+                .thenApply(transaction -> new ResponseEntity<>(transaction, HttpStatus.CREATED));
+    }
+
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    @Timed(value = "transactions.bulk", description = "Time taken to process bulk transfer")
+    public ResponseEntity<BulkTransferResponse> bulkTransfer(@Valid @RequestBody BulkTransferRequest request) {
+        BulkTransferResponse response = bulkTransferService.bulkTransfer(request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/bulk/{batchId}")
+    @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    public ResponseEntity<Page<TransactionDto>> getBulkTransactions(@PathVariable String batchId, Pageable pageable) {
+        Page<TransactionDto> transactions = transactionService.getTransactionsByBatchId(batchId, pageable);
+        return ResponseEntity.ok(transactions);
     }
 
     @GetMapping("/{id}")
@@ -67,6 +135,19 @@ public class TransactionController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Status changes as server-sent events, ending once the transaction settles; clients reconnect on timeout
+    @GetMapping(value = "/reference/{transactionId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    public ResponseEntity<Flux<ServerSentEvent<TransactionDto>>> streamTransactionStatus(@PathVariable String transactionId) {
+        return transactionService.getTransactionByTransactionId(transactionId)
+                .map(transaction -> ResponseEntity.ok(transactionService.streamTransactionStatus(transaction)
+                        .map(update -> ServerSentEvent.builder(update)
+                                .event("status")
+                                .id(update.getStatus().name())
+                                .build())))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/account/{accountNumber}")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('EMPLOYEE') or hasRole('ADMIN')")
     @Timed(value = "transactions.getByAccount", description = "Time taken to get transactions by account")
@@ -86,6 +167,28 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
 
+    // Cursor-paged history: no COUNT query and constant cost per slice however deep the client scrolls
+    @GetMapping("/account/{accountNumber}/history")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    @Timed(value = "transactions.historyByAccount", description = "Time taken to get a slice of account transaction history")
+    public ResponseEntity<TransactionSlice> getTransactionHistoryByAccount(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        TransactionSlice transactions = transactionService.getTransactionHistoryByAccountNumber(accountNumber, cursor, size);
+        return ResponseEntity.ok(transactions);
+    }
+
+    @GetMapping("/user/{userId}/history")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    public ResponseEntity<TransactionSlice> getTransactionHistoryByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        TransactionSlice transactions = transactionService.getTransactionHistoryByUserId(userId, cursor, size);
+        return ResponseEntity.ok(transactions);
+    }
+
     @GetMapping("/account/{accountNumber}/type/{type}")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('EMPLOYEE') or hasRole('ADMIN')")
     public ResponseEntity<Page<TransactionDto>> getTransactionsByAccountAndType(
@@ -108,6 +211,25 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
 
+    // Streams the whole range in one pass instead of paging through getTransactionsByAccountAndDateRange
+    @GetMapping("/account/{accountNumber}/statement")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    @Timed(value = "transactions.statement", description = "Time taken to export an account statement")
+    public void exportStatement(
+            @PathVariable String accountNumber,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "CSV") StatementFormat format,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("statement-" + accountNumber + "." + format.getFileExtension())
+                .build()
+                .toString());
+        statementExportService.export(accountNumber, startDate, endDate, format, response.getOutputStream());
+    }
+
     @PutMapping("/{id}/status")
     @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
     @Timed(value = "transactions.updateStatus", description = "Time taken to update transaction status")
@@ -119,6 +241,22 @@ public class TransactionController {
         return ResponseEntity.ok(transaction);
     }
 
+    // Transactions held UNDER_REVIEW by the risk checks leave review only through these two actions
+    @PostMapping("/{id}/review/release")
+    @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    @Timed(value = "transactions.review.release", description = "Time taken to release and post a held transaction")
+    public CompletableFuture<ResponseEntity<TransactionDto>> releaseFromReview(@PathVariable Long id) {
+        return transactionService.releaseFromReview(id).thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/{id}/review/reject")
+    @PreAuthorize("hasRole('EMPLOYEE') or hasRole('ADMIN')")
+    public ResponseEntity<TransactionDto> rejectFromReview(
+            @PathVariable Long id,
+            @RequestParam(required = false) String reason) {
+        return ResponseEntity.ok(transactionService.rejectFromReview(id, reason));
+    }
+
     @GetMapping("/account/{accountNumber}/balance")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('EMPLOYEE') or hasRole('ADMIN')")
     public ResponseEntity<BigDecimal> getAccountBalance(
@@ -128,4 +266,21 @@ public class TransactionController {
         BigDecimal balance = transactionService.getAccountBalance(accountNumber, startDate, endDate);
         return ResponseEntity.ok(balance);
     }
+
+    private static String principalName(Principal principal) {
+        return principal != null ? principal.getName() : null;
+    }
+
+    // Async mode is opt-in per request with "Prefer: respond-async" (RFC 7240)
+    private static boolean respondAsync(String prefer) {
+        return prefer != null && prefer.toLowerCase().contains("respond-async");
+    }
+
+    // The transaction is stored as PENDING; its outcome is read from the Location or the event stream
+    private ResponseEntity<TransactionDto> accepted(TransactionDto transaction) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/transactions/reference/" + transaction.getTransactionId()))
+                .header("Preference-Applied", "respond-async")
+                .body(transaction);
+    }
 }
@@ -0,0 +1,33 @@
+package com.banking.transactions.dto;
+
+import com.banking.transactions.entity.TransactionStatus;
+
+public class BulkTransferItemResult {
+    private int index;
+    private String transactionId;
+    private TransactionStatus status;
+    private String statusReason;
+
+    // Constructors
+    public BulkTransferItemResult() {}
+
+    public BulkTransferItemResult(int index, String transactionId, TransactionStatus status, String statusReason) {
+        this.index = index;
+        this.transactionId = transactionId;
+        this.status = status;
+        this.statusReason = statusReason;
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public TransactionStatus getStatus() { return status; }
+    public void setStatus(TransactionStatus status) { this.status = status; }
+
+    public String getStatusReason() { return statusReason; }
+    public void setStatusReason(String statusReason) { this.statusReason = statusReason; }
+}
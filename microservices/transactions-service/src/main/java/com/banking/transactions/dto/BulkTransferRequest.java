@@ -0,0 +1,18 @@
+package com.banking.transactions.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkTransferRequest {
+    @NotEmpty
+    @Size(max = 100000)
+    @Valid
+    private List<TransferRequest> transfers;
+
+    // Getters and Setters
+    public List<TransferRequest> getTransfers() { return transfers; }
+    public void setTransfers(List<TransferRequest> transfers) { this.transfers = transfers; }
+}
@@ -0,0 +1,51 @@
+package com.banking.transactions.dto;
+
+import com.banking.transactions.entity.TransactionStatus;
+
+import java.util.List;
+
+public class BulkTransferResponse {
+    private String batchId;
+    private int total;
+    private int completed;
+    private int failed;
+    private int pending;
+    private List<BulkTransferItemResult> results;
+
+    // Constructors
+    public BulkTransferResponse() {}
+
+    public BulkTransferResponse(String batchId, List<BulkTransferItemResult> results) {
+        this.batchId = batchId;
+        this.results = results;
+        this.total = results.size();
+        for (BulkTransferItemResult result : results) {
+            if (result.getStatus() == TransactionStatus.COMPLETED) {
+                completed++;
+            } else if (result.getStatus() == TransactionStatus.PENDING) {
+                pending++;
+            } else {
+                failed++;
+            }
+        }
+    }
+
+    // Getters and Setters
+    public String getBatchId() { return batchId; }
+    public void setBatchId(String batchId) { this.batchId = batchId; }
+
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public int getCompleted() { return completed; }
+    public void setCompleted(int completed) { this.completed = completed; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public int getPending() { return pending; }
+    public void setPending(int pending) { this.pending = pending; }
+
+    public List<BulkTransferItemResult> getResults() { return results; }
+    public void setResults(List<BulkTransferItemResult> results) { this.results = results; }
+}
@@ -0,0 +1,18 @@
+package com.banking.transactions.dto;
+
+public enum StatementFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    StatementFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() { return contentType; }
+
+    public String getFileExtension() { return fileExtension; }
+}
@@ -0,0 +1,43 @@
+package com.banking.transactions.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Position in a newest-first transaction history: the (transactionDate, id) of the last row already returned
+public class TransactionCursor {
+    // Sorts after every real row, so the first page uses the same keyset query as later ones
+    public static final TransactionCursor START = new TransactionCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private final LocalDateTime transactionDate;
+    private final Long id;
+
+    public TransactionCursor(LocalDateTime transactionDate, Long id) {
+        this.transactionDate = transactionDate;
+        this.id = id;
+    }
+
+    public static TransactionCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 2);
+            return new TransactionCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = transactionDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getTransactionDate() { return transactionDate; }
+
+    public Long getId() { return id; }
+}
@@ -27,10 +27,41 @@ public class TransactionDto {
     private String merchantName;
     private String merchantCategory;
     private String location;
+    private String batchId;
 
     // Constructors
     public TransactionDto() {}
 
+    // Filled straight from a JPQL constructor expression (TransactionRepository.DTO_SELECT), argument order matters
+    public TransactionDto(Long id, String transactionId, TransactionType type, BigDecimal amount, String currency,
+                          String fromAccountNumber, String toAccountNumber, Long fromUserId, Long toUserId,
+                          String description, String reference, TransactionStatus status, String statusReason,
+                          LocalDateTime transactionDate, LocalDateTime processedDate, BigDecimal fees,
+                          BigDecimal exchangeRate, String merchantName, String merchantCategory, String location,
+                          String batchId) {
+        this.id = id;
+        this.transactionId = transactionId;
+        this.type = type;
+        this.amount = amount;
+        this.currency = currency;
+        this.fromAccountNumber = fromAccountNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.fromUserId = fromUserId;
+        this.toUserId = toUserId;
+        this.description = description;
+        this.reference = reference;
+        this.status = status;
+        this.statusReason = statusReason;
+        this.transactionDate = transactionDate;
+        this.processedDate = processedDate;
+        this.fees = fees;
+        this.exchangeRate = exchangeRate;
+        this.merchantName = merchantName;
+        this.merchantCategory = merchantCategory;
+        this.location = location;
+        this.batchId = batchId;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -91,4 +122,7 @@ public class TransactionDto {
 
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
+
+    public String getBatchId() { return batchId; }
+    public void setBatchId(String batchId) { this.batchId = batchId; }
 }
@@ -0,0 +1,34 @@
+package com.banking.transactions.dto;
+
+import java.util.List;
+
+public class TransactionSlice {
+    private List<TransactionDto> content;
+    private int size;
+    private boolean hasNext;
+    // Opaque token for the next slice, null on the last one
+    private String nextCursor;
+
+    // Constructors
+    public TransactionSlice() {}
+
+    public TransactionSlice(List<TransactionDto> content, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = content.size();
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<TransactionDto> getContent() { return content; }
+    public void setContent(List<TransactionDto> content) { this.content = content; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -23,6 +23,8 @@ public class TransferRequest {
 
     private String reference;
 
+    private String location;
+
     // Getters and Setters
     public String getFromAccountNumber() { return fromAccountNumber; }
     public void setFromAccountNumber(String fromAccountNumber) { this.fromAccountNumber = fromAccountNumber; }
@@ -41,4 +43,7 @@ public class TransferRequest {
 
     public String getReference() { return reference; }
     public void setReference(String reference) { this.reference = reference; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
 }
@@ -0,0 +1,72 @@
+package com.banking.transactions.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+// Per-account daily totals of COMPLETED transactions, keyed by transaction date
+@Entity
+@Table(name = "account_balance_buckets")
+@IdClass(AccountBalanceBucket.Key.class)
+public class AccountBalanceBucket {
+    @Id
+    @Column(length = 50)
+    private String accountNumber;
+
+    @Id
+    private LocalDate bucketDate;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal incomingAmount = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal outgoingAmount = BigDecimal.ZERO;
+
+    // Constructors
+    public AccountBalanceBucket() {}
+
+    // Getters and Setters
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+
+    public LocalDate getBucketDate() { return bucketDate; }
+    public void setBucketDate(LocalDate bucketDate) { this.bucketDate = bucketDate; }
+
+    public BigDecimal getIncomingAmount() { return incomingAmount; }
+    public void setIncomingAmount(BigDecimal incomingAmount) { this.incomingAmount = incomingAmount; }
+
+    public BigDecimal getOutgoingAmount() { return outgoingAmount; }
+    public void setOutgoingAmount(BigDecimal outgoingAmount) { this.outgoingAmount = outgoingAmount; }
+
+    public static class Key implements Serializable {
+        private String accountNumber;
+        private LocalDate bucketDate;
+
+        public Key() {}
+
+        public Key(String accountNumber, LocalDate bucketDate) {
+            this.accountNumber = accountNumber;
+            this.bucketDate = bucketDate;
+        }
+
+        public String getAccountNumber() { return accountNumber; }
+
+        public LocalDate getBucketDate() { return bucketDate; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(accountNumber, key.accountNumber) && Objects.equals(bucketDate, key.bucketDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountNumber, bucketDate);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.banking.transactions.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_created_at", columnList = "createdAt")
+})
+public class IdempotencyRecord {
+    @Id
+    @Column(length = 100)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 20)
+    private String operation;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    // Null while the first request is still being processed
+    @Column(length = 50)
+    private String transactionId;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public IdempotencyRecord() {}
+
+    // Getters and Setters
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+
+    public String getOperation() { return operation; }
+    public void setOperation(String operation) { this.operation = operation; }
+
+    public String getRequestHash() { return requestHash; }
+    public void setRequestHash(String requestHash) { this.requestHash = requestHash; }
+
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
@@ -14,17 +14,28 @@ import java.time.LocalDateTime;
 @Table(name = "transactions", indexes = {
     @Index(name = "idx_from_account", columnList = "fromAccountNumber"),
     @Index(name = "idx_to_account", columnList = "toAccountNumber"),
+    @Index(name = "idx_from_account_date", columnList = "fromAccountNumber, transactionDate, id"),
+    @Index(name = "idx_to_account_date", columnList = "toAccountNumber, transactionDate, id"),
+    @Index(name = "idx_from_user_date", columnList = "fromUserId, transactionDate, id"),
+    @Index(name = "idx_to_user_date", columnList = "toUserId, transactionDate, id"),
     @Index(name = "idx_transaction_date", columnList = "transactionDate"),
-    @Index(name = "idx_status", columnList = "status")
+    @Index(name = "idx_status", columnList = "status"),
+    @Index(name = "idx_status_date", columnList = "status, transactionDate"),
+    @Index(name = "idx_batch_id", columnList = "batchId"),
+    // Globally unique while transactions is a plain table. db/transactions-partitioning.sql recreates it with
+    // transaction_date (PostgreSQL requires the partition key) and moves the global guard to transaction_ids.
+    @Index(name = "idx_transaction_id", columnList = "transactionId", unique = true)
 })
 @EntityListeners(AuditingEntityListener.class)
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence: one nextval per 50 ids, which lets Hibernate batch inserts (IDENTITY cannot)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
-    @Column(unique = true, length = 50)
+    @Column(length = 50)
     private String transactionId;
 
     @Enumerated(EnumType.STRING)
@@ -76,6 +87,9 @@ public class Transaction {
 
     private String location;
 
+    @Column(length = 50)
+    private String batchId;
+
     // Constructors
     public Transaction() {}
 
@@ -149,6 +163,9 @@ public class Transaction {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
+    public String getBatchId() { return batchId; }
+    public void setBatchId(String batchId) { this.batchId = batchId; }
+
     // Business methods
     public boolean isTransfer() {
         return type == TransactionType.TRANSFER;
@@ -3,6 +3,7 @@ package com.banking.transactions.entity;
 public enum TransactionStatus {
     PENDING,
     PROCESSING,
+    UNDER_REVIEW,
     COMPLETED,
     FAILED,
     CANCELLED,
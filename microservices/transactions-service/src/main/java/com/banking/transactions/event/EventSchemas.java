@@ -0,0 +1,60 @@
+package com.banking.transactions.event;
+
+import com.banking.events.EventSchema;
+import com.banking.events.EventSchemaRegistry;
+import com.banking.transactions.service.TransactionService.TransactionCompletedEvent;
+import com.banking.transactions.service.TransactionService.TransactionFailedEvent;
+
+import java.util.List;
+
+import static com.banking.events.EventSchema.FieldType.*;
+
+// Binary schemas of the transaction-events this service publishes; ids and field order must match notifications-service.
+// The account-events ones (1xx) are decode-only and must match accounts-service.
+public final class EventSchemas {
+
+    public static final EventSchema<Object> ACCOUNT_CREATED = EventSchema.<Object>builder(101, "ACCOUNT_CREATED", null)
+            .field("accountId", LONG)
+            .field("accountNumber", STRING)
+            .field("userId", LONG)
+            .field("accountType", STRING)
+            .field("balance", DECIMAL)
+            .field("currency", STRING)
+            .build();
+
+    public static final EventSchema<Object> BALANCE_UPDATED = EventSchema.<Object>builder(102, "BALANCE_UPDATED", null)
+            .field("accountId", LONG)
+            .field("accountNumber", STRING)
+            .field("newBalance", DECIMAL)
+            .field("availableBalance", DECIMAL)
+            .field("operation", STRING)
+            .field("amount", DECIMAL)
+            .field("transactionId", STRING)
+            .build();
+
+    public static final EventSchema<TransactionCompletedEvent> TRANSACTION_COMPLETED =
+            EventSchema.builder(201, "TRANSACTION_COMPLETED", TransactionCompletedEvent.class)
+                    .field("transactionId", LONG, TransactionCompletedEvent::getTransactionId)
+                    .field("transactionReference", STRING, TransactionCompletedEvent::getTransactionReference)
+                    .field("type", STRING, TransactionCompletedEvent::getType)
+                    .field("amount", DECIMAL, TransactionCompletedEvent::getAmount)
+                    .field("fromAccount", STRING, TransactionCompletedEvent::getFromAccount)
+                    .field("toAccount", STRING, TransactionCompletedEvent::getToAccount)
+                    .field("completedAt", TIMESTAMP, TransactionCompletedEvent::getCompletedAt)
+                    .build();
+
+    public static final EventSchema<TransactionFailedEvent> TRANSACTION_FAILED =
+            EventSchema.builder(202, "TRANSACTION_FAILED", TransactionFailedEvent.class)
+                    .field("transactionId", LONG, TransactionFailedEvent::getTransactionId)
+                    .field("transactionReference", STRING, TransactionFailedEvent::getTransactionReference)
+                    .field("type", STRING, TransactionFailedEvent::getType)
+                    .field("amount", DECIMAL, TransactionFailedEvent::getAmount)
+                    .field("reason", STRING, TransactionFailedEvent::getReason)
+                    .field("failedAt", TIMESTAMP, TransactionFailedEvent::getFailedAt)
+                    .build();
+
+    public static final EventSchemaRegistry REGISTRY = new EventSchemaRegistry(
+            List.of(ACCOUNT_CREATED, BALANCE_UPDATED, TRANSACTION_COMPLETED, TRANSACTION_FAILED));
+
+    private EventSchemas() {}
+}
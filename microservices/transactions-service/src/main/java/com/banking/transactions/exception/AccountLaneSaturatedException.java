@@ -0,0 +1,11 @@
+package com.banking.transactions.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class AccountLaneSaturatedException extends RuntimeException {
+    public AccountLaneSaturatedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.banking.transactions.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class InvalidTransactionStateException extends RuntimeException {
+    public InvalidTransactionStateException(String message) {
+        super(message);
+    }
+}
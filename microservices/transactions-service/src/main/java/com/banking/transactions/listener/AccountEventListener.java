@@ -0,0 +1,93 @@
+package com.banking.transactions.listener;
+
+import com.banking.events.BinaryEventCodec;
+import com.banking.transactions.cache.AccountDirectory;
+import com.banking.transactions.cache.AccountDirectoryEntry;
+import com.banking.transactions.event.EventSchemas;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+
+@Component
+public class AccountEventListener {
+    private static final Logger logger = LoggerFactory.getLogger(AccountEventListener.class);
+
+    @Autowired
+    private AccountDirectory accountDirectory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Every instance keeps its own directory, so each one consumes the topic under its own group
+    @KafkaListener(topics = "account-events", groupId = "transactions-service-directory-${HOSTNAME:${random.uuid}}")
+    public void handleAccountEvents(byte[] message) {
+        try {
+            Map<String, Object> event = readEvent(message);
+            String eventType = determineEventType(event);
+
+            switch (eventType) {
+                case "ACCOUNT_CREATED":
+                    handleAccountCreatedEvent(event);
+                    break;
+                case "ACCOUNT_STATUS_UPDATED":
+                    handleAccountStatusUpdatedEvent(event);
+                    break;
+                default:
+                    logger.debug("Unhandled account event type: {}", eventType);
+            }
+        } catch (Exception e) {
+            logger.error("Error processing account event: {}", e.getMessage());
+        }
+    }
+
+    private void handleAccountCreatedEvent(Map<String, Object> event) {
+        String accountNumber = getStringValue(event, "accountNumber");
+        String currency = getStringValue(event, "currency");
+
+        if (accountNumber != null) {
+            // New accounts are always opened ACTIVE
+            accountDirectory.put(new AccountDirectoryEntry(accountNumber, "ACTIVE", currency));
+        }
+    }
+
+    private void handleAccountStatusUpdatedEvent(Map<String, Object> event) {
+        String accountNumber = getStringValue(event, "accountNumber");
+        String status = getStringValue(event, "status");
+
+        if (accountNumber != null && status != null) {
+            accountDirectory.updateStatus(accountNumber, status);
+        }
+    }
+
+    // accounts-service sends BinaryEventCodec frames or JSON depending on banking.events.format; the magic byte tells them apart
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readEvent(byte[] message) throws IOException {
+        if (BinaryEventCodec.isBinary(message)) {
+            return BinaryEventCodec.decode(message, EventSchemas.REGISTRY);
+        }
+        return objectMapper.readValue(message, Map.class);
+    }
+
+    private String determineEventType(Map<String, Object> event) {
+        // Same structural detection as the notifications-service listener
+        if (event.containsKey("accountNumber") && event.containsKey("accountType")) {
+            return "ACCOUNT_CREATED";
+        } else if (event.containsKey("accountNumber") && event.containsKey("newBalance")) {
+            return "BALANCE_UPDATED";
+        } else if (event.containsKey("accountNumber") && event.containsKey("status")) {
+            return "ACCOUNT_STATUS_UPDATED";
+        }
+        return "UNKNOWN";
+    }
+
+    private String getStringValue(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        return value != null ? value.toString() : null;
+    }
+}
@@ -33,6 +33,7 @@ public class TransactionMapper {
         dto.setMerchantName(transaction.getMerchantName());
         dto.setMerchantCategory(transaction.getMerchantCategory());
         dto.setLocation(transaction.getLocation());
+        dto.setBatchId(transaction.getBatchId());
 
         return dto;
     }
@@ -63,6 +64,7 @@ public class TransactionMapper {
         transaction.setMerchantName(dto.getMerchantName());
         transaction.setMerchantCategory(dto.getMerchantCategory());
         transaction.setLocation(dto.getLocation());
+        transaction.setBatchId(dto.getBatchId());
 
         return transaction;
     }
@@ -0,0 +1,74 @@
+package com.banking.transactions.repository;
+
+import com.banking.transactions.entity.AccountBalanceBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Repository
+public interface AccountBalanceBucketRepository extends JpaRepository<AccountBalanceBucket, AccountBalanceBucket.Key> {
+
+    @Modifying
+    @Query(value = "INSERT INTO account_balance_buckets (account_number, bucket_date, incoming_amount, outgoing_amount) " +
+                   "VALUES (:accountNumber, :bucketDate, :incoming, :outgoing) " +
+                   "ON CONFLICT (account_number, bucket_date) DO UPDATE SET " +
+                   "incoming_amount = account_balance_buckets.incoming_amount + EXCLUDED.incoming_amount, " +
+                   "outgoing_amount = account_balance_buckets.outgoing_amount + EXCLUDED.outgoing_amount",
+           nativeQuery = true)
+    int accumulate(@Param("accountNumber") String accountNumber,
+                   @Param("bucketDate") LocalDate bucketDate,
+                   @Param("incoming") BigDecimal incoming,
+                   @Param("outgoing") BigDecimal outgoing);
+
+    @Query("SELECT SUM(b.incomingAmount) FROM AccountBalanceBucket b WHERE b.accountNumber = :accountNumber AND b.bucketDate BETWEEN :firstDay AND :lastDay")
+    BigDecimal sumIncomingAmountByAccountAndDays(@Param("accountNumber") String accountNumber,
+                                                 @Param("firstDay") LocalDate firstDay,
+                                                 @Param("lastDay") LocalDate lastDay);
+
+    @Query("SELECT SUM(b.outgoingAmount) FROM AccountBalanceBucket b WHERE b.accountNumber = :accountNumber AND b.bucketDate BETWEEN :firstDay AND :lastDay")
+    BigDecimal sumOutgoingAmountByAccountAndDays(@Param("accountNumber") String accountNumber,
+                                                 @Param("firstDay") LocalDate firstDay,
+                                                 @Param("lastDay") LocalDate lastDay);
+
+    // Blocks concurrent accumulate() calls until the rebuilding transaction commits
+    @Modifying
+    @Query(value = "LOCK TABLE account_balance_buckets IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM account_balance_buckets", nativeQuery = true)
+    int deleteAllBuckets();
+
+    @Modifying
+    @Query(value = "INSERT INTO account_balance_buckets (account_number, bucket_date, incoming_amount, outgoing_amount) " +
+                   "SELECT account_number, bucket_date, SUM(incoming_amount), SUM(outgoing_amount) FROM (" +
+                   "  SELECT to_account_number AS account_number, CAST(transaction_date AS date) AS bucket_date, " +
+                   "         amount AS incoming_amount, 0 AS outgoing_amount " +
+                   "  FROM transactions WHERE status = 'COMPLETED' AND to_account_number IS NOT NULL AND transaction_date IS NOT NULL " +
+                   "  UNION ALL " +
+                   "  SELECT from_account_number, CAST(transaction_date AS date), 0, amount " +
+                   "  FROM transactions WHERE status = 'COMPLETED' AND from_account_number IS NOT NULL AND transaction_date IS NOT NULL" +
+                   ") movements GROUP BY account_number, bucket_date",
+           nativeQuery = true)
+    int rebuildFromTransactions();
+
+    @Modifying
+    @Query(value = "INSERT INTO account_balance_buckets (account_number, bucket_date, incoming_amount, outgoing_amount) " +
+                   "SELECT account_number, bucket_date, SUM(incoming_amount), SUM(outgoing_amount) FROM (" +
+                   "  SELECT to_account_number AS account_number, CAST(transaction_date AS date) AS bucket_date, " +
+                   "         amount AS incoming_amount, 0 AS outgoing_amount " +
+                   "  FROM (SELECT * FROM transactions UNION ALL SELECT * FROM transactions_archive) t " +
+                   "  WHERE status = 'COMPLETED' AND to_account_number IS NOT NULL AND transaction_date IS NOT NULL " +
+                   "  UNION ALL " +
+                   "  SELECT from_account_number, CAST(transaction_date AS date), 0, amount " +
+                   "  FROM (SELECT * FROM transactions UNION ALL SELECT * FROM transactions_archive) t " +
+                   "  WHERE status = 'COMPLETED' AND from_account_number IS NOT NULL AND transaction_date IS NOT NULL" +
+                   ") movements GROUP BY account_number, bucket_date",
+           nativeQuery = true)
+    int rebuildFromTransactionsAndArchive();
+}
@@ -0,0 +1,34 @@
+package com.banking.transactions.repository;
+
+import com.banking.transactions.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Atomic reservation: returns 1 for the first request carrying the key, 0 for any duplicate
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, operation, request_hash, created_at) " +
+                   "VALUES (:idempotencyKey, :operation, :requestHash, :createdAt) ON CONFLICT (idempotency_key) DO NOTHING",
+           nativeQuery = true)
+    int reserve(@Param("idempotencyKey") String idempotencyKey,
+                @Param("operation") String operation,
+                @Param("requestHash") String requestHash,
+                @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.transactionId = :transactionId, r.completedAt = :completedAt WHERE r.idempotencyKey = :idempotencyKey")
+    int complete(@Param("idempotencyKey") String idempotencyKey,
+                 @Param("transactionId") String transactionId,
+                 @Param("completedAt") LocalDateTime completedAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
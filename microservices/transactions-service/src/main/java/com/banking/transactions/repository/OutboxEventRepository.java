@@ -0,0 +1,20 @@
+package com.banking.transactions.repository;
+
+import com.banking.transactions.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Transaction-scoped advisory lock: only one relay instance drains the outbox at a time, keeping batches in order
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryRelayLock(@Param("lockKey") long lockKey);
+
+    @Query(value = "SELECT * FROM outbox_events ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<OutboxEvent> findNextBatch(@Param("limit") int limit);
+}
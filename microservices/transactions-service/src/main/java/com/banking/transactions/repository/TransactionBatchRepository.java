@@ -0,0 +1,29 @@
+package com.banking.transactions.repository;
+
+import com.banking.transactions.entity.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+// Status-only batch update for the bulk path, without loading the rows back into the persistence context
+@Repository
+public class TransactionBatchRepository {
+
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE transactions SET status = ?, status_reason = ?, processed_date = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void updateStatuses(List<Transaction> transactions) {
+        jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, transactions, transactions.size(), (ps, transaction) -> {
+            ps.setString(1, transaction.getStatus().name());
+            ps.setString(2, transaction.getStatusReason());
+            ps.setTimestamp(3, transaction.getProcessedDate() != null ? Timestamp.valueOf(transaction.getProcessedDate()) : null);
+            ps.setLong(4, transaction.getId());
+        });
+    }
+}
@@ -0,0 +1,123 @@
+package com.banking.transactions.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+// Monthly partitions of transactions (see db/transactions-partitioning.sql) and their move to transactions_archive
+@Repository
+public class TransactionPartitionRepository {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String PARTITION_PREFIX = "transactions_p";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Transaction-scoped advisory lock: only one instance maintains partitions at a time
+    public boolean tryMaintenanceLock(long lockKey) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, lockKey));
+    }
+
+    public boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid WHERE c.relname = 'transactions')",
+                Boolean.class));
+    }
+
+    public void createMonthlyPartition(YearMonth month) {
+        // Names and bounds are built from YearMonth only, never from caller input
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF transactions " +
+                "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    // Attached partitions and ones left detached by an interrupted archive run alike
+    public List<YearMonth> findMonthlyPartitions() {
+        return jdbcTemplate.queryForList(
+                        "SELECT c.relname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                        "WHERE n.nspname = current_schema() AND c.relkind = 'r' AND c.relname ~ '^transactions_p[0-9]{6}$' ORDER BY c.relname",
+                        String.class).stream()
+                .map(name -> YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX))
+                .toList();
+    }
+
+    // Runs on one connection outside any Spring transaction, because DETACH ... CONCURRENTLY cannot run in a
+    // transaction block; a session-level advisory lock keeps instances apart instead. Returns null when another
+    // instance holds the lock. Every step can be re-run, so a failure part way is finished by the next run.
+    public Integer archiveMonthlyPartition(YearMonth month, long lockKey) {
+        String partition = partitionName(month);
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                if (!tryLock(statement, lockKey)) {
+                    return null;
+                }
+                try {
+                    // Bulk copy while still attached: reads the partition only, writers on transactions carry on
+                    int copied = statement.executeUpdate("INSERT INTO transactions_archive SELECT * FROM " + partition +
+                            " ON CONFLICT (id) DO NOTHING");
+
+                    // Two-phase detach: waits for queries already running instead of locking transactions exclusively
+                    String detachState = detachState(connection, partition);
+                    if ("attached".equals(detachState)) {
+                        statement.execute("ALTER TABLE transactions DETACH PARTITION " + partition + " CONCURRENTLY");
+                    } else if ("pending".equals(detachState)) {
+                        statement.execute("ALTER TABLE transactions DETACH PARTITION " + partition + " FINALIZE");
+                    }
+
+                    // The detached table only holds closed-month rows now; pick up any changed since the copy, then drop it
+                    connection.setAutoCommit(false);
+                    try {
+                        int replaced = statement.executeUpdate("DELETE FROM transactions_archive a USING " + partition + " p " +
+                                "WHERE a.id = p.id AND ROW(a.*) IS DISTINCT FROM ROW(p.*)");
+                        int caughtUp = statement.executeUpdate("INSERT INTO transactions_archive SELECT * FROM " + partition +
+                                " ON CONFLICT (id) DO NOTHING");
+                        statement.execute("DROP TABLE " + partition);
+                        connection.commit();
+                        return copied + caughtUp - replaced;
+                    } catch (SQLException e) {
+                        connection.rollback();
+                        throw e;
+                    } finally {
+                        connection.setAutoCommit(true);
+                    }
+                } finally {
+                    statement.execute("SELECT pg_advisory_unlock(" + lockKey + ")");
+                }
+            }
+        });
+    }
+
+    private static boolean tryLock(Statement statement, long lockKey) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("SELECT pg_try_advisory_lock(" + lockKey + ")")) {
+            return resultSet.next() && resultSet.getBoolean(1);
+        }
+    }
+
+    // "attached", "pending" (a concurrent detach was interrupted) or "detached"
+    private static String detachState(Connection connection, String partition) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT CASE WHEN i.inhdetachpending THEN 'pending' ELSE 'attached' END FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = 'transactions' AND c.relname = ?")) {
+            statement.setString(1, partition);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : "detached";
+            }
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
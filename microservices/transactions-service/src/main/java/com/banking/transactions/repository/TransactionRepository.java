@@ -1,12 +1,18 @@
 package com.banking.transactions.repository;
 
+import com.banking.transactions.dto.TransactionDto;
 import com.banking.transactions.entity.Transaction;
 import com.banking.transactions.entity.TransactionStatus;
 import com.banking.transactions.entity.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,32 +20,86 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+
+    // Read endpoints select straight into TransactionDto: no managed entities, no dirty-check snapshots, no mapping copy
+    String DTO_SELECT = "SELECT new com.banking.transactions.dto.TransactionDto(t.id, t.transactionId, t.type, t.amount, t.currency, " +
+            "t.fromAccountNumber, t.toAccountNumber, t.fromUserId, t.toUserId, t.description, t.reference, t.status, t.statusReason, " +
+            "t.transactionDate, t.processedDate, t.fees, t.exchangeRate, t.merchantName, t.merchantCategory, t.location, t.batchId) " +
+            "FROM Transaction t ";
+
     Optional<Transaction> findByTransactionId(String transactionId);
 
-    @Query("SELECT t FROM Transaction t WHERE t.fromAccountNumber = :accountNumber OR t.toAccountNumber = :accountNumber")
-    Page<Transaction> findByAccountNumber(@Param("accountNumber") String accountNumber, Pageable pageable);
+    @Query(DTO_SELECT + "WHERE t.id = :id")
+    Optional<TransactionDto> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "WHERE t.transactionId = :transactionId")
+    Optional<TransactionDto> findDtoByTransactionId(@Param("transactionId") String transactionId);
+
+    @Query(value = DTO_SELECT + "WHERE t.batchId = :batchId",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.batchId = :batchId")
+    Page<TransactionDto> findByBatchId(@Param("batchId") String batchId, Pageable pageable);
+
+    @Query(value = DTO_SELECT + "WHERE t.fromAccountNumber = :accountNumber OR t.toAccountNumber = :accountNumber",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.fromAccountNumber = :accountNumber OR t.toAccountNumber = :accountNumber")
+    Page<TransactionDto> findByAccountNumber(@Param("accountNumber") String accountNumber, Pageable pageable);
+
+    @Query(value = DTO_SELECT + "WHERE (t.fromUserId = :userId OR t.toUserId = :userId)",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE (t.fromUserId = :userId OR t.toUserId = :userId)")
+    Page<TransactionDto> findByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Keyset pages, newest first. One query per side instead of an OR, so each uses its own (account, transactionDate, id) index
+    @Query(DTO_SELECT + "WHERE t.fromAccountNumber = :accountNumber AND (t.transactionDate < :date OR (t.transactionDate = :date AND t.id < :id)) ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionDto> findOutgoingBefore(@Param("accountNumber") String accountNumber,
+                                         @Param("date") LocalDateTime date,
+                                         @Param("id") Long id,
+                                         Limit limit);
 
-    @Query("SELECT t FROM Transaction t WHERE (t.fromUserId = :userId OR t.toUserId = :userId)")
-    Page<Transaction> findByUserId(@Param("userId") Long userId, Pageable pageable);
+    @Query(DTO_SELECT + "WHERE t.toAccountNumber = :accountNumber AND (t.transactionDate < :date OR (t.transactionDate = :date AND t.id < :id)) ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionDto> findIncomingBefore(@Param("accountNumber") String accountNumber,
+                                         @Param("date") LocalDateTime date,
+                                         @Param("id") Long id,
+                                         Limit limit);
+
+    @Query(DTO_SELECT + "WHERE t.fromUserId = :userId AND (t.transactionDate < :date OR (t.transactionDate = :date AND t.id < :id)) ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionDto> findOutgoingByUserBefore(@Param("userId") Long userId,
+                                               @Param("date") LocalDateTime date,
+                                               @Param("id") Long id,
+                                               Limit limit);
+
+    @Query(DTO_SELECT + "WHERE t.toUserId = :userId AND (t.transactionDate < :date OR (t.transactionDate = :date AND t.id < :id)) ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionDto> findIncomingByUserBefore(@Param("userId") Long userId,
+                                               @Param("date") LocalDateTime date,
+                                               @Param("id") Long id,
+                                               Limit limit);
 
     @Query("SELECT t FROM Transaction t WHERE (t.fromAccountNumber = :accountNumber OR t.toAccountNumber = :accountNumber) AND t.status = :status")
     List<Transaction> findByAccountNumberAndStatus(@Param("accountNumber") String accountNumber, 
                                                   @Param("status") TransactionStatus status);
 
-    @Query("SELECT t FROM Transaction t WHERE (t.fromAccountNumber = :accountNumber OR t.toAccountNumber = :accountNumber) AND t.type = :type")
-    Page<Transaction> findByAccountNumberAndType(@Param("accountNumber") String accountNumber, 
+    @Query(value = DTO_SELECT + "WHERE (t.fromAccountNumber = :accountNumber OR t.toAccountNumber = :accountNumber) AND t.type = :type",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE (t.fromAccountNumber = :accountNumber OR t.toAccountNumber = :accountNumber) AND t.type = :type")
+    Page<TransactionDto> findByAccountNumberAndType(@Param("accountNumber") String accountNumber, 
                                                @Param("type") TransactionType type, 
                                                Pageable pageable);
 
-    @Query("SELECT t FROM Transaction t WHERE (t.fromAccountNumber = :accountNumber OR t.toAccountNumber = :accountNumber) AND t.transactionDate BETWEEN :startDate AND :endDate")
-    Page<Transaction> findByAccountNumberAndDateRange(@Param("accountNumber") String accountNumber,
+    @Query(value = DTO_SELECT + "WHERE (t.fromAccountNumber = :accountNumber OR t.toAccountNumber = :accountNumber) AND t.transactionDate BETWEEN :startDate AND :endDate",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE (t.fromAccountNumber = :accountNumber OR t.toAccountNumber = :accountNumber) AND t.transactionDate BETWEEN :startDate AND :endDate")
+    Page<TransactionDto> findByAccountNumberAndDateRange(@Param("accountNumber") String accountNumber,
                                                      @Param("startDate") LocalDateTime startDate,
                                                      @Param("endDate") LocalDateTime endDate,
                                                      Pageable pageable);
 
+    // Forward-only cursor for statement export; must be consumed inside a read-only transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM Transaction t WHERE (t.fromAccountNumber = :accountNumber OR t.toAccountNumber = :accountNumber) AND t.transactionDate BETWEEN :startDate AND :endDate ORDER BY t.transactionDate, t.id")
+    Stream<Transaction> streamByAccountNumberAndDateRange(@Param("accountNumber") String accountNumber,
+                                                          @Param("startDate") LocalDateTime startDate,
+                                                          @Param("endDate") LocalDateTime endDate);
+
     @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.fromAccountNumber = :accountNumber AND t.status = 'COMPLETED' AND t.transactionDate BETWEEN :startDate AND :endDate")
     BigDecimal sumOutgoingAmountByAccountAndDateRange(@Param("accountNumber") String accountNumber,
                                                      @Param("startDate") LocalDateTime startDate,
@@ -50,11 +110,137 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
                                                      @Param("startDate") LocalDateTime startDate,
                                                      @Param("endDate") LocalDateTime endDate);
 
+    // Half-open variants for the leading partial day of a bucketed balance query
+    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.fromAccountNumber = :accountNumber AND t.status = 'COMPLETED' AND t.transactionDate >= :startDate AND t.transactionDate < :endDate")
+    BigDecimal sumOutgoingAmountByAccountFromDateBefore(@Param("accountNumber") String accountNumber,
+                                                        @Param("startDate") LocalDateTime startDate,
+                                                        @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.toAccountNumber = :accountNumber AND t.status = 'COMPLETED' AND t.transactionDate >= :startDate AND t.transactionDate < :endDate")
+    BigDecimal sumIncomingAmountByAccountFromDateBefore(@Param("accountNumber") String accountNumber,
+                                                        @Param("startDate") LocalDateTime startDate,
+                                                        @Param("endDate") LocalDateTime endDate);
+
+    // While a month is being archived its rows sit in both tiers for a moment; the archive side skips rows still in the hot table
+    String ARCHIVE_ONLY = "AND NOT EXISTS (SELECT 1 FROM transactions h WHERE h.id = a.id AND h.transaction_date = a.transaction_date)";
+
+    // Cold-tier variants: the same reads over the partitioned table and transactions_archive together
+    @Query(value = "SELECT * FROM (" +
+                   "SELECT * FROM transactions WHERE (from_account_number = :accountNumber OR to_account_number = :accountNumber) AND transaction_date BETWEEN :startDate AND :endDate " +
+                   "UNION ALL " +
+                   "SELECT * FROM transactions_archive a WHERE (from_account_number = :accountNumber OR to_account_number = :accountNumber) AND transaction_date BETWEEN :startDate AND :endDate " + ARCHIVE_ONLY +
+                   ") t ORDER BY t.transaction_date DESC, t.id DESC",
+           countQuery = "SELECT " +
+                   "(SELECT COUNT(*) FROM transactions WHERE (from_account_number = :accountNumber OR to_account_number = :accountNumber) AND transaction_date BETWEEN :startDate AND :endDate) + " +
+                   "(SELECT COUNT(*) FROM transactions_archive a WHERE (from_account_number = :accountNumber OR to_account_number = :accountNumber) AND transaction_date BETWEEN :startDate AND :endDate " + ARCHIVE_ONLY + ")",
+           nativeQuery = true)
+    Page<Transaction> findByAccountNumberAndDateRangeAcrossTiers(@Param("accountNumber") String accountNumber,
+                                                                 @Param("startDate") LocalDateTime startDate,
+                                                                 @Param("endDate") LocalDateTime endDate,
+                                                                 Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "SELECT * FROM (" +
+                   "SELECT * FROM transactions WHERE (from_account_number = :accountNumber OR to_account_number = :accountNumber) AND transaction_date BETWEEN :startDate AND :endDate " +
+                   "UNION ALL " +
+                   "SELECT * FROM transactions_archive a WHERE (from_account_number = :accountNumber OR to_account_number = :accountNumber) AND transaction_date BETWEEN :startDate AND :endDate " + ARCHIVE_ONLY +
+                   ") t ORDER BY t.transaction_date, t.id",
+           nativeQuery = true)
+    Stream<Transaction> streamByAccountNumberAndDateRangeAcrossTiers(@Param("accountNumber") String accountNumber,
+                                                                     @Param("startDate") LocalDateTime startDate,
+                                                                     @Param("endDate") LocalDateTime endDate);
+
+    @Query(value = "SELECT SUM(amount) FROM (" +
+                   "SELECT amount FROM transactions WHERE from_account_number = :accountNumber AND status = 'COMPLETED' AND transaction_date BETWEEN :startDate AND :endDate " +
+                   "UNION ALL " +
+                   "SELECT amount FROM transactions_archive a WHERE from_account_number = :accountNumber AND status = 'COMPLETED' AND transaction_date BETWEEN :startDate AND :endDate " + ARCHIVE_ONLY +
+                   ") t",
+           nativeQuery = true)
+    BigDecimal sumOutgoingAmountByAccountAndDateRangeAcrossTiers(@Param("accountNumber") String accountNumber,
+                                                                 @Param("startDate") LocalDateTime startDate,
+                                                                 @Param("endDate") LocalDateTime endDate);
+
+    @Query(value = "SELECT SUM(amount) FROM (" +
+                   "SELECT amount FROM transactions WHERE to_account_number = :accountNumber AND status = 'COMPLETED' AND transaction_date BETWEEN :startDate AND :endDate " +
+                   "UNION ALL " +
+                   "SELECT amount FROM transactions_archive a WHERE to_account_number = :accountNumber AND status = 'COMPLETED' AND transaction_date BETWEEN :startDate AND :endDate " + ARCHIVE_ONLY +
+                   ") t",
+           nativeQuery = true)
+    BigDecimal sumIncomingAmountByAccountAndDateRangeAcrossTiers(@Param("accountNumber") String accountNumber,
+                                                                 @Param("startDate") LocalDateTime startDate,
+                                                                 @Param("endDate") LocalDateTime endDate);
+
+    // Point lookups in the cold tier, for rows the hot table no longer has
+    @Query(value = "SELECT * FROM transactions_archive WHERE id = :id", nativeQuery = true)
+    Optional<Transaction> findArchivedById(@Param("id") Long id);
+
+    @Query(value = "SELECT * FROM transactions_archive WHERE transaction_id = :transactionId", nativeQuery = true)
+    Optional<Transaction> findArchivedByTransactionId(@Param("transactionId") String transactionId);
+
+    // Keyset pages continued in the cold tier, same order and cursor as the hot-table queries above
+    @Query(value = "SELECT * FROM transactions_archive a WHERE from_account_number = :accountNumber AND (transaction_date < :date OR (transaction_date = :date AND id < :id)) " + ARCHIVE_ONLY +
+                   " ORDER BY transaction_date DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Transaction> findArchivedOutgoingBefore(@Param("accountNumber") String accountNumber,
+                                                 @Param("date") LocalDateTime date,
+                                                 @Param("id") Long id,
+                                                 @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM transactions_archive a WHERE to_account_number = :accountNumber AND (transaction_date < :date OR (transaction_date = :date AND id < :id)) " + ARCHIVE_ONLY +
+                   " ORDER BY transaction_date DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Transaction> findArchivedIncomingBefore(@Param("accountNumber") String accountNumber,
+                                                 @Param("date") LocalDateTime date,
+                                                 @Param("id") Long id,
+                                                 @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM transactions_archive a WHERE from_user_id = :userId AND (transaction_date < :date OR (transaction_date = :date AND id < :id)) " + ARCHIVE_ONLY +
+                   " ORDER BY transaction_date DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Transaction> findArchivedOutgoingByUserBefore(@Param("userId") Long userId,
+                                                       @Param("date") LocalDateTime date,
+                                                       @Param("id") Long id,
+                                                       @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM transactions_archive a WHERE to_user_id = :userId AND (transaction_date < :date OR (transaction_date = :date AND id < :id)) " + ARCHIVE_ONLY +
+                   " ORDER BY transaction_date DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Transaction> findArchivedIncomingByUserBefore(@Param("userId") Long userId,
+                                                       @Param("date") LocalDateTime date,
+                                                       @Param("id") Long id,
+                                                       @Param("limit") int limit);
+
     @Query("SELECT COUNT(t) FROM Transaction t WHERE (t.fromAccountNumber = :accountNumber OR t.toAccountNumber = :accountNumber) AND t.status = :status")
     Long countByAccountNumberAndStatus(@Param("accountNumber") String accountNumber, 
                                       @Param("status") TransactionStatus status);
 
     List<Transaction> findByStatusAndTransactionDateBefore(TransactionStatus status, LocalDateTime date);
 
+    long countByStatusAndTransactionDateBefore(TransactionStatus status, LocalDateTime date);
+
+    // Stale means PENDING since before the cutoff, or released from review (PROCESSING, stamped with the release time
+    // in processed_date) before it and never settled
+    @Query(value = "SELECT COUNT(*) FROM transactions WHERE (status = 'PENDING' AND transaction_date < :cutoff) " +
+                   "OR (status = 'PROCESSING' AND processed_date < :cutoff)",
+           nativeQuery = true)
+    long countStalePending(@Param("cutoff") LocalDateTime cutoff);
+
+    // Claims a batch of stale rows; rows already locked by another reconciler are skipped, not waited on
+    @Query(value = "SELECT * FROM transactions WHERE (status = 'PENDING' AND transaction_date < :cutoff) " +
+                   "OR (status = 'PROCESSING' AND processed_date < :cutoff) " +
+                   "ORDER BY transaction_date, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Transaction> claimStalePending(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Moves a held transaction out of review; 0 when it is no longer UNDER_REVIEW (already released or rejected)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.status = :status, t.statusReason = :reason, t.processedDate = :processedDate " +
+           "WHERE t.id = :id AND t.status = :expected")
+    int updateStatusIfCurrent(@Param("id") Long id,
+                              @Param("expected") TransactionStatus expected,
+                              @Param("status") TransactionStatus status,
+                              @Param("reason") String reason,
+                              @Param("processedDate") LocalDateTime processedDate);
+
     Boolean existsByTransactionId(String transactionId);
 }
@@ -0,0 +1,26 @@
+package com.banking.transactions.risk;
+
+import java.util.List;
+
+public class RiskAssessment {
+
+    private final int score;
+    private final boolean reviewRequired;
+    private final List<String> reasons;
+
+    public RiskAssessment(int score, boolean reviewRequired, List<String> reasons) {
+        this.score = score;
+        this.reviewRequired = reviewRequired;
+        this.reasons = reasons;
+    }
+
+    public int getScore() { return score; }
+
+    public boolean isReviewRequired() { return reviewRequired; }
+
+    public List<String> getReasons() { return reasons; }
+
+    public String describe() {
+        return "Held for review (risk score " + score + "): " + String.join(", ", reasons);
+    }
+}
@@ -0,0 +1,129 @@
+package com.banking.transactions.risk;
+
+import com.banking.transactions.entity.Transaction;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Pre-posting velocity checks on the debited account and the request location, computed from memory only.
+// Counters are per instance, so with N instances each one sees roughly 1/N of an account's traffic.
+@Component
+public class RiskScorer {
+
+    static final int MINUTE_VELOCITY_POINTS = 40;
+    static final int HOUR_VELOCITY_POINTS = 30;
+    static final int DAILY_AMOUNT_POINTS = 50;
+    static final int AMOUNT_SPIKE_POINTS = 30;
+    static final int LOCATION_VELOCITY_POINTS = 40;
+
+    private static final RiskAssessment NOT_ASSESSED = new RiskAssessment(0, false, List.of());
+
+    private final boolean enabled;
+    private final long maxDebitsPerMinute;
+    private final long maxDebitsPerHour;
+    private final long maxAmountPerDayCents;
+    private final long locationMaxPerMinute;
+    private final long amountSpikeFactor;
+    private final int reviewScore;
+    private final Cache<String, VelocityProfile> accounts;
+    private final Cache<String, VelocityProfile> locations;
+    private final Counter reviewCounter;
+
+    public RiskScorer(MeterRegistry meterRegistry,
+                      @Value("${banking.risk.enabled:true}") boolean enabled,
+                      @Value("${banking.risk.maximum-profiles:200000}") long maximumProfiles,
+                      @Value("${banking.risk.max-debits-per-minute:5}") long maxDebitsPerMinute,
+                      @Value("${banking.risk.max-debits-per-hour:30}") long maxDebitsPerHour,
+                      @Value("${banking.risk.max-amount-per-day:20000}") BigDecimal maxAmountPerDay,
+                      @Value("${banking.risk.location-max-per-minute:30}") long locationMaxPerMinute,
+                      @Value("${banking.risk.amount-spike-factor:10}") long amountSpikeFactor,
+                      @Value("${banking.risk.review-score:50}") int reviewScore) {
+        this.enabled = enabled;
+        this.maxDebitsPerMinute = maxDebitsPerMinute;
+        this.maxDebitsPerHour = maxDebitsPerHour;
+        this.maxAmountPerDayCents = toCents(maxAmountPerDay);
+        this.locationMaxPerMinute = locationMaxPerMinute;
+        this.amountSpikeFactor = amountSpikeFactor;
+        this.reviewScore = reviewScore;
+        // A profile untouched for a day has nothing left in any of its windows
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(maximumProfiles)
+                .expireAfterAccess(Duration.ofDays(1))
+                .recordStats()
+                .build();
+        this.locations = Caffeine.newBuilder()
+                .maximumSize(maximumProfiles)
+                .expireAfterAccess(Duration.ofDays(1))
+                .build();
+        this.reviewCounter = Counter.builder("transactions.risk.reviews")
+                .description("Transactions held for review by the velocity checks")
+                .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, accounts, "risk-velocity");
+    }
+
+    // Scores the debit against the windows as they stand, then counts it in
+    public RiskAssessment assess(Transaction transaction) {
+        return assess(transaction, System.currentTimeMillis());
+    }
+
+    RiskAssessment assess(Transaction transaction, long nowMillis) {
+        if (!enabled || transaction.getFromAccountNumber() == null) {
+            return NOT_ASSESSED;
+        }
+
+        long amountCents = toCents(transaction.getAmount());
+        int score = 0;
+        List<String> reasons = new ArrayList<>(2);
+
+        VelocityProfile account = accounts.get(transaction.getFromAccountNumber(), key -> new VelocityProfile());
+        if (account.getMinute().count(nowMillis) >= maxDebitsPerMinute) {
+            score += MINUTE_VELOCITY_POINTS;
+            reasons.add("more than " + maxDebitsPerMinute + " debits in 1 minute");
+        }
+        if (account.getHour().count(nowMillis) >= maxDebitsPerHour) {
+            score += HOUR_VELOCITY_POINTS;
+            reasons.add("more than " + maxDebitsPerHour + " debits in 1 hour");
+        }
+        long dayCount = account.getDay().count(nowMillis);
+        long daySumCents = account.getDay().sumCents(nowMillis);
+        if (daySumCents + amountCents > maxAmountPerDayCents) {
+            score += DAILY_AMOUNT_POINTS;
+            reasons.add("daily debit amount above " + BigDecimal.valueOf(maxAmountPerDayCents, 2));
+        }
+        // Needs a little history first, so a new account's first large payment is not a spike
+        if (dayCount >= 3 && amountCents > amountSpikeFactor * (daySumCents / dayCount)) {
+            score += AMOUNT_SPIKE_POINTS;
+            reasons.add("amount over " + amountSpikeFactor + "x the 24h average");
+        }
+        account.record(nowMillis, amountCents);
+
+        if (transaction.getLocation() != null) {
+            VelocityProfile location = locations.get(transaction.getLocation(), key -> new VelocityProfile());
+            if (location.getMinute().count(nowMillis) >= locationMaxPerMinute) {
+                score += LOCATION_VELOCITY_POINTS;
+                reasons.add("more than " + locationMaxPerMinute + " debits in 1 minute from " + transaction.getLocation());
+            }
+            location.record(nowMillis, amountCents);
+        }
+
+        boolean reviewRequired = score >= reviewScore;
+        if (reviewRequired) {
+            reviewCounter.increment();
+        }
+        return new RiskAssessment(score, reviewRequired, reasons);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValue();
+    }
+}
@@ -0,0 +1,23 @@
+package com.banking.transactions.risk;
+
+import java.util.concurrent.TimeUnit;
+
+// Minute, hour and day windows for one account or location; about 0.5 KB each
+public class VelocityProfile {
+
+    private final VelocityWindow minute = new VelocityWindow(TimeUnit.MINUTES.toMillis(1), 6);
+    private final VelocityWindow hour = new VelocityWindow(TimeUnit.HOURS.toMillis(1), 12);
+    private final VelocityWindow day = new VelocityWindow(TimeUnit.DAYS.toMillis(1), 24);
+
+    public void record(long nowMillis, long amountCents) {
+        minute.record(nowMillis, amountCents);
+        hour.record(nowMillis, amountCents);
+        day.record(nowMillis, amountCents);
+    }
+
+    public VelocityWindow getMinute() { return minute; }
+
+    public VelocityWindow getHour() { return hour; }
+
+    public VelocityWindow getDay() { return day; }
+}
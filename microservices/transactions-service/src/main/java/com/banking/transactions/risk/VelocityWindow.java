@@ -0,0 +1,65 @@
+package com.banking.transactions.risk;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Count and sum over a sliding window, kept as a ring of time buckets updated with CAS only.
+// A bucket is reused once its slot comes round again; increments racing with that reset can be lost,
+// which is acceptable for a velocity signal.
+public class VelocityWindow {
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final AtomicLongArray epochs;
+    private final AtomicLongArray counts;
+    private final AtomicLongArray sums;
+
+    public VelocityWindow(long windowMillis, int bucketCount) {
+        this.bucketMillis = windowMillis / bucketCount;
+        this.bucketCount = bucketCount;
+        this.epochs = new AtomicLongArray(bucketCount);
+        this.counts = new AtomicLongArray(bucketCount);
+        this.sums = new AtomicLongArray(bucketCount);
+    }
+
+    public void record(long nowMillis, long amountCents) {
+        long epoch = nowMillis / bucketMillis;
+        int slot = (int) (epoch % bucketCount);
+        while (true) {
+            long current = epochs.get(slot);
+            if (current == epoch) {
+                counts.incrementAndGet(slot);
+                sums.addAndGet(slot, amountCents);
+                return;
+            }
+            if (current > epoch) {
+                // The slot already moved on to a later bucket; this late sample falls outside every window
+                return;
+            }
+            if (epochs.compareAndSet(slot, current, epoch)) {
+                counts.set(slot, 1);
+                sums.set(slot, amountCents);
+                return;
+            }
+        }
+    }
+
+    public long count(long nowMillis) {
+        return total(counts, nowMillis);
+    }
+
+    public long sumCents(long nowMillis) {
+        return total(sums, nowMillis);
+    }
+
+    // The window covers the current bucket and the bucketCount - 1 before it
+    private long total(AtomicLongArray values, long nowMillis) {
+        long oldestEpoch = nowMillis / bucketMillis - bucketCount + 1;
+        long total = 0;
+        for (int slot = 0; slot < bucketCount; slot++) {
+            if (epochs.get(slot) >= oldestEpoch) {
+                total += values.get(slot);
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,113 @@
+package com.banking.transactions.service;
+
+import com.banking.transactions.exception.AccountLaneSaturatedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+@Component
+public class AccountLaneExecutor {
+
+    private final Lane[] lanes;
+
+    public AccountLaneExecutor(MeterRegistry meterRegistry,
+                               @Value("${banking.lanes.count:64}") int laneCount,
+                               @Value("${banking.lanes.queue-capacity:1000}") int queueCapacity) {
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            Lane lane = new Lane(i, queueCapacity);
+            lanes[i] = lane;
+            Gauge.builder("transactions.lanes.queue.depth", lane.pending, BlockingQueue::size)
+                    .description("Operations waiting for their account lane")
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+    }
+
+    // Runs the work once every earlier operation on the same account has finished
+    public <T> Mono<T> run(String accountNumber, Supplier<Mono<T>> work) {
+        return laneOf(accountNumber).submit(work);
+    }
+
+    // Holds both accounts' lanes; they are always taken lowest index first, so two transfers cannot wait on each other
+    public <T> Mono<T> run(String firstAccountNumber, String secondAccountNumber, Supplier<Mono<T>> work) {
+        Lane first = laneOf(firstAccountNumber);
+        Lane second = laneOf(secondAccountNumber);
+        if (first == second) {
+            return first.submit(work);
+        }
+        Lane outer = first.index < second.index ? first : second;
+        Lane inner = outer == first ? second : first;
+        return outer.submit(() -> inner.submit(work));
+    }
+
+    int laneIndexOf(String accountNumber) {
+        return laneOf(accountNumber).index;
+    }
+
+    private Lane laneOf(String accountNumber) {
+        return lanes[Math.floorMod(accountNumber.hashCode(), lanes.length)];
+    }
+
+    // Executes one operation at a time without pinning a thread while the operation waits on I/O
+    private static final class Lane {
+        private final int index;
+        private final BlockingQueue<Runnable> pending;
+        private final AtomicBoolean busy = new AtomicBoolean();
+
+        Lane(int index, int queueCapacity) {
+            this.index = index;
+            this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        <T> Mono<T> submit(Supplier<Mono<T>> work) {
+            return Mono.create(sink -> {
+                if (!pending.offer(() -> start(work, sink))) {
+                    sink.error(new AccountLaneSaturatedException("Too many pending operations on account lane " + index));
+                    return;
+                }
+                startNext();
+            });
+        }
+
+        private <T> void start(Supplier<Mono<T>> work, MonoSink<T> sink) {
+            // Caller cancellation does not abort a posting that is already under way
+            Mono.defer(work)
+                    .subscribeOn(Schedulers.parallel())
+                    .materialize()
+                    .subscribe(signal -> {
+                        release();
+                        if (signal.isOnError()) {
+                            sink.error(signal.getThrowable());
+                        } else {
+                            sink.success(signal.get());
+                        }
+                    });
+        }
+
+        private void release() {
+            busy.set(false);
+            startNext();
+        }
+
+        private void startNext() {
+            while (!pending.isEmpty() && busy.compareAndSet(false, true)) {
+                Runnable next = pending.poll();
+                if (next != null) {
+                    next.run();
+                    return;
+                }
+                busy.set(false);
+            }
+        }
+    }
+}
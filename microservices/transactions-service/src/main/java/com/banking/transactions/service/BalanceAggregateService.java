@@ -0,0 +1,162 @@
+package com.banking.transactions.service;
+
+import com.banking.transactions.entity.AccountBalanceBucket;
+import com.banking.transactions.entity.Transaction;
+import com.banking.transactions.repository.AccountBalanceBucketRepository;
+import com.banking.transactions.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keeps daily per-account totals so balance queries read O(days) buckets instead of scanning every transaction
+@Service
+public class BalanceAggregateService implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(BalanceAggregateService.class);
+
+    private final AccountBalanceBucketRepository bucketRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTierRouter tierRouter;
+    private final boolean rebuildOnStartup;
+
+    public BalanceAggregateService(AccountBalanceBucketRepository bucketRepository,
+                                   TransactionRepository transactionRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   TransactionTierRouter tierRouter,
+                                   @Value("${banking.balance-buckets.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.bucketRepository = bucketRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.tierRouter = tierRouter;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    // Must run in the transaction that marks the transactions COMPLETED
+    public void recordCompleted(List<Transaction> transactions) {
+        apply(transactions, BigDecimal.ONE);
+    }
+
+    // Must run in the transaction that moves previously COMPLETED transactions to another status
+    public void recordUncompleted(List<Transaction> transactions) {
+        apply(transactions, BigDecimal.ONE.negate());
+    }
+
+    public BigDecimal getBalance(String accountNumber, LocalDateTime startDate, LocalDateTime endDate) {
+        // Whole days inside [startDate, endDate] come from buckets, the partial edge days from the transactions table
+        LocalDate firstFullDay = startDate.toLocalTime().equals(LocalTime.MIDNIGHT)
+                ? startDate.toLocalDate() : startDate.toLocalDate().plusDays(1);
+        LocalDate lastFullDay = endDate.toLocalTime().equals(LocalTime.MAX)
+                ? endDate.toLocalDate() : endDate.toLocalDate().minusDays(1);
+
+        if (firstFullDay.isAfter(lastFullDay)) {
+            return incomingBetween(accountNumber, startDate, endDate).subtract(outgoingBetween(accountNumber, startDate, endDate));
+        }
+
+        BigDecimal incoming = nullToZero(bucketRepository.sumIncomingAmountByAccountAndDays(accountNumber, firstFullDay, lastFullDay));
+        BigDecimal outgoing = nullToZero(bucketRepository.sumOutgoingAmountByAccountAndDays(accountNumber, firstFullDay, lastFullDay));
+
+        LocalDateTime bucketStart = firstFullDay.atStartOfDay();
+        if (startDate.isBefore(bucketStart)) {
+            incoming = incoming.add(incomingBefore(accountNumber, startDate, bucketStart));
+            outgoing = outgoing.add(outgoingBefore(accountNumber, startDate, bucketStart));
+        }
+
+        LocalDateTime bucketEnd = lastFullDay.plusDays(1).atStartOfDay();
+        if (!endDate.isBefore(bucketEnd)) {
+            incoming = incoming.add(incomingBetween(accountNumber, bucketEnd, endDate));
+            outgoing = outgoing.add(outgoingBetween(accountNumber, bucketEnd, endDate));
+        }
+
+        return incoming.subtract(outgoing);
+    }
+
+    // Recomputes every bucket from the transactions table; concurrent completions wait for it, so none are lost or counted twice
+    public int rebuild() {
+        Integer buckets = transactionTemplate.execute(status -> {
+            bucketRepository.lockForRebuild();
+            bucketRepository.deleteAllBuckets();
+            return tierRouter.isArchiveEnabled()
+                    ? bucketRepository.rebuildFromTransactionsAndArchive()
+                    : bucketRepository.rebuildFromTransactions();
+        });
+        logger.info("Rebuilt {} account balance buckets", buckets);
+        return buckets != null ? buckets : 0;
+    }
+
+    // Runs before the web server starts, so this instance has not completed anything yet
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (rebuildOnStartup || bucketRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    private void apply(List<Transaction> transactions, BigDecimal sign) {
+        // Collapse the batch to one upsert per account and day
+        Map<AccountBalanceBucket.Key, BigDecimal[]> totals = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getTransactionDate() == null) {
+                logger.warn("Transaction {} has no transaction date, not added to balance buckets", transaction.getTransactionId());
+                continue;
+            }
+            LocalDate day = transaction.getTransactionDate().toLocalDate();
+            BigDecimal amount = transaction.getAmount().multiply(sign);
+            if (transaction.getToAccountNumber() != null) {
+                BigDecimal[] credited = totals.computeIfAbsent(new AccountBalanceBucket.Key(transaction.getToAccountNumber(), day), key -> zeroPair());
+                credited[0] = credited[0].add(amount);
+            }
+            if (transaction.getFromAccountNumber() != null) {
+                BigDecimal[] debited = totals.computeIfAbsent(new AccountBalanceBucket.Key(transaction.getFromAccountNumber(), day), key -> zeroPair());
+                debited[1] = debited[1].add(amount);
+            }
+        }
+
+        totals.forEach((key, amounts) ->
+                bucketRepository.accumulate(key.getAccountNumber(), key.getBucketDate(), amounts[0], amounts[1]));
+    }
+
+    private BigDecimal incomingBetween(String accountNumber, LocalDateTime startDate, LocalDateTime endDate) {
+        return nullToZero(tierRouter.includesColdTier(startDate)
+                ? transactionRepository.sumIncomingAmountByAccountAndDateRangeAcrossTiers(accountNumber, startDate, endDate)
+                : transactionRepository.sumIncomingAmountByAccountAndDateRange(accountNumber, startDate, endDate));
+    }
+
+    private BigDecimal outgoingBetween(String accountNumber, LocalDateTime startDate, LocalDateTime endDate) {
+        return nullToZero(tierRouter.includesColdTier(startDate)
+                ? transactionRepository.sumOutgoingAmountByAccountAndDateRangeAcrossTiers(accountNumber, startDate, endDate)
+                : transactionRepository.sumOutgoingAmountByAccountAndDateRange(accountNumber, startDate, endDate));
+    }
+
+    // PostgreSQL timestamps have microsecond resolution, so "before midnight" is "up to one microsecond earlier"
+    private BigDecimal incomingBefore(String accountNumber, LocalDateTime startDate, LocalDateTime endExclusive) {
+        return tierRouter.includesColdTier(startDate)
+                ? incomingBetween(accountNumber, startDate, endExclusive.minus(1, ChronoUnit.MICROS))
+                : nullToZero(transactionRepository.sumIncomingAmountByAccountFromDateBefore(accountNumber, startDate, endExclusive));
+    }
+
+    private BigDecimal outgoingBefore(String accountNumber, LocalDateTime startDate, LocalDateTime endExclusive) {
+        return tierRouter.includesColdTier(startDate)
+                ? outgoingBetween(accountNumber, startDate, endExclusive.minus(1, ChronoUnit.MICROS))
+                : nullToZero(transactionRepository.sumOutgoingAmountByAccountFromDateBefore(accountNumber, startDate, endExclusive));
+    }
+
+    private static BigDecimal[] zeroPair() {
+        return new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO};
+    }
+
+    private static BigDecimal nullToZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,206 @@
+package com.banking.transactions.service;
+
+import com.banking.transactions.cache.AccountDirectory;
+import com.banking.transactions.client.AccountsClient;
+import com.banking.transactions.client.AccountsClient.TransferPostingResult;
+import com.banking.transactions.dto.BulkTransferItemResult;
+import com.banking.transactions.dto.BulkTransferRequest;
+import com.banking.transactions.dto.BulkTransferResponse;
+import com.banking.transactions.dto.TransferRequest;
+import com.banking.transactions.entity.Transaction;
+import com.banking.transactions.entity.TransactionStatus;
+import com.banking.transactions.entity.TransactionType;
+import com.banking.transactions.repository.TransactionBatchRepository;
+import com.banking.transactions.repository.TransactionRepository;
+import com.banking.transactions.service.OutboxService.KeyedEvent;
+import com.banking.transactions.service.TransactionService.TransactionCompletedEvent;
+import com.banking.transactions.service.TransactionService.TransactionFailedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class BulkTransferService {
+    private static final Logger logger = LoggerFactory.getLogger(BulkTransferService.class);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionBatchRepository transactionBatchRepository;
+
+    @Autowired
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AccountsClient accountsClient;
+
+    @Autowired
+    private AccountDirectory accountDirectory;
+
+    @Autowired
+    private BalanceAggregateService balanceAggregateService;
+
+    @Value("${banking.bulk.posting-chunk-size:500}")
+    private int postingChunkSize = 500;
+
+    @Value("${banking.bulk.validation-concurrency:16}")
+    private int validationConcurrency = 16;
+
+    // A batch request is long-running by nature, so this path blocks its caller instead of returning a future.
+    // Items are not scored by RiskScorer: bulk files come from EMPLOYEE/ADMIN only, and a payroll file debits one
+    // account thousands of times, which the per-account velocity windows of a single debit would all hold for review.
+    public BulkTransferResponse bulkTransfer(BulkTransferRequest request) {
+        List<TransferRequest> transfers = request.getTransfers();
+        String batchId = String.format("BAT%019d", transactionIdGenerator.nextId());
+
+        // Validate each distinct account once, not once per item
+        Map<String, String> rejectedAccounts = validateAccounts(transfers);
+
+        LocalDateTime now = LocalDateTime.now();
+        Transaction[] transactionsByIndex = new Transaction[transfers.size()];
+        String[] rejectionsByIndex = new String[transfers.size()];
+        List<Transaction> accepted = new ArrayList<>();
+        for (int i = 0; i < transfers.size(); i++) {
+            TransferRequest transfer = transfers.get(i);
+            String rejection = rejectedAccounts.getOrDefault(transfer.getFromAccountNumber(),
+                    rejectedAccounts.get(transfer.getToAccountNumber()));
+            if (rejection != null) {
+                rejectionsByIndex[i] = rejection;
+                continue;
+            }
+
+            Transaction transaction = new Transaction();
+            transaction.setTransactionId(transactionIdGenerator.nextTransactionId());
+            transaction.setType(TransactionType.TRANSFER);
+            transaction.setAmount(transfer.getAmount());
+            transaction.setCurrency(transfer.getCurrency());
+            transaction.setFromAccountNumber(transfer.getFromAccountNumber());
+            transaction.setToAccountNumber(transfer.getToAccountNumber());
+            transaction.setDescription(transfer.getDescription());
+            transaction.setReference(transfer.getReference());
+            transaction.setStatus(TransactionStatus.PENDING);
+            transaction.setTransactionDate(now);
+            transaction.setBatchId(batchId);
+            transactionsByIndex[i] = transaction;
+            accepted.add(transaction);
+        }
+
+        // Insert all rows; pooled sequence ids let Hibernate send them as JDBC batches
+        transactionTemplate.executeWithoutResult(status -> transactionRepository.saveAll(accepted));
+
+        // Post balance movements in grouped calls, then record known outcomes and their events in one transaction
+        List<Transaction> settled = applyPostingResults(accepted, postInChunks(accepted));
+        if (!settled.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                transactionBatchRepository.updateStatuses(settled);
+                balanceAggregateService.recordCompleted(settled.stream().filter(Transaction::isCompleted).toList());
+                outboxService.enqueueAll("transaction-events", toEvents(settled));
+            });
+        }
+
+        List<BulkTransferItemResult> results = new ArrayList<>(transfers.size());
+        for (int i = 0; i < transfers.size(); i++) {
+            Transaction transaction = transactionsByIndex[i];
+            results.add(transaction != null
+                    ? new BulkTransferItemResult(i, transaction.getTransactionId(), transaction.getStatus(), transaction.getStatusReason())
+                    : new BulkTransferItemResult(i, null, TransactionStatus.FAILED, rejectionsByIndex[i]));
+        }
+
+        BulkTransferResponse response = new BulkTransferResponse(batchId, results);
+        logger.info("Bulk transfer {} processed: {} completed, {} failed, {} pending", batchId,
+                response.getCompleted(), response.getFailed(), response.getPending());
+        return response;
+    }
+
+    private Map<String, String> validateAccounts(List<TransferRequest> transfers) {
+        Set<String> accountNumbers = new LinkedHashSet<>();
+        for (TransferRequest transfer : transfers) {
+            accountNumbers.add(transfer.getFromAccountNumber());
+            accountNumbers.add(transfer.getToAccountNumber());
+        }
+
+        return Flux.fromIterable(accountNumbers)
+                .flatMap(accountNumber -> accountDirectory.lookup(accountNumber)
+                        .map(account -> account.isActive() ? "" : "Account is not active: " + accountNumber)
+                        .onErrorResume(e -> Mono.just(e.getMessage()))
+                        .filter(reason -> !reason.isEmpty())
+                        .map(reason -> Map.entry(accountNumber, reason)), validationConcurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .block();
+    }
+
+    // Not routed through AccountLaneExecutor: a chunk spans hundreds of accounts and would block every lane they map to.
+    // Chunks are posted one after another so debits hit each account in request order, and accounts-service applies each
+    // posting under the account row lock; a single transfer racing the batch on the same account lands on either side of it.
+    private Map<String, TransferPostingResult> postInChunks(List<Transaction> transactions) {
+        Map<String, TransferPostingResult> outcomes = new HashMap<>();
+        for (int from = 0; from < transactions.size(); from += postingChunkSize) {
+            List<Transaction> chunk = transactions.subList(from, Math.min(from + postingChunkSize, transactions.size()));
+            try {
+                for (TransferPostingResult result : accountsClient.postTransfers(chunk).block()) {
+                    outcomes.put(result.getTransactionId(), result);
+                }
+            } catch (RuntimeException e) {
+                // A timeout or lost response says nothing about what accounts-service committed, so no outcome is recorded
+                logger.error("Outcome of bulk transfer chunk of {} items unknown, left PENDING: {}", chunk.size(), e.getMessage());
+            }
+        }
+        return outcomes;
+    }
+
+    // Items without a posting result stay PENDING for PendingTransactionReconciler, which checks the ledger
+    private List<Transaction> applyPostingResults(List<Transaction> transactions, Map<String, TransferPostingResult> outcomes) {
+        LocalDateTime processedDate = LocalDateTime.now();
+        List<Transaction> settled = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            TransferPostingResult outcome = outcomes.get(transaction.getTransactionId());
+            if (outcome == null) {
+                continue;
+            }
+            if (outcome.isPosted()) {
+                transaction.setStatus(TransactionStatus.COMPLETED);
+            } else {
+                transaction.setStatus(TransactionStatus.FAILED);
+                transaction.setStatusReason(outcome.getReason());
+            }
+            transaction.setProcessedDate(processedDate);
+            settled.add(transaction);
+        }
+        return settled;
+    }
+
+    private List<KeyedEvent> toEvents(List<Transaction> transactions) {
+        List<KeyedEvent> events = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            Object event = transaction.getStatus() == TransactionStatus.COMPLETED
+                    ? new TransactionCompletedEvent(transaction.getId(), transaction.getTransactionId(),
+                            transaction.getType().name(), transaction.getAmount(), transaction.getFromAccountNumber(),
+                            transaction.getToAccountNumber(), transaction.getProcessedDate())
+                    : new TransactionFailedEvent(transaction.getId(), transaction.getTransactionId(),
+                            transaction.getType().name(), transaction.getAmount(), transaction.getStatusReason(),
+                            transaction.getProcessedDate());
+            events.add(new KeyedEvent(transaction.getTransactionId(), TransactionService.partitionKey(transaction), event));
+        }
+        return events;
+    }
+}
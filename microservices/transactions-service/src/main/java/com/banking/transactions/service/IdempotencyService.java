@@ -0,0 +1,199 @@
+package com.banking.transactions.service;
+
+import com.banking.transactions.dto.TransactionDto;
+import com.banking.transactions.entity.IdempotencyRecord;
+import com.banking.transactions.exception.IdempotencyKeyInProgressException;
+import com.banking.transactions.exception.IdempotencyKeyMismatchException;
+import com.banking.transactions.exception.TransactionNotFoundException;
+import com.banking.transactions.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+@Service
+public class IdempotencyService {
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionService transactionService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+
+    // Fast in-memory front for completed keys, by scoped key; the idempotency_keys table is the source of truth
+    private final Cache<String, CompletedRequest> completedRequests;
+    private final Counter replayCounter;
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              TransactionService transactionService,
+                              TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${banking.idempotency.maximum-size:100000}") long maximumSize,
+                              @Value("${banking.idempotency.retention:24h}") Duration retention) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionService = transactionService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        this.completedRequests = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(retention)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, completedRequests, "idempotency-keys");
+        this.replayCounter = Counter.builder("transactions.idempotency.replays")
+                .description("Duplicate requests answered from the idempotency store")
+                .register(meterRegistry);
+    }
+
+    // Keys are only unique per caller: the same Idempotency-Key from two principals names two different requests
+    public CompletableFuture<TransactionDto> execute(String principal, String idempotencyKey, String operation, Object request,
+                                                     Supplier<CompletableFuture<TransactionDto>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return CompletableFuture.failedFuture(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters"));
+        }
+
+        String scopedKey = scopedKey(principal, idempotencyKey);
+        String requestHash = hash(operation, request);
+        CompletedRequest completed = completedRequests.getIfPresent(scopedKey);
+        if (completed != null) {
+            return onDbScheduler(() -> replay(idempotencyKey, requestHash, completed)).toFuture();
+        }
+
+        // Only the request that wins the reservation executes; duplicates read the stored outcome
+        return onDbScheduler(() -> transactionTemplate.execute(status ->
+                        idempotencyRecordRepository.reserve(scopedKey, operation, requestHash, LocalDateTime.now())))
+                .flatMap(reserved -> reserved == 1
+                        ? executeFirst(scopedKey, requestHash, action)
+                        : onDbScheduler(() -> loadDuplicate(scopedKey, idempotencyKey, requestHash)))
+                .toFuture();
+    }
+
+    // Fixed-length digest, so any principal and any key up to MAX_KEY_LENGTH fit the idempotency_key column
+    static String scopedKey(String principal, String idempotencyKey) {
+        MessageDigest digest = sha256();
+        digest.update((principal != null ? principal : "").getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(idempotencyKey.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @Scheduled(fixedDelayString = "${banking.idempotency.cleanup-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        Integer purged = transactionTemplate.execute(status ->
+                idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention)));
+        if (purged != null && purged > 0) {
+            logger.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private Mono<TransactionDto> executeFirst(String scopedKey, String requestHash,
+                                              Supplier<CompletableFuture<TransactionDto>> action) {
+        return Mono.fromFuture(action)
+                // The request was rejected before anything was recorded: free the key so a retry can run again
+                .onErrorResume(e -> onDbScheduler(() -> {
+                    transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.deleteById(scopedKey));
+                    return scopedKey;
+                }).then(Mono.error(e)))
+                .flatMap(transaction -> onDbScheduler(() -> {
+                    transactionTemplate.execute(status -> idempotencyRecordRepository.complete(
+                            scopedKey, transaction.getTransactionId(), LocalDateTime.now()));
+                    completedRequests.put(scopedKey, new CompletedRequest(requestHash, transaction.getTransactionId()));
+                    return transaction;
+                }));
+    }
+
+    private TransactionDto loadDuplicate(String scopedKey, String idempotencyKey, String requestHash) {
+        IdempotencyRecord record = idempotencyRecordRepository.findById(scopedKey)
+                .orElseThrow(() -> new IdempotencyKeyInProgressException("Request with this Idempotency-Key is being retried, try again"));
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException("Idempotency-Key was already used for a different request");
+        }
+        // A key whose owner crashed stays in progress until purged, rather than risking a second posting
+        if (record.getTransactionId() == null) {
+            throw new IdempotencyKeyInProgressException("Request with this Idempotency-Key is still being processed");
+        }
+
+        CompletedRequest completed = new CompletedRequest(requestHash, record.getTransactionId());
+        completedRequests.put(scopedKey, completed);
+        return replay(idempotencyKey, requestHash, completed);
+    }
+
+    // The transaction is read again rather than cached: an async first response was still PENDING
+    private TransactionDto replay(String idempotencyKey, String requestHash, CompletedRequest completed) {
+        if (!completed.requestHash.equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException("Idempotency-Key was already used for a different request");
+        }
+        TransactionDto transaction = transactionService.getTransactionByTransactionId(completed.transactionId)
+                .orElseThrow(() -> new TransactionNotFoundException("Transaction not found: " + completed.transactionId));
+        replayCounter.increment();
+        logger.info("Replaying transaction {} for Idempotency-Key {}", completed.transactionId, idempotencyKey);
+        return transaction;
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            MessageDigest digest = sha256();
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to hash request: " + e.getMessage(), e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private <T> Mono<T> onDbScheduler(Callable<T> work) {
+        return Mono.fromCallable(work).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static class CompletedRequest {
+        private final String requestHash;
+        private final String transactionId;
+
+        CompletedRequest(String requestHash, String transactionId) {
+            this.requestHash = requestHash;
+            this.transactionId = transactionId;
+        }
+    }
+}
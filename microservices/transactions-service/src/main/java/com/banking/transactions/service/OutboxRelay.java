@@ -0,0 +1,113 @@
+package com.banking.transactions.service;
+
+import com.banking.transactions.entity.OutboxEvent;
+import com.banking.transactions.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class OutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final long RELAY_LOCK_KEY = 0x6F7574626F78L; // "outbox"
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, byte[]> outboxKafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Timer batchTimer;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       @Qualifier("outboxKafkaTemplate") KafkaTemplate<String, byte[]> outboxKafkaTemplate,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${banking.outbox.batch-size:500}") int batchSize,
+                       @Value("${banking.outbox.send-timeout:30s}") Duration sendTimeout) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxKafkaTemplate = outboxKafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+
+        TimeGauge.builder("outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest event waiting in the outbox at the last relay run")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("outbox.published")
+                .description("Events relayed from the outbox to Kafka")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Time taken to relay one outbox batch")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${banking.outbox.linger-ms:100}")
+    public void relay() {
+        try {
+            // Keep draining while batches come back full
+            int relayed;
+            do {
+                relayed = batchTimer.record(() -> transactionTemplate.execute(status -> relayBatch()));
+            } while (relayed == batchSize);
+        } catch (Exception e) {
+            logger.error("Failed to relay outbox events: {}", e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        if (!outboxEventRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+            return 0;
+        }
+
+        List<OutboxEvent> batch = outboxEventRepository.findNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        lagMillis.set(Duration.between(batch.get(0).getCreatedAt(), LocalDateTime.now()).toMillis());
+
+        // Sends are issued in id order on one producer, so per-partition order is preserved
+        CompletableFuture<?>[] sends = batch.stream()
+                .map(event -> outboxKafkaTemplate.send(event.getTopic(), event.getPartitionKey(), wireValue(event)))
+                .toArray(CompletableFuture[]::new);
+
+        try {
+            CompletableFuture.allOf(sends).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // Rolls back: rows stay in the outbox and are retried on the next run
+            throw new IllegalStateException("Kafka did not acknowledge outbox batch: " + e.getMessage(), e);
+        }
+
+        outboxEventRepository.deleteAllInBatch(batch);
+        publishedCounter.increment(batch.size());
+        return batch.size();
+    }
+
+    private static byte[] wireValue(OutboxEvent event) {
+        return OutboxEvent.FORMAT_BINARY.equals(event.getPayloadFormat())
+                ? Base64.getDecoder().decode(event.getPayload())
+                : event.getPayload().getBytes(StandardCharsets.UTF_8);
+    }
+}
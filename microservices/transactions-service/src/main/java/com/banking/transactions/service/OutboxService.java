@@ -0,0 +1,103 @@
+package com.banking.transactions.service;
+
+import com.banking.events.BinaryEventCodec;
+import com.banking.events.EventSchema;
+import com.banking.transactions.entity.OutboxEvent;
+import com.banking.transactions.event.EventSchemas;
+import com.banking.transactions.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // "binary" once every consumer reads BinaryEventCodec frames; events without a schema stay JSON either way
+    @Value("${banking.events.format:json}")
+    private String eventFormat;
+
+    // Must join the caller's transaction so the event commits or rolls back with the business row
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String topic, String aggregateId, String partitionKey, Object event) {
+        outboxEventRepository.save(toOutboxEvent(topic, new KeyedEvent(aggregateId, partitionKey, event)));
+    }
+
+    // Bulk variant: one JDBC batch instead of one IDENTITY insert per event
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(String topic, List<KeyedEvent> events) {
+        List<OutboxEvent> outboxEvents = new ArrayList<>(events.size());
+        events.forEach(event -> outboxEvents.add(toOutboxEvent(topic, event)));
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO outbox_events (topic, aggregate_id, partition_key, event_type, payload, payload_format, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                outboxEvents, outboxEvents.size(), (ps, outboxEvent) -> {
+                    ps.setString(1, outboxEvent.getTopic());
+                    ps.setString(2, outboxEvent.getAggregateId());
+                    ps.setString(3, outboxEvent.getPartitionKey());
+                    ps.setString(4, outboxEvent.getEventType());
+                    ps.setString(5, outboxEvent.getPayload());
+                    ps.setString(6, outboxEvent.getPayloadFormat());
+                    ps.setTimestamp(7, Timestamp.valueOf(outboxEvent.getCreatedAt()));
+                });
+    }
+
+    private OutboxEvent toOutboxEvent(String topic, KeyedEvent keyedEvent) {
+        Object event = keyedEvent.getEvent();
+        EventSchema<?> schema = OutboxEvent.FORMAT_BINARY.equals(eventFormat)
+                ? EventSchemas.REGISTRY.forEvent(event.getClass()) : null;
+        try {
+            String payload = schema != null ? encodeBinary(schema, event) : objectMapper.writeValueAsString(event);
+            OutboxEvent outboxEvent = new OutboxEvent(topic, keyedEvent.getAggregateId(), keyedEvent.getPartitionKey(),
+                    event.getClass().getSimpleName(), payload);
+            if (schema != null) {
+                outboxEvent.setPayloadFormat(OutboxEvent.FORMAT_BINARY);
+            }
+            return outboxEvent;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox event: " + e.getMessage(), e);
+        }
+    }
+
+    // The payload column is text, so binary frames are stored Base64-encoded and decoded again by the relay
+    private static <T> String encodeBinary(EventSchema<T> schema, Object event) {
+        return Base64.getEncoder().encodeToString(BinaryEventCodec.encode(schema, schema.getEventClass().cast(event)));
+    }
+
+    // An event with the aggregate it belongs to and the key that decides its partition
+    public static class KeyedEvent {
+        private final String aggregateId;
+        private final String partitionKey;
+        private final Object event;
+
+        public KeyedEvent(String aggregateId, String partitionKey, Object event) {
+            this.aggregateId = aggregateId;
+            this.partitionKey = partitionKey;
+            this.event = event;
+        }
+
+        public String getAggregateId() { return aggregateId; }
+
+        public String getPartitionKey() { return partitionKey; }
+
+        public Object getEvent() { return event; }
+    }
+}
@@ -0,0 +1,134 @@
+package com.banking.transactions.service;
+
+import com.banking.transactions.client.AccountsClient;
+import com.banking.transactions.entity.Transaction;
+import com.banking.transactions.entity.TransactionStatus;
+import com.banking.transactions.repository.TransactionRepository;
+import com.banking.transactions.service.OutboxService.KeyedEvent;
+import com.banking.transactions.service.TransactionService.TransactionCompletedEvent;
+import com.banking.transactions.service.TransactionService.TransactionFailedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Resolves transactions left PENDING, or released from review and left PROCESSING, by a crash or lost response,
+// using the ledger in accounts-service as the source of truth
+@Component
+public class PendingTransactionReconciler {
+    private static final Logger logger = LoggerFactory.getLogger(PendingTransactionReconciler.class);
+
+    static final String NOT_POSTED_REASON = "Not posted in accounts-service";
+
+    private final TransactionRepository transactionRepository;
+    private final AccountsClient accountsClient;
+    private final OutboxService outboxService;
+    private final BalanceAggregateService balanceAggregateService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration staleAfter;
+    private final int batchSize;
+    private final Duration lookupTimeout;
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+
+    public PendingTransactionReconciler(TransactionRepository transactionRepository,
+                                        AccountsClient accountsClient,
+                                        OutboxService outboxService,
+                                        BalanceAggregateService balanceAggregateService,
+                                        TransactionTemplate transactionTemplate,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${banking.reconciler.stale-after:10m}") Duration staleAfter,
+                                        @Value("${banking.reconciler.batch-size:200}") int batchSize,
+                                        @Value("${banking.reconciler.lookup-timeout:10s}") Duration lookupTimeout) {
+        this.transactionRepository = transactionRepository;
+        this.accountsClient = accountsClient;
+        this.outboxService = outboxService;
+        this.balanceAggregateService = balanceAggregateService;
+        this.transactionTemplate = transactionTemplate;
+        this.staleAfter = staleAfter;
+        this.batchSize = batchSize;
+        this.lookupTimeout = lookupTimeout;
+        Gauge.builder("transactions.reconciler.backlog", backlog, AtomicLong::get)
+                .description("Stale PENDING transactions seen at the start of the last reconciler run")
+                .register(meterRegistry);
+        this.completedCounter = Counter.builder("transactions.reconciler.resolved")
+                .description("Stale PENDING transactions resolved by the reconciler")
+                .tag("outcome", "completed")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("transactions.reconciler.resolved")
+                .description("Stale PENDING transactions resolved by the reconciler")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${banking.reconciler.interval-ms:60000}")
+    public void reconcile() {
+        // staleAfter must stay well above the posting timeouts, or an in-flight posting could be failed here
+        LocalDateTime cutoff = LocalDateTime.now().minus(staleAfter);
+        try {
+            backlog.set(transactionRepository.countStalePending(cutoff));
+            int claimed;
+            do {
+                claimed = transactionTemplate.execute(status -> reconcileBatch(cutoff));
+            } while (claimed == batchSize);
+        } catch (Exception e) {
+            logger.error("Failed to reconcile pending transactions: {}", e.getMessage());
+        }
+    }
+
+    // One transaction per batch: the row locks are held until the outcomes and their events are written
+    private int reconcileBatch(LocalDateTime cutoff) {
+        List<Transaction> claimed = transactionRepository.claimStalePending(cutoff, batchSize);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<String> transactionIds = claimed.stream().map(Transaction::getTransactionId).toList();
+        Set<String> posted = new HashSet<>(accountsClient.findPostedTransactionIds(transactionIds).block(lookupTimeout));
+
+        LocalDateTime processedDate = LocalDateTime.now();
+        List<Transaction> completed = new ArrayList<>();
+        List<KeyedEvent> events = new ArrayList<>(claimed.size());
+        for (Transaction transaction : claimed) {
+            transaction.setProcessedDate(processedDate);
+            if (posted.contains(transaction.getTransactionId())) {
+                transaction.setStatus(TransactionStatus.COMPLETED);
+                completed.add(transaction);
+                events.add(new KeyedEvent(transaction.getTransactionId(), TransactionService.partitionKey(transaction),
+                        new TransactionCompletedEvent(transaction.getId(), transaction.getTransactionId(),
+                                transaction.getType().name(), transaction.getAmount(),
+                                transaction.getFromAccountNumber(), transaction.getToAccountNumber(), processedDate)));
+            } else {
+                transaction.setStatus(TransactionStatus.FAILED);
+                transaction.setStatusReason(NOT_POSTED_REASON);
+                events.add(new KeyedEvent(transaction.getTransactionId(), TransactionService.partitionKey(transaction),
+                        new TransactionFailedEvent(transaction.getId(), transaction.getTransactionId(),
+                                transaction.getType().name(), transaction.getAmount(), NOT_POSTED_REASON, processedDate)));
+            }
+        }
+
+        transactionRepository.saveAll(claimed);
+        balanceAggregateService.recordCompleted(completed);
+        outboxService.enqueueAll("transaction-events", events);
+
+        completedCounter.increment(completed.size());
+        failedCounter.increment(claimed.size() - completed.size());
+        logger.info("Reconciled {} pending transactions: {} completed, {} failed",
+                claimed.size(), completed.size(), claimed.size() - completed.size());
+        return claimed.size();
+    }
+}
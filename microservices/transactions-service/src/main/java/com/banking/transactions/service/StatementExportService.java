@@ -0,0 +1,159 @@
+package com.banking.transactions.service;
+
+import com.banking.transactions.dto.StatementFormat;
+import com.banking.transactions.entity.Transaction;
+import com.banking.transactions.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@Service
+public class StatementExportService {
+    private static final Logger logger = LoggerFactory.getLogger(StatementExportService.class);
+
+    private static final String CSV_HEADER =
+            "transactionId,transactionDate,type,status,direction,amount,currency,counterparty,description,reference";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTierRouter tierRouter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Rows are written as they come off the cursor and detached right after, so heap use does not grow with the statement
+    @Transactional(readOnly = true)
+    public long export(String accountNumber, LocalDateTime startDate, LocalDateTime endDate,
+                       StatementFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        JsonGenerator generator = null;
+        if (format == StatementFormat.NDJSON) {
+            // Objects are separated by the newline written after each one, not by Jackson's default space
+            generator = objectMapper.getFactory().createGenerator(writer).setRootValueSeparator(null);
+        } else {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long rows = 0;
+        try (Stream<Transaction> transactions = tierRouter.includesColdTier(startDate)
+                ? transactionRepository.streamByAccountNumberAndDateRangeAcrossTiers(accountNumber, startDate, endDate)
+                : transactionRepository.streamByAccountNumberAndDateRange(accountNumber, startDate, endDate)) {
+            for (Transaction transaction : (Iterable<Transaction>) transactions::iterator) {
+                StatementLine line = new StatementLine(accountNumber, transaction);
+                if (generator != null) {
+                    writeJson(generator, line);
+                } else {
+                    writeCsv(writer, line);
+                }
+                entityManager.detach(transaction);
+                rows++;
+            }
+        }
+
+        if (generator != null) {
+            generator.flush();
+        }
+        writer.flush();
+        logger.info("Exported {} statement rows for account {} as {}", rows, accountNumber, format);
+        return rows;
+    }
+
+    private void writeCsv(Writer writer, StatementLine line) throws IOException {
+        writer.write(csv(line.transactionId));
+        writer.write(',');
+        writer.write(csv(line.transactionDate));
+        writer.write(',');
+        writer.write(csv(line.type));
+        writer.write(',');
+        writer.write(csv(line.status));
+        writer.write(',');
+        writer.write(line.direction);
+        writer.write(',');
+        writer.write(csv(line.amount));
+        writer.write(',');
+        writer.write(csv(line.currency));
+        writer.write(',');
+        writer.write(csv(line.counterparty));
+        writer.write(',');
+        writer.write(csv(line.description));
+        writer.write(',');
+        writer.write(csv(line.reference));
+        writer.write('\n');
+    }
+
+    private void writeJson(JsonGenerator generator, StatementLine line) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("transactionId", line.transactionId);
+        generator.writeStringField("transactionDate", line.transactionDate);
+        generator.writeStringField("type", line.type);
+        generator.writeStringField("status", line.status);
+        generator.writeStringField("direction", line.direction);
+        generator.writeStringField("amount", line.amount);
+        generator.writeStringField("currency", line.currency);
+        generator.writeStringField("counterparty", line.counterparty);
+        generator.writeStringField("description", line.description);
+        generator.writeStringField("reference", line.reference);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // One statement row, seen from the exported account
+    private static class StatementLine {
+        private final String transactionId;
+        private final String transactionDate;
+        private final String type;
+        private final String status;
+        private final String direction;
+        private final String amount;
+        private final String currency;
+        private final String counterparty;
+        private final String description;
+        private final String reference;
+
+        StatementLine(String accountNumber, Transaction transaction) {
+            boolean outgoing = accountNumber.equals(transaction.getFromAccountNumber());
+            this.transactionId = transaction.getTransactionId();
+            this.transactionDate = Objects.toString(transaction.getTransactionDate(), null);
+            this.type = Objects.toString(transaction.getType(), null);
+            this.status = Objects.toString(transaction.getStatus(), null);
+            this.direction = outgoing ? "DEBIT" : "CREDIT";
+            this.amount = transaction.getAmount() != null ? transaction.getAmount().toPlainString() : null;
+            this.currency = transaction.getCurrency();
+            this.counterparty = outgoing ? transaction.getToAccountNumber() : transaction.getFromAccountNumber();
+            this.description = transaction.getDescription();
+            this.reference = transaction.getReference();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.banking.transactions.service;
+
+import com.banking.transactions.repository.TransactionPartitionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+
+// Keeps monthly partitions ahead of the calendar and moves closed months older than the hot window to transactions_archive
+@Component
+public class TransactionArchiver {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchiver.class);
+
+    private static final long ARCHIVE_LOCK_KEY = 0x61726368697665L; // "archive"
+
+    private final TransactionPartitionRepository partitionRepository;
+    private final TransactionTierRouter tierRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitionsAhead;
+    private final Counter archivedCounter;
+
+    public TransactionArchiver(TransactionPartitionRepository partitionRepository,
+                               TransactionTierRouter tierRouter,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${banking.archive.partitions-ahead:3}") int partitionsAhead) {
+        this.partitionRepository = partitionRepository;
+        this.tierRouter = tierRouter;
+        this.transactionTemplate = transactionTemplate;
+        this.partitionsAhead = partitionsAhead;
+        this.archivedCounter = Counter.builder("transactions.archive.rows")
+                .description("Transactions moved from the partitioned table to transactions_archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${banking.archive.cron:0 30 2 * * *}")
+    public void maintainPartitions() {
+        if (!tierRouter.isArchiveEnabled()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!partitionRepository.tryMaintenanceLock(ARCHIVE_LOCK_KEY)) {
+                    return;
+                }
+                if (!partitionRepository.isPartitioned()) {
+                    logger.warn("Archiving is enabled but transactions is not partitioned; run db/transactions-partitioning.sql first");
+                    return;
+                }
+                YearMonth current = YearMonth.now();
+                for (int ahead = 0; ahead <= partitionsAhead; ahead++) {
+                    partitionRepository.createMonthlyPartition(current.plusMonths(ahead));
+                }
+            });
+
+            // Month by month, outside a transaction: a failure leaves earlier months archived
+            YearMonth firstHotMonth = tierRouter.firstHotMonth();
+            for (YearMonth month : partitionRepository.findMonthlyPartitions()) {
+                if (!month.isBefore(firstHotMonth)) {
+                    break;
+                }
+                Integer archived = partitionRepository.archiveMonthlyPartition(month, ARCHIVE_LOCK_KEY);
+                if (archived == null) {
+                    return;
+                }
+                archivedCounter.increment(archived);
+                logger.info("Archived {} transactions from {}", archived, month);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to maintain transaction partitions: {}", e.getMessage());
+        }
+    }
+}
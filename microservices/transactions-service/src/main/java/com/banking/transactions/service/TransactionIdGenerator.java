@@ -0,0 +1,61 @@
+package com.banking.transactions.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Snowflake-style ids: 41 bits of milliseconds since 2024-01-01, 10 bits of worker id, 12 bits of sequence.
+// Rendered as fixed-width decimals so string order follows creation time.
+@Component
+public class TransactionIdGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionIdGenerator.class);
+
+    static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+    static final int WORKER_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_WORKER_ID = (1L << WORKER_BITS) - 1;
+
+    private final long workerId;
+
+    // Packed (timestamp << SEQUENCE_BITS | sequence) of the last id handed out
+    private final AtomicLong lastState = new AtomicLong();
+
+    public TransactionIdGenerator(@Value("${banking.transactions.worker-id:-1}") long configuredWorkerId) {
+        // Uniqueness rests on no two running instances sharing a worker id, so there is no derived fallback
+        if (configuredWorkerId < 0) {
+            throw new IllegalStateException("banking.transactions.worker-id (TRANSACTIONS_WORKER_ID) must be set to a " +
+                    "worker id unique to this instance, between 0 and " + MAX_WORKER_ID);
+        }
+        if (configuredWorkerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("Worker id must be between 0 and " + MAX_WORKER_ID + ": " + configuredWorkerId);
+        }
+        this.workerId = configuredWorkerId;
+        logger.info("Transaction id generator using worker id {}", workerId);
+    }
+
+    public String nextTransactionId() {
+        return String.format("TXN%019d", nextId());
+    }
+
+    public long nextId() {
+        long now = System.currentTimeMillis() - EPOCH;
+        while (true) {
+            long last = lastState.get();
+            // A new millisecond resets the sequence; otherwise (same millisecond or clock moved back)
+            // keep counting from the last state, spilling into the next millisecond on overflow
+            long next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if (lastState.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                return (timestamp << (WORKER_BITS + SEQUENCE_BITS)) | (workerId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    public long getWorkerId() {
+        return workerId;
+    }
+}
@@ -1,38 +1,58 @@
 package com.banking.transactions.service;
 
+import com.banking.transactions.cache.AccountDirectory;
+import com.banking.transactions.client.AccountsClient;
 import com.banking.transactions.dto.*;
 import com.banking.transactions.entity.Transaction;
 import com.banking.transactions.entity.TransactionStatus;
 import com.banking.transactions.entity.TransactionType;
-import com.banking.transactions.exception.AccountNotFoundException;
-import com.banking.transactions.exception.InsufficientFundsException;
+import com.banking.transactions.exception.InvalidTransactionStateException;
 import com.banking.transactions.exception.TransactionNotFoundException;
 import com.banking.transactions.mapper.TransactionMapper;
 import com.banking.transactions.repository.TransactionRepository;
+import com.banking.transactions.risk.RiskAssessment;
+import com.banking.transactions.risk.RiskScorer;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 @Service
 @Transactional
 public class TransactionService {
     private static final Logger logger = LoggerFactory.getLogger(TransactionService.class);
 
+    private static final int MAX_SLICE_SIZE = 100;
+    private static final Comparator<TransactionDto> HISTORY_ORDER =
+            Comparator.comparing(TransactionDto::getTransactionDate).thenComparing(TransactionDto::getId).reversed();
+
     @Autowired
     private TransactionRepository transactionRepository;
 
@@ -40,133 +60,191 @@ public class TransactionService {
     private TransactionMapper transactionMapper;
 
     @Autowired
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private TransactionIdGenerator transactionIdGenerator;
 
     @Autowired
-    private WebClient.Builder webClientBuilder;
+    private OutboxService outboxService;
 
-    @CircuitBreaker(name = "transaction-service", fallbackMethod = "transferFallback")
-    @Retry(name = "transaction-service")
-    public TransactionDto transfer(TransferRequest request) {
-        // Validate accounts exist and have sufficient funds
-        validateTransferRequest(request);
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
-        // Create transaction
-        Transaction transaction = new Transaction();
-        transaction.setTransactionId(generateTransactionId());
-        transaction.setType(TransactionType.TRANSFER);
-        transaction.setAmount(request.getAmount());
-        transaction.setCurrency(request.getCurrency());
-        transaction.setFromAccountNumber(request.getFromAccountNumber());
-        transaction.setToAccountNumber(request.getToAccountNumber());
-        transaction.setDescription(request.getDescription());
-        transaction.setReference(request.getReference());
-        transaction.setStatus(TransactionStatus.PENDING);
+    @Autowired
+    private AccountsClient accountsClient;
 
-        Transaction savedTransaction = transactionRepository.save(transaction);
+    @Autowired
+    private AccountDirectory accountDirectory;
 
-        // Process the transfer asynchronously
-        processTransfer(savedTransaction);
+    @Autowired
+    private AccountLaneExecutor accountLaneExecutor;
 
-        return transactionMapper.toDto(savedTransaction);
+    @Autowired
+    private BalanceAggregateService balanceAggregateService;
+
+    @Autowired
+    private TransactionTierRouter tierRouter;
+
+    @Autowired
+    private RiskScorer riskScorer;
+
+    @Autowired
+    private TransactionStatusNotifier statusNotifier;
+
+    @Autowired
+    private Scheduler transactionProcessingScheduler;
+
+    @Value("${banking.async.status-poll-interval:2s}")
+    private Duration statusPollInterval = Duration.ofSeconds(2);
+
+    @Value("${banking.async.stream-timeout:25s}")
+    private Duration statusStreamTimeout = Duration.ofSeconds(25);
+
+    @CircuitBreaker(name = "transaction-service", fallbackMethod = "transferFallback")
+    @Retry(name = "transaction-service")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<TransactionDto> transfer(TransferRequest request) {
+        // Validate accounts exist and have sufficient funds
+        return validateTransferRequest(request)
+                .then(onDbScheduler(() -> transactionRepository.save(newTransfer(request))))
+                // Process the transfer without holding the calling thread
+                .flatMap(transaction -> screen(transaction, this::processTransfer))
+                .doOnNext(statusNotifier::publish)
+                .map(transactionMapper::toDto)
+                .toFuture();
+    }
+
+    // Async mode: only the PENDING insert happens before the caller gets its answer
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<TransactionDto> submitTransfer(TransferRequest request) {
+        return onDbScheduler(() -> transactionRepository.save(newTransfer(request)))
+                .doOnNext(transaction -> processInBackground(transaction, "transfer", validateTransferRequest(request),
+                        pending -> screen(pending, this::processTransfer)))
+                .map(transactionMapper::toDto)
+                .toFuture();
     }
 
-    public TransactionDto transferFallback(TransferRequest request, Exception ex) {
+    public CompletableFuture<TransactionDto> transferFallback(TransferRequest request, Exception ex) {
         logger.error("Failed to process transfer: {}", ex.getMessage());
-        throw new RuntimeException("Transfer service is currently unavailable");
+        return CompletableFuture.failedFuture(new RuntimeException("Transfer service is currently unavailable"));
     }
 
     @CircuitBreaker(name = "transaction-service", fallbackMethod = "depositFallback")
     @Retry(name = "transaction-service")
-    public TransactionDto deposit(DepositRequest request) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<TransactionDto> deposit(DepositRequest request) {
         // Validate account exists
-        validateAccountExists(request.getAccountNumber());
-
-        // Create transaction
-        Transaction transaction = new Transaction();
-        transaction.setTransactionId(generateTransactionId());
-        transaction.setType(TransactionType.DEPOSIT);
-        transaction.setAmount(request.getAmount());
-        transaction.setCurrency(request.getCurrency());
-        transaction.setToAccountNumber(request.getAccountNumber());
-        transaction.setDescription(request.getDescription());
-        transaction.setReference(request.getReference());
-        transaction.setMerchantName(request.getMerchantName());
-        transaction.setLocation(request.getLocation());
-        transaction.setStatus(TransactionStatus.PENDING);
-
-        Transaction savedTransaction = transactionRepository.save(transaction);
-
-        // Process the deposit
-        processDeposit(savedTransaction);
+        return validateAccountExists(request.getAccountNumber())
+                .then(onDbScheduler(() -> transactionRepository.save(newDeposit(request))))
+                // Process the deposit
+                .flatMap(this::processDeposit)
+                .doOnNext(statusNotifier::publish)
+                .map(transactionMapper::toDto)
+                .toFuture();
+    }
 
-        return transactionMapper.toDto(savedTransaction);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<TransactionDto> submitDeposit(DepositRequest request) {
+        return onDbScheduler(() -> transactionRepository.save(newDeposit(request)))
+                .doOnNext(transaction -> processInBackground(transaction, "deposit",
+                        validateAccountExists(request.getAccountNumber()), this::processDeposit))
+                .map(transactionMapper::toDto)
+                .toFuture();
     }
 
-    public TransactionDto depositFallback(DepositRequest request, Exception ex) {
+    public CompletableFuture<TransactionDto> depositFallback(DepositRequest request, Exception ex) {
         logger.error("Failed to process deposit: {}", ex.getMessage());
-        throw new RuntimeException("Deposit service is currently unavailable");
+        return CompletableFuture.failedFuture(new RuntimeException("Deposit service is currently unavailable"));
     }
 
     @CircuitBreaker(name = "transaction-service", fallbackMethod = "withdrawalFallback")
     @Retry(name = "transaction-service")
-    public TransactionDto withdrawal(WithdrawalRequest request) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<TransactionDto> withdrawal(WithdrawalRequest request) {
         // Validate account exists and has sufficient funds
-        validateWithdrawalRequest(request);
-
-        // Create transaction
-        Transaction transaction = new Transaction();
-        transaction.setTransactionId(generateTransactionId());
-        transaction.setType(TransactionType.WITHDRAWAL);
-        transaction.setAmount(request.getAmount());
-        transaction.setCurrency(request.getCurrency());
-        transaction.setFromAccountNumber(request.getAccountNumber());
-        transaction.setDescription(request.getDescription());
-        transaction.setReference(request.getReference());
-        transaction.setLocation(request.getLocation());
-        transaction.setStatus(TransactionStatus.PENDING);
-
-        Transaction savedTransaction = transactionRepository.save(transaction);
-
-        // Process the withdrawal
-        processWithdrawal(savedTransaction);
+        return validateWithdrawalRequest(request)
+                .then(onDbScheduler(() -> transactionRepository.save(newWithdrawal(request))))
+                // Process the withdrawal
+                .flatMap(transaction -> screen(transaction, this::processWithdrawal))
+                .doOnNext(statusNotifier::publish)
+                .map(transactionMapper::toDto)
+                .toFuture();
+    }
 
-        return transactionMapper.toDto(savedTransaction);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<TransactionDto> submitWithdrawal(WithdrawalRequest request) {
+        return onDbScheduler(() -> transactionRepository.save(newWithdrawal(request)))
+                .doOnNext(transaction -> processInBackground(transaction, "withdrawal", validateWithdrawalRequest(request),
+                        pending -> screen(pending, this::processWithdrawal)))
+                .map(transactionMapper::toDto)
+                .toFuture();
     }
 
-    public TransactionDto withdrawalFallback(WithdrawalRequest request, Exception ex) {
+    public CompletableFuture<TransactionDto> withdrawalFallback(WithdrawalRequest request, Exception ex) {
         logger.error("Failed to process withdrawal: {}", ex.getMessage());
-        throw new RuntimeException("Withdrawal service is currently unavailable");
+        return CompletableFuture.failedFuture(new RuntimeException("Withdrawal service is currently unavailable"));
     }
 
     @Transactional(readOnly = true)
     public Optional<TransactionDto> getTransactionById(Long id) {
-        return transactionRepository.findById(id)
-                .map(transactionMapper::toDto);
+        Optional<TransactionDto> transaction = transactionRepository.findDtoById(id);
+        if (transaction.isEmpty() && tierRouter.isArchiveEnabled()) {
+            return transactionRepository.findArchivedById(id).map(transactionMapper::toDto);
+        }
+        return transaction;
     }
 
     @Transactional(readOnly = true)
     public Optional<TransactionDto> getTransactionByTransactionId(String transactionId) {
-        return transactionRepository.findByTransactionId(transactionId)
-                .map(transactionMapper::toDto);
+        Optional<TransactionDto> transaction = transactionRepository.findDtoByTransactionId(transactionId);
+        if (transaction.isEmpty() && tierRouter.isArchiveEnabled()) {
+            return transactionRepository.findArchivedByTransactionId(transactionId).map(transactionMapper::toDto);
+        }
+        return transaction;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<TransactionDto> getTransactionsByBatchId(String batchId, Pageable pageable) {
+        return transactionRepository.findByBatchId(batchId, pageable);
     }
 
     @Transactional(readOnly = true)
     public Page<TransactionDto> getTransactionsByAccountNumber(String accountNumber, Pageable pageable) {
-        return transactionRepository.findByAccountNumber(accountNumber, pageable)
-                .map(transactionMapper::toDto);
+        return transactionRepository.findByAccountNumber(accountNumber, pageable);
     }
 
     @Transactional(readOnly = true)
     public Page<TransactionDto> getTransactionsByUserId(Long userId, Pageable pageable) {
-        return transactionRepository.findByUserId(userId, pageable)
-                .map(transactionMapper::toDto);
+        return transactionRepository.findByUserId(userId, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionSlice getTransactionHistoryByAccountNumber(String accountNumber, String cursorToken, int size) {
+        TransactionCursor cursor = TransactionCursor.decode(cursorToken);
+        int sliceSize = clampSliceSize(size);
+        Limit limit = Limit.of(sliceSize + 1);
+        return toSlice(
+                withColdTier(transactionRepository.findOutgoingBefore(accountNumber, cursor.getTransactionDate(), cursor.getId(), limit),
+                        cursor, limit, (date, id, max) -> transactionRepository.findArchivedOutgoingBefore(accountNumber, date, id, max)),
+                withColdTier(transactionRepository.findIncomingBefore(accountNumber, cursor.getTransactionDate(), cursor.getId(), limit),
+                        cursor, limit, (date, id, max) -> transactionRepository.findArchivedIncomingBefore(accountNumber, date, id, max)),
+                sliceSize);
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionSlice getTransactionHistoryByUserId(Long userId, String cursorToken, int size) {
+        TransactionCursor cursor = TransactionCursor.decode(cursorToken);
+        int sliceSize = clampSliceSize(size);
+        Limit limit = Limit.of(sliceSize + 1);
+        return toSlice(
+                withColdTier(transactionRepository.findOutgoingByUserBefore(userId, cursor.getTransactionDate(), cursor.getId(), limit),
+                        cursor, limit, (date, id, max) -> transactionRepository.findArchivedOutgoingByUserBefore(userId, date, id, max)),
+                withColdTier(transactionRepository.findIncomingByUserBefore(userId, cursor.getTransactionDate(), cursor.getId(), limit),
+                        cursor, limit, (date, id, max) -> transactionRepository.findArchivedIncomingByUserBefore(userId, date, id, max)),
+                sliceSize);
     }
 
     @Transactional(readOnly = true)
     public Page<TransactionDto> getTransactionsByAccountAndType(String accountNumber, TransactionType type, Pageable pageable) {
-        return transactionRepository.findByAccountNumberAndType(accountNumber, type, pageable)
-                .map(transactionMapper::toDto);
+        return transactionRepository.findByAccountNumberAndType(accountNumber, type, pageable);
     }
 
     @Transactional(readOnly = true)
@@ -174,14 +252,48 @@ public class TransactionService {
                                                                    LocalDateTime startDate, 
                                                                    LocalDateTime endDate, 
                                                                    Pageable pageable) {
-        return transactionRepository.findByAccountNumberAndDateRange(accountNumber, startDate, endDate, pageable)
-                .map(transactionMapper::toDto);
+        if (tierRouter.includesColdTier(startDate)) {
+            // Native union across tiers: newest first, client sort orders are not applied
+            return transactionRepository.findByAccountNumberAndDateRangeAcrossTiers(accountNumber, startDate, endDate,
+                            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
+                    .map(transactionMapper::toDto);
+        }
+        return transactionRepository.findByAccountNumberAndDateRange(accountNumber, startDate, endDate, pageable);
+    }
+
+    // Current state first, then each change until the transaction settles. Changes made on this instance arrive
+    // through the notifier; the periodic re-read picks up those made elsewhere (other instances, the reconciler).
+    public Flux<TransactionDto> streamTransactionStatus(TransactionDto current) {
+        if (!isInFlight(current.getStatus())) {
+            return Flux.just(current);
+        }
+        Mono<TransactionDto> reload = onDbScheduler(() -> transactionRepository.findDtoByTransactionId(current.getTransactionId()))
+                .flatMap(Mono::justOrEmpty);
+        Flux<TransactionDto> changes = Flux.merge(
+                statusNotifier.updates(current.getTransactionId()),
+                Flux.interval(statusPollInterval).concatMap(tick -> reload));
+        return Flux.concat(Flux.just(current), changes)
+                .distinctUntilChanged(TransactionDto::getStatus)
+                .takeUntil(transaction -> !isInFlight(transaction.getStatus()))
+                .take(statusStreamTimeout);
+    }
+
+    private static boolean isInFlight(TransactionStatus status) {
+        return status == TransactionStatus.PENDING || status == TransactionStatus.PROCESSING;
     }
 
     public TransactionDto updateTransactionStatus(Long transactionId, TransactionStatus status, String reason) {
         Transaction transaction = transactionRepository.findById(transactionId)
                 .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with id: " + transactionId));
 
+        // A held transaction is only completed by posting it, see releaseFromReview
+        if (transaction.getStatus() == TransactionStatus.UNDER_REVIEW
+                && status != TransactionStatus.FAILED && status != TransactionStatus.CANCELLED) {
+            throw new InvalidTransactionStateException("Transaction " + transactionId
+                    + " is under review; release it to post it, or reject it");
+        }
+
+        boolean wasCompleted = transaction.isCompleted();
         transaction.setStatus(status);
         transaction.setStatusReason(reason);
         
@@ -191,130 +303,262 @@ public class TransactionService {
 
         Transaction updatedTransaction = transactionRepository.save(transaction);
 
+        // Keep the balance buckets in step with what the sum queries count
+        if (!wasCompleted && updatedTransaction.isCompleted()) {
+            balanceAggregateService.recordCompleted(List.of(updatedTransaction));
+        } else if (wasCompleted && !updatedTransaction.isCompleted()) {
+            balanceAggregateService.recordUncompleted(List.of(updatedTransaction));
+        }
+
         // Send status update event
         sendTransactionStatusUpdatedEvent(updatedTransaction);
 
         return transactionMapper.toDto(updatedTransaction);
     }
 
-    @Transactional(readOnly = true)
-    public BigDecimal getAccountBalance(String accountNumber, LocalDateTime startDate, LocalDateTime endDate) {
-        BigDecimal incoming = transactionRepository.sumIncomingAmountByAccountAndDateRange(accountNumber, startDate, endDate);
-        BigDecimal outgoing = transactionRepository.sumOutgoingAmountByAccountAndDateRange(accountNumber, startDate, endDate);
-        
-        if (incoming == null) incoming = BigDecimal.ZERO;
-        if (outgoing == null) outgoing = BigDecimal.ZERO;
-        
-        return incoming.subtract(outgoing);
+    // Approves a transaction held by the risk checks: it is posted through the pipeline it was held from, without
+    // being screened again. PROCESSING rather than PENDING, since transaction_date may be long past the reconciler
+    // cutoff; the release time goes into processedDate, and a release never settled (crash, lost response) is picked
+    // up by the reconciler once that is stale.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<TransactionDto> releaseFromReview(Long transactionId) {
+        return onDbScheduler(() -> transactionTemplate.execute(status -> claimHeld(transactionId, TransactionStatus.PROCESSING, null)))
+                .flatMap(this::postReleased)
+                .doOnNext(statusNotifier::publish)
+                .map(transactionMapper::toDto)
+                .toFuture();
     }
 
-    private void processTransfer(Transaction transaction) {
-        try {
-            // Update from account (debit)
-            updateAccountBalance(transaction.getFromAccountNumber(), transaction.getAmount().negate(), 
-                               "DEBIT", transaction.getTransactionId());
+    public TransactionDto rejectFromReview(Long transactionId, String reason) {
+        Transaction rejectedTransaction = claimHeld(transactionId, TransactionStatus.FAILED, reason);
 
-            // Update to account (credit)
-            updateAccountBalance(transaction.getToAccountNumber(), transaction.getAmount(), 
-                               "CREDIT", transaction.getTransactionId());
+        sendTransactionFailedEvent(rejectedTransaction);
 
-            // Update transaction status
-            transaction.setStatus(TransactionStatus.COMPLETED);
-            transaction.setProcessedDate(LocalDateTime.now());
-            transactionRepository.save(transaction);
+        return transactionMapper.toDto(rejectedTransaction);
+    }
 
-            // Send completion event
-            sendTransactionCompletedEvent(transaction);
+    // Conditional update, so of two concurrent release or reject calls only one takes the transaction out of review
+    private Transaction claimHeld(Long transactionId, TransactionStatus status, String reason) {
+        if (transactionRepository.updateStatusIfCurrent(transactionId, TransactionStatus.UNDER_REVIEW, status, reason,
+                LocalDateTime.now()) == 0) {
+            Transaction transaction = transactionRepository.findById(transactionId)
+                    .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with id: " + transactionId));
+            throw new InvalidTransactionStateException("Transaction " + transactionId + " is " + transaction.getStatus()
+                    + ", not UNDER_REVIEW");
+        }
+        return transactionRepository.findById(transactionId)
+                .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with id: " + transactionId));
+    }
 
-        } catch (Exception e) {
-            logger.error("Failed to process transfer {}: {}", transaction.getTransactionId(), e.getMessage());
-            transaction.setStatus(TransactionStatus.FAILED);
-            transaction.setStatusReason(e.getMessage());
-            transaction.setProcessedDate(LocalDateTime.now());
-            transactionRepository.save(transaction);
+    private Mono<Transaction> postReleased(Transaction transaction) {
+        return switch (transaction.getType()) {
+            case TRANSFER -> processTransfer(transaction);
+            case WITHDRAWAL -> processWithdrawal(transaction);
+            case DEPOSIT -> processDeposit(transaction);
+            default -> onDbScheduler(() -> transactionTemplate.execute(status -> failTransaction(transaction, "release",
+                    new InvalidTransactionStateException("No posting pipeline for " + transaction.getType()))));
+        };
+    }
 
-            sendTransactionFailedEvent(transaction);
+    @Transactional(readOnly = true)
+    public BigDecimal getAccountBalance(String accountNumber, LocalDateTime startDate, LocalDateTime endDate) {
+        // Whole days are read from the daily balance buckets, only the edge days scan transactions
+        return balanceAggregateService.getBalance(accountNumber, startDate, endDate);
+    }
+
+    // A side that runs short in the hot table has no older hot rows left, so the rest of its page is in the archive.
+    // The archive is read from the same cursor; toSlice re-sorts and drops any row seen twice.
+    private List<TransactionDto> withColdTier(List<TransactionDto> hot, TransactionCursor cursor, Limit limit,
+                                              ArchivedKeysetQuery archivedQuery) {
+        if (!tierRouter.isArchiveEnabled() || hot.size() >= limit.max()) {
+            return hot;
         }
+        List<TransactionDto> combined = new ArrayList<>(hot);
+        archivedQuery.find(cursor.getTransactionDate(), cursor.getId(), limit.max()).stream()
+                .map(transactionMapper::toDto)
+                .forEach(combined::add);
+        return combined;
     }
 
-    private void processDeposit(Transaction transaction) {
-        try {
-            // Update account (credit)
-            updateAccountBalance(transaction.getToAccountNumber(), transaction.getAmount(), 
-                               "CREDIT", transaction.getTransactionId());
+    @FunctionalInterface
+    private interface ArchivedKeysetQuery {
+        List<Transaction> find(LocalDateTime date, Long id, int limit);
+    }
 
-            // Update transaction status
-            transaction.setStatus(TransactionStatus.COMPLETED);
-            transaction.setProcessedDate(LocalDateTime.now());
-            transactionRepository.save(transaction);
+    private TransactionSlice toSlice(List<TransactionDto> outgoing, List<TransactionDto> incoming, int size) {
+        // Merge both newest-first sides; a transaction on both sides (same account or user) is kept once
+        Map<Long, TransactionDto> merged = new LinkedHashMap<>();
+        outgoing.forEach(transaction -> merged.put(transaction.getId(), transaction));
+        incoming.forEach(transaction -> merged.putIfAbsent(transaction.getId(), transaction));
+        List<TransactionDto> ordered = merged.values().stream()
+                .sorted(HISTORY_ORDER)
+                .limit(size + 1L)
+                .toList();
+
+        boolean hasNext = ordered.size() > size;
+        List<TransactionDto> content = hasNext ? ordered.subList(0, size) : ordered;
+        String nextCursor = null;
+        if (hasNext) {
+            TransactionDto last = content.get(content.size() - 1);
+            nextCursor = new TransactionCursor(last.getTransactionDate(), last.getId()).encode();
+        }
+        return new TransactionSlice(content, hasNext, nextCursor);
+    }
 
-            // Send completion event
-            sendTransactionCompletedEvent(transaction);
+    private int clampSliceSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SLICE_SIZE));
+    }
 
-        } catch (Exception e) {
-            logger.error("Failed to process deposit {}: {}", transaction.getTransactionId(), e.getMessage());
-            transaction.setStatus(TransactionStatus.FAILED);
-            transaction.setStatusReason(e.getMessage());
-            transaction.setProcessedDate(LocalDateTime.now());
-            transactionRepository.save(transaction);
+    private Transaction newTransfer(TransferRequest request) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(generateTransactionId());
+        transaction.setType(TransactionType.TRANSFER);
+        transaction.setAmount(request.getAmount());
+        transaction.setCurrency(request.getCurrency());
+        transaction.setFromAccountNumber(request.getFromAccountNumber());
+        transaction.setToAccountNumber(request.getToAccountNumber());
+        transaction.setDescription(request.getDescription());
+        transaction.setReference(request.getReference());
+        transaction.setLocation(request.getLocation());
+        transaction.setStatus(TransactionStatus.PENDING);
+        return transaction;
+    }
+
+    private Transaction newDeposit(DepositRequest request) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(generateTransactionId());
+        transaction.setType(TransactionType.DEPOSIT);
+        transaction.setAmount(request.getAmount());
+        transaction.setCurrency(request.getCurrency());
+        transaction.setToAccountNumber(request.getAccountNumber());
+        transaction.setDescription(request.getDescription());
+        transaction.setReference(request.getReference());
+        transaction.setMerchantName(request.getMerchantName());
+        transaction.setLocation(request.getLocation());
+        transaction.setStatus(TransactionStatus.PENDING);
+        return transaction;
+    }
 
-            sendTransactionFailedEvent(transaction);
+    private Transaction newWithdrawal(WithdrawalRequest request) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(generateTransactionId());
+        transaction.setType(TransactionType.WITHDRAWAL);
+        transaction.setAmount(request.getAmount());
+        transaction.setCurrency(request.getCurrency());
+        transaction.setFromAccountNumber(request.getAccountNumber());
+        transaction.setDescription(request.getDescription());
+        transaction.setReference(request.getReference());
+        transaction.setLocation(request.getLocation());
+        transaction.setStatus(TransactionStatus.PENDING);
+        return transaction;
+    }
+
+    // Validation and posting of an accepted submission, on the processing scheduler. A validation failure,
+    // or a full scheduler queue, fails the stored transaction rather than leaving it PENDING.
+    private void processInBackground(Transaction transaction, String operation, Mono<Void> validation,
+                                     Function<Transaction, Mono<Transaction>> posting) {
+        validation
+                .then(Mono.defer(() -> posting.apply(transaction)))
+                .subscribeOn(transactionProcessingScheduler)
+                .onErrorResume(e -> onDbScheduler(() -> transactionTemplate.execute(status -> failTransaction(transaction, operation, e))))
+                .subscribe(statusNotifier::publish,
+                        e -> logger.error("Failed to record outcome of {} {}: {}", operation, transaction.getTransactionId(), e.getMessage()));
+    }
+
+    // Velocity checks run in memory before posting; a risky debit is held instead of posted
+    private Mono<Transaction> screen(Transaction transaction, Function<Transaction, Mono<Transaction>> posting) {
+        RiskAssessment assessment = riskScorer.assess(transaction);
+        if (!assessment.isReviewRequired()) {
+            return posting.apply(transaction);
         }
+        return onDbScheduler(() -> transactionTemplate.execute(status -> holdForReview(transaction, assessment)));
+    }
+
+    private Mono<Transaction> processTransfer(Transaction transaction) {
+        // Post both legs (debit and credit) in a single accounts-service call, in order with other postings on either account
+        return accountLaneExecutor.run(transaction.getFromAccountNumber(), transaction.getToAccountNumber(),
+                        () -> accountsClient.postTransfer(transaction))
+                .then(onDbScheduler(() -> transactionTemplate.execute(status -> completeTransaction(transaction))))
+                .onErrorResume(e -> onDbScheduler(() -> transactionTemplate.execute(status -> failTransaction(transaction, "transfer", e))));
     }
 
-    private void processWithdrawal(Transaction transaction) {
-        try {
-            // Update account (debit)
-            updateAccountBalance(transaction.getFromAccountNumber(), transaction.getAmount().negate(), 
-                               "DEBIT", transaction.getTransactionId());
+    private Mono<Transaction> processDeposit(Transaction transaction) {
+        // Update account (credit)
+        return accountLaneExecutor.run(transaction.getToAccountNumber(),
+                        () -> accountsClient.updateBalance(transaction.getToAccountNumber(), transaction.getAmount(),
+                                "CREDIT", transaction.getTransactionId()))
+                .then(onDbScheduler(() -> transactionTemplate.execute(status -> completeTransaction(transaction))))
+                .onErrorResume(e -> onDbScheduler(() -> transactionTemplate.execute(status -> failTransaction(transaction, "deposit", e))));
+    }
 
-            // Update transaction status
-            transaction.setStatus(TransactionStatus.COMPLETED);
-            transaction.setProcessedDate(LocalDateTime.now());
-            transactionRepository.save(transaction);
+    private Mono<Transaction> processWithdrawal(Transaction transaction) {
+        // Update account (debit)
+        return accountLaneExecutor.run(transaction.getFromAccountNumber(),
+                        () -> accountsClient.updateBalance(transaction.getFromAccountNumber(), transaction.getAmount().negate(),
+                                "DEBIT", transaction.getTransactionId()))
+                .then(onDbScheduler(() -> transactionTemplate.execute(status -> completeTransaction(transaction))))
+                .onErrorResume(e -> onDbScheduler(() -> transactionTemplate.execute(status -> failTransaction(transaction, "withdrawal", e))));
+    }
 
-            // Send completion event
-            sendTransactionCompletedEvent(transaction);
+    // Status change and its event are written in one transaction (see OutboxService)
+    private Transaction completeTransaction(Transaction transaction) {
+        // Update transaction status
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        transaction.setProcessedDate(LocalDateTime.now());
+        Transaction completedTransaction = transactionRepository.save(transaction);
+        balanceAggregateService.recordCompleted(List.of(completedTransaction));
 
-        } catch (Exception e) {
-            logger.error("Failed to process withdrawal {}: {}", transaction.getTransactionId(), e.getMessage());
-            transaction.setStatus(TransactionStatus.FAILED);
-            transaction.setStatusReason(e.getMessage());
-            transaction.setProcessedDate(LocalDateTime.now());
-            transactionRepository.save(transaction);
+        // Send completion event
+        sendTransactionCompletedEvent(completedTransaction);
 
-            sendTransactionFailedEvent(transaction);
-        }
+        return completedTransaction;
     }
 
-    private void validateTransferRequest(TransferRequest request) {
-        // Validate accounts exist
-        validateAccountExists(request.getFromAccountNumber());
-        validateAccountExists(request.getToAccountNumber());
+    private Transaction holdForReview(Transaction transaction, RiskAssessment assessment) {
+        logger.warn("Holding {} for review: {}", transaction.getTransactionId(), assessment.describe());
+        transaction.setStatus(TransactionStatus.UNDER_REVIEW);
+        transaction.setStatusReason(assessment.describe());
+        Transaction heldTransaction = transactionRepository.save(transaction);
+
+        sendTransactionStatusUpdatedEvent(heldTransaction);
+
+        return heldTransaction;
+    }
+
+    private Transaction failTransaction(Transaction transaction, String operation, Throwable e) {
+        logger.error("Failed to process {} {}: {}", operation, transaction.getTransactionId(), e.getMessage());
+        transaction.setStatus(TransactionStatus.FAILED);
+        transaction.setStatusReason(e.getMessage());
+        transaction.setProcessedDate(LocalDateTime.now());
+        Transaction failedTransaction = transactionRepository.save(transaction);
+
+        sendTransactionFailedEvent(failedTransaction);
 
-        // Validate sufficient funds
-        validateSufficientFunds(request.getFromAccountNumber(), request.getAmount());
+        return failedTransaction;
     }
 
-    private void validateWithdrawalRequest(WithdrawalRequest request) {
+    private Mono<Void> validateTransferRequest(TransferRequest request) {
+        // Validate both accounts exist, concurrently
+        return Mono.when(
+                        validateAccountExists(request.getFromAccountNumber()),
+                        validateAccountExists(request.getToAccountNumber()))
+                // Validate sufficient funds
+                .then(Mono.fromRunnable(() -> validateSufficientFunds(request.getFromAccountNumber(), request.getAmount())));
+    }
+
+    private Mono<Void> validateWithdrawalRequest(WithdrawalRequest request) {
         // Validate account exists
-        validateAccountExists(request.getAccountNumber());
-
-        // Validate sufficient funds
-        validateSufficientFunds(request.getAccountNumber(), request.getAmount());
-    }
-
-    private void validateAccountExists(String accountNumber) {
-        try {
-            webClientBuilder.build()
-                    .get()
-                    .uri("http://accounts-service/api/accounts/number/" + accountNumber)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-        } catch (Exception e) {
-            throw new AccountNotFoundException("Account not found: " + accountNumber);
-        }
+        return validateAccountExists(request.getAccountNumber())
+                // Validate sufficient funds
+                .then(Mono.fromRunnable(() -> validateSufficientFunds(request.getAccountNumber(), request.getAmount())));
+    }
+
+    private Mono<Void> validateAccountExists(String accountNumber) {
+        // Served from the local account directory; only misses go to accounts-service
+        return accountDirectory.lookup(accountNumber)
+                .flatMap(account -> account.isActive()
+                        ? Mono.<Void>empty()
+                        : Mono.error(new IllegalStateException("Account is not active: " + accountNumber)));
     }
 
     private void validateSufficientFunds(String accountNumber, BigDecimal amount) {
@@ -322,84 +566,57 @@ public class TransactionService {
         // For now, we'll assume the accounts service handles this validation
     }
 
-    private void updateAccountBalance(String accountNumber, BigDecimal amount, String operation, String transactionId) {
-        try {
-            UpdateBalanceRequest request = new UpdateBalanceRequest();
-            request.setAmount(amount.abs());
-            request.setOperation(operation);
-            request.setTransactionId(transactionId);
-
-            webClientBuilder.build()
-                    .put()
-                    .uri("http://accounts-service/api/accounts/number/" + accountNumber + "/balance")
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to update account balance: " + e.getMessage());
-        }
+    // JPA calls block, so they run on the bounded elastic scheduler rather than on Netty event loop threads
+    private <T> Mono<T> onDbScheduler(Callable<T> work) {
+        return Mono.fromCallable(work).subscribeOn(Schedulers.boundedElastic());
     }
 
     private String generateTransactionId() {
-        String transactionId = "TXN" + System.currentTimeMillis() + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        
-        // Ensure uniqueness
-        if (transactionRepository.existsByTransactionId(transactionId)) {
-            return generateTransactionId();
-        }
-        
-        return transactionId;
+        // Unique and time-ordered by construction, no existence check needed
+        return transactionIdGenerator.nextTransactionId();
+    }
+
+    // Events are keyed by the debited account (the credited one for deposits), so each account's events stay in order
+    static String partitionKey(Transaction transaction) {
+        return transaction.getFromAccountNumber() != null ? transaction.getFromAccountNumber() : transaction.getToAccountNumber();
     }
 
     private void sendTransactionCompletedEvent(Transaction transaction) {
-        try {
-            TransactionCompletedEvent event = new TransactionCompletedEvent(
-                transaction.getId(),
-                transaction.getTransactionId(),
-                transaction.getType().name(),
-                transaction.getAmount(),
-                transaction.getFromAccountNumber(),
-                transaction.getToAccountNumber(),
-                transaction.getProcessedDate()
-            );
-            kafkaTemplate.send("transaction-events", event);
-            logger.info("Transaction completed event sent for: {}", transaction.getTransactionId());
-        } catch (Exception e) {
-            logger.error("Failed to send transaction completed event: {}", e.getMessage());
-        }
+        TransactionCompletedEvent event = new TransactionCompletedEvent(
+            transaction.getId(),
+            transaction.getTransactionId(),
+            transaction.getType().name(),
+            transaction.getAmount(),
+            transaction.getFromAccountNumber(),
+            transaction.getToAccountNumber(),
+            transaction.getProcessedDate()
+        );
+        outboxService.enqueue("transaction-events", transaction.getTransactionId(), partitionKey(transaction), event);
+        logger.info("Transaction completed event queued for: {}", transaction.getTransactionId());
     }
 
     private void sendTransactionFailedEvent(Transaction transaction) {
-        try {
-            TransactionFailedEvent event = new TransactionFailedEvent(
-                transaction.getId(),
-                transaction.getTransactionId(),
-                transaction.getType().name(),
-                transaction.getAmount(),
-                transaction.getStatusReason(),
-                transaction.getProcessedDate()
-            );
-            kafkaTemplate.send("transaction-events", event);
-            logger.info("Transaction failed event sent for: {}", transaction.getTransactionId());
-        } catch (Exception e) {
-            logger.error("Failed to send transaction failed event: {}", e.getMessage());
-        }
+        TransactionFailedEvent event = new TransactionFailedEvent(
+            transaction.getId(),
+            transaction.getTransactionId(),
+            transaction.getType().name(),
+            transaction.getAmount(),
+            transaction.getStatusReason(),
+            transaction.getProcessedDate()
+        );
+        outboxService.enqueue("transaction-events", transaction.getTransactionId(), partitionKey(transaction), event);
+        logger.info("Transaction failed event queued for: {}", transaction.getTransactionId());
     }
 
     private void sendTransactionStatusUpdatedEvent(Transaction transaction) {
-        try {
-            TransactionStatusUpdatedEvent event = new TransactionStatusUpdatedEvent(
-                transaction.getId(),
-                transaction.getTransactionId(),
-                transaction.getStatus().name(),
-                transaction.getStatusReason()
-            );
-            kafkaTemplate.send("transaction-events", event);
-            logger.info("Transaction status updated event sent for: {}", transaction.getTransactionId());
-        } catch (Exception e) {
-            logger.error("Failed to send transaction status updated event: {}", e.getMessage());
-        }
+        TransactionStatusUpdatedEvent event = new TransactionStatusUpdatedEvent(
+            transaction.getId(),
+            transaction.getTransactionId(),
+            transaction.getStatus().name(),
+            transaction.getStatusReason()
+        );
+        outboxService.enqueue("transaction-events", transaction.getTransactionId(), partitionKey(transaction), event);
+        logger.info("Transaction status updated event queued for: {}", transaction.getTransactionId());
     }
 
     // Event classes
@@ -510,20 +727,4 @@ public class TransactionService {
         public String getReason() { return reason; }
         public void setReason(String reason) { this.reason = reason; }
     }
-
-    // DTO for account service communication
-    public static class UpdateBalanceRequest {
-        private BigDecimal amount;
-        private String operation;
-        private String transactionId;
-
-        public BigDecimal getAmount() { return amount; }
-        public void setAmount(BigDecimal amount) { this.amount = amount; }
-
-        public String getOperation() { return operation; }
-        public void setOperation(String operation) { this.operation = operation; }
-
-        public String getTransactionId() { return transactionId; }
-        public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
-    }
 }
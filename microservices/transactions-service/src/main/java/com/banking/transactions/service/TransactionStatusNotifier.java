@@ -0,0 +1,36 @@
+package com.banking.transactions.service;
+
+import com.banking.transactions.dto.TransactionDto;
+import com.banking.transactions.entity.Transaction;
+import com.banking.transactions.mapper.TransactionMapper;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+// In-process fan-out of committed status changes to open status streams on this instance
+@Component
+public class TransactionStatusNotifier {
+
+    private final TransactionMapper transactionMapper;
+
+    // Best effort: a slow subscriber misses updates rather than holding back the publisher
+    private final Sinks.Many<TransactionDto> updates = Sinks.many().multicast().directBestEffort();
+
+    public TransactionStatusNotifier(TransactionMapper transactionMapper) {
+        this.transactionMapper = transactionMapper;
+    }
+
+    // Call only once the change is committed, so a stream never shows a status the database does not have yet
+    public void publish(Transaction transaction) {
+        if (updates.currentSubscriberCount() == 0) {
+            return;
+        }
+        updates.emitNext(transactionMapper.toDto(transaction), Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(50)));
+    }
+
+    public Flux<TransactionDto> updates(String transactionId) {
+        return updates.asFlux().filter(transaction -> transactionId.equals(transaction.getTransactionId()));
+    }
+}
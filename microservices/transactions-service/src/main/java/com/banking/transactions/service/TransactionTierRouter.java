@@ -0,0 +1,34 @@
+package com.banking.transactions.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+// Decides whether a date-range read must also look at transactions_archive (the cold tier)
+@Component
+public class TransactionTierRouter {
+
+    private final boolean archiveEnabled;
+    private final int hotMonths;
+
+    public TransactionTierRouter(@Value("${banking.archive.enabled:false}") boolean archiveEnabled,
+                                 @Value("${banking.archive.hot-months:12}") int hotMonths) {
+        this.archiveEnabled = archiveEnabled;
+        this.hotMonths = hotMonths;
+    }
+
+    public boolean isArchiveEnabled() {
+        return archiveEnabled;
+    }
+
+    // Oldest month kept in the partitioned transactions table; everything before it may have been archived
+    public YearMonth firstHotMonth() {
+        return YearMonth.now().minusMonths(hotMonths);
+    }
+
+    public boolean includesColdTier(LocalDateTime startDate) {
+        return archiveEnabled && startDate.isBefore(firstHotMonth().atDay(1).atStartOfDay());
+    }
+}
@@ -0,0 +1,25 @@
+-- One-off migration to pooled sequence ids. Run it before deploying the version that uses transactions_seq,
+-- otherwise ddl-auto creates the sequence at 1 and new ids collide with existing rows.
+-- Hibernate takes blocks of 50 ids per nextval, so the sequence must advance by the same allocation size.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS transactions_seq INCREMENT BY 50;
+
+-- Inserts that leave id to the database (psql, testing/performance) draw from the same sequence
+ALTER TABLE transactions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE transactions ALTER COLUMN id SET DEFAULT nextval('transactions_seq');
+
+-- Archived months keep their ids, so the cold tier counts too when it exists
+DO $$
+DECLARE
+    max_id BIGINT := (SELECT COALESCE(MAX(id), 0) FROM transactions);
+BEGIN
+    IF to_regclass('transactions_archive') IS NOT NULL THEN
+        max_id := GREATEST(max_id, (SELECT COALESCE(MAX(id), 0) FROM transactions_archive));
+    END IF;
+    -- The pooled optimizer hands out (value - 49) .. value, so the first block starts right after max_id
+    PERFORM setval('transactions_seq', max_id + 50, false);
+END $$;
+
+COMMIT;
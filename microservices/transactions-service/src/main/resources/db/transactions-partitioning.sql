@@ -0,0 +1,72 @@
+-- One-off migration: converts transactions into a table partitioned by month on transaction_date
+-- and creates the transactions_archive cold tier. Run during a maintenance window with the
+-- transactions-service stopped, then set banking.archive.enabled=true.
+
+BEGIN;
+
+ALTER TABLE transactions RENAME TO transactions_legacy;
+
+-- The partition key must be part of every unique constraint, so it cannot be null
+UPDATE transactions_legacy SET transaction_date = COALESCE(processed_date, TIMESTAMP '1970-01-01') WHERE transaction_date IS NULL;
+
+-- Partitioned tables cannot carry an identity column before PostgreSQL 17: default to the pooled
+-- transactions_seq the application allocates from (see sequence-ids.sql), blocks of 50
+CREATE TABLE transactions (LIKE transactions_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (transaction_date);
+CREATE SEQUENCE IF NOT EXISTS transactions_seq INCREMENT BY 50;
+ALTER TABLE transactions ALTER COLUMN id SET DEFAULT nextval('transactions_seq');
+ALTER TABLE transactions ALTER COLUMN transaction_date SET NOT NULL;
+SELECT setval('transactions_seq', COALESCE((SELECT MAX(id) FROM transactions_legacy), 0) + 50, false);
+
+-- Monthly partitions from the oldest row up to three months ahead; TransactionArchiver keeps creating them ahead.
+-- No default partition: DETACH PARTITION ... CONCURRENTLY, which the archiver relies on, refuses to run with one
+DO $$
+DECLARE
+    month DATE := date_trunc('month', COALESCE((SELECT MIN(transaction_date) FROM transactions_legacy), now()));
+BEGIN
+    WHILE month <= date_trunc('month', now()) + INTERVAL '3 months' LOOP
+        EXECUTE format('CREATE TABLE transactions_p%s PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                       to_char(month, 'YYYYMM'), month, month + INTERVAL '1 month');
+        month := month + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO transactions SELECT * FROM transactions_legacy;
+DROP TABLE transactions_legacy;
+
+ALTER TABLE transactions ADD PRIMARY KEY (id, transaction_date);
+-- A unique index on a partitioned table must include the partition key, so this one only rules out duplicates
+-- within one transaction_date. Named like the entity's index so ddl-auto leaves it alone.
+CREATE UNIQUE INDEX idx_transaction_id ON transactions (transaction_id, transaction_date);
+
+-- The global guard: every insert into transactions claims its transaction_id here first. Archiving never removes
+-- a claim, so ids stay unique across partitions and transactions_archive; a duplicate fails on transaction_ids_pkey.
+CREATE TABLE transaction_ids (transaction_id VARCHAR(50) PRIMARY KEY);
+INSERT INTO transaction_ids SELECT transaction_id FROM transactions;
+CREATE FUNCTION claim_transaction_id() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO transaction_ids (transaction_id) VALUES (NEW.transaction_id);
+    RETURN NEW;
+END $$;
+CREATE TRIGGER trg_transactions_claim_id BEFORE INSERT ON transactions
+    FOR EACH ROW EXECUTE FUNCTION claim_transaction_id();
+CREATE INDEX idx_from_account ON transactions (from_account_number);
+CREATE INDEX idx_to_account ON transactions (to_account_number);
+CREATE INDEX idx_from_account_date ON transactions (from_account_number, transaction_date, id);
+CREATE INDEX idx_to_account_date ON transactions (to_account_number, transaction_date, id);
+CREATE INDEX idx_from_user_date ON transactions (from_user_id, transaction_date, id);
+CREATE INDEX idx_to_user_date ON transactions (to_user_id, transaction_date, id);
+CREATE INDEX idx_transaction_date ON transactions (transaction_date);
+CREATE INDEX idx_status ON transactions (status);
+CREATE INDEX idx_batch_id ON transactions (batch_id);
+
+-- Cold tier: same columns, only the indexes statement, balance, lookup and history reads need
+CREATE TABLE transactions_archive (LIKE transactions);
+ALTER TABLE transactions_archive ADD PRIMARY KEY (id);
+CREATE INDEX idx_archive_from_account_date ON transactions_archive (from_account_number, transaction_date);
+CREATE INDEX idx_archive_to_account_date ON transactions_archive (to_account_number, transaction_date);
+-- Point lookups by /reference/{transactionId} and idempotency replays, and the per-user history pages
+CREATE UNIQUE INDEX idx_archive_transaction_id ON transactions_archive (transaction_id);
+CREATE INDEX idx_archive_from_user_date ON transactions_archive (from_user_id, transaction_date);
+CREATE INDEX idx_archive_to_user_date ON transactions_archive (to_user_id, transaction_date);
+
+COMMIT;
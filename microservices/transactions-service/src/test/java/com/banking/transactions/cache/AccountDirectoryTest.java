@@ -0,0 +1,77 @@
+package com.banking.transactions.cache;
+
+import com.banking.transactions.client.AccountsClient;
+import com.banking.transactions.exception.AccountNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountDirectoryTest {
+
+    @Mock
+    private AccountsClient accountsClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountDirectory accountDirectory;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        accountDirectory = new AccountDirectory(accountsClient, meterRegistry, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void testLookupMissResolvesOnceThenHits() {
+        // Given
+        when(accountsClient.getAccount("1234567890"))
+                .thenReturn(Mono.just(new AccountDirectoryEntry("1234567890", "ACTIVE", "EUR")));
+
+        // When
+        AccountDirectoryEntry first = accountDirectory.lookup("1234567890").block();
+        AccountDirectoryEntry second = accountDirectory.lookup("1234567890").block();
+
+        // Then
+        assertEquals("EUR", first.getCurrency());
+        assertSame(first, second);
+        verify(accountsClient, times(1)).getAccount("1234567890");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "account-directory").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "account-directory").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testLookupUnknownAccountIsNotCached() {
+        // Given
+        when(accountsClient.getAccount("0000000000"))
+                .thenReturn(Mono.error(new AccountNotFoundException("Account not found: 0000000000")));
+
+        // When & Then
+        assertThrows(AccountNotFoundException.class, () -> accountDirectory.lookup("0000000000").block());
+        assertThrows(AccountNotFoundException.class, () -> accountDirectory.lookup("0000000000").block());
+        verify(accountsClient, times(2)).getAccount("0000000000");
+    }
+
+    @Test
+    void testStatusEventUpdatesEntryWithoutRemoteCall() {
+        // Given
+        accountDirectory.put(new AccountDirectoryEntry("1234567890", "ACTIVE", "EUR"));
+
+        // When
+        accountDirectory.updateStatus("1234567890", "SUSPENDED");
+        AccountDirectoryEntry entry = accountDirectory.lookup("1234567890").block();
+
+        // Then
+        assertFalse(entry.isActive());
+        assertEquals("EUR", entry.getCurrency());
+        verifyNoInteractions(accountsClient);
+    }
+}
@@ -0,0 +1,100 @@
+package com.banking.transactions.event;
+
+import com.banking.events.BinaryEventCodec;
+import com.banking.events.EventSchema;
+import com.banking.events.EventSchemaRegistry;
+import com.banking.transactions.service.TransactionService.TransactionCompletedEvent;
+import com.banking.transactions.service.TransactionService.TransactionFailedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static com.banking.events.EventSchema.FieldType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryEventCodecTest {
+
+    private static final LocalDateTime COMPLETED_AT = LocalDateTime.of(2024, 3, 10, 9, 0, 12, 345_678_000);
+
+    @Test
+    void testCompletedEventRoundTripKeepsExactAmount() {
+        // Given
+        TransactionCompletedEvent event = new TransactionCompletedEvent(42L, "TXN123456789", "TRANSFER",
+                new BigDecimal("0.10"), "1234567890", "0987654321", COMPLETED_AT);
+
+        // When
+        byte[] frame = BinaryEventCodec.encode(EventSchemas.TRANSACTION_COMPLETED, event);
+        Map<String, Object> decoded = BinaryEventCodec.decode(frame, EventSchemas.REGISTRY);
+
+        // Then
+        assertTrue(BinaryEventCodec.isBinary(frame));
+        assertEquals(42L, decoded.get("transactionId"));
+        assertEquals("TXN123456789", decoded.get("transactionReference"));
+        assertEquals(new BigDecimal("0.10"), decoded.get("amount"));
+        assertEquals("0987654321", decoded.get("toAccount"));
+        assertEquals(COMPLETED_AT, decoded.get("completedAt"));
+    }
+
+    @Test
+    void testNullFieldsDecodeAsPresentKeys() {
+        // Given
+        TransactionFailedEvent event = new TransactionFailedEvent(7L, "TXN7", "WITHDRAWAL",
+                new BigDecimal("12345678901234567890.123456"), null, COMPLETED_AT);
+
+        // When
+        Map<String, Object> decoded = BinaryEventCodec.decode(
+                BinaryEventCodec.encode(EventSchemas.TRANSACTION_FAILED, event), EventSchemas.REGISTRY);
+
+        // Then
+        assertTrue(decoded.containsKey("reason"));
+        assertNull(decoded.get("reason"));
+        assertEquals(new BigDecimal("12345678901234567890.123456"), decoded.get("amount"));
+    }
+
+    @Test
+    void testOlderConsumerIgnoresAppendedFields() {
+        // Given
+        EventSchema<TransactionCompletedEvent> extended = EventSchema.builder(201, "TRANSACTION_COMPLETED", TransactionCompletedEvent.class)
+                .field("transactionId", LONG, TransactionCompletedEvent::getTransactionId)
+                .field("transactionReference", STRING, TransactionCompletedEvent::getTransactionReference)
+                .field("channel", STRING, e -> "MOBILE")
+                .build();
+        EventSchemaRegistry olderRegistry = new EventSchemaRegistry(List.of(EventSchema.<Object>builder(201, "TRANSACTION_COMPLETED", null)
+                .field("transactionId", LONG)
+                .field("transactionReference", STRING)
+                .build()));
+
+        // When
+        Map<String, Object> decoded = BinaryEventCodec.decode(
+                BinaryEventCodec.encode(extended, new TransactionCompletedEvent(1L, "TXN1", null, null, null, null, null)),
+                olderRegistry);
+
+        // Then
+        assertEquals(Map.of("transactionId", 1L, "transactionReference", "TXN1"), decoded);
+    }
+
+    @Test
+    void testFrameIsSmallerThanJson() throws Exception {
+        // Given
+        TransactionCompletedEvent event = new TransactionCompletedEvent(123456L, "TXN123456789", "TRANSFER",
+                new BigDecimal("1500.00"), "1234567890", "0987654321", COMPLETED_AT);
+
+        // When
+        byte[] frame = BinaryEventCodec.encode(EventSchemas.TRANSACTION_COMPLETED, event);
+        byte[] json = new ObjectMapper().findAndRegisterModules().writeValueAsBytes(event);
+
+        // Then
+        assertTrue(frame.length * 2 < json.length, () -> "binary " + frame.length + " bytes vs JSON " + json.length);
+        assertFalse(BinaryEventCodec.isBinary(json));
+    }
+
+    @Test
+    void testUnknownSchemaIsRejected() {
+        byte[] frame = {BinaryEventCodec.MAGIC, 99, 0};
+        assertThrows(IllegalArgumentException.class, () -> BinaryEventCodec.decode(frame, EventSchemas.REGISTRY));
+    }
+}
@@ -0,0 +1,97 @@
+package com.banking.transactions.risk;
+
+import com.banking.transactions.entity.Transaction;
+import com.banking.transactions.entity.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RiskScorerTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RiskScorer riskScorer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        riskScorer = new RiskScorer(meterRegistry, true, 1000, 3, 30, new BigDecimal("1000.00"), 5, 10, 50);
+    }
+
+    @Test
+    void testOrdinaryDebitsPass() {
+        for (int i = 0; i < 3; i++) {
+            RiskAssessment assessment = riskScorer.assess(withdrawal("1234567890", "50.00", null), NOW + i);
+            assertFalse(assessment.isReviewRequired());
+            assertEquals(0, assessment.getScore());
+        }
+    }
+
+    @Test
+    void testBurstOverDailyAmountIsHeld() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            riskScorer.assess(withdrawal("1234567890", "300.00", null), NOW + i);
+        }
+
+        // When
+        RiskAssessment assessment = riskScorer.assess(withdrawal("1234567890", "300.00", null), NOW + 10);
+
+        // Then
+        assertTrue(assessment.isReviewRequired());
+        assertEquals(RiskScorer.MINUTE_VELOCITY_POINTS + RiskScorer.DAILY_AMOUNT_POINTS, assessment.getScore());
+        assertEquals(1.0, meterRegistry.get("transactions.risk.reviews").counter().count());
+    }
+
+    @Test
+    void testMinuteWindowSlides() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            riskScorer.assess(withdrawal("1234567890", "10.00", null), NOW + i);
+        }
+
+        // When
+        RiskAssessment assessment = riskScorer.assess(withdrawal("1234567890", "10.00", null), NOW + TimeUnit.MINUTES.toMillis(2));
+
+        // Then
+        assertEquals(0, assessment.getScore());
+    }
+
+    @Test
+    void testAmountSpikeAndLocationVelocityAddUp() {
+        // Given: five accounts withdrawing from the same location, the last one with some history
+        for (int i = 0; i < 3; i++) {
+            riskScorer.assess(withdrawal("5555555555", "10.00", null), NOW - TimeUnit.HOURS.toMillis(2) + i);
+        }
+        for (int i = 0; i < 5; i++) {
+            riskScorer.assess(withdrawal("100000000" + i, "20.00", "ATM-PARIS-01"), NOW + i);
+        }
+
+        // When
+        RiskAssessment assessment = riskScorer.assess(withdrawal("5555555555", "200.00", "ATM-PARIS-01"), NOW + 10);
+
+        // Then
+        assertEquals(RiskScorer.AMOUNT_SPIKE_POINTS + RiskScorer.LOCATION_VELOCITY_POINTS, assessment.getScore());
+        assertTrue(assessment.isReviewRequired());
+        assertEquals(2, assessment.getReasons().size());
+    }
+
+    @Test
+    void testDepositsAreNotScored() {
+        Transaction deposit = new Transaction("TXN1", TransactionType.DEPOSIT, new BigDecimal("5000.00"), null, "1234567890");
+
+        assertFalse(riskScorer.assess(deposit, NOW).isReviewRequired());
+    }
+
+    private Transaction withdrawal(String accountNumber, String amount, String location) {
+        Transaction transaction = new Transaction("TXN" + accountNumber, TransactionType.WITHDRAWAL, new BigDecimal(amount), accountNumber, null);
+        transaction.setLocation(location);
+        return transaction;
+    }
+}
@@ -0,0 +1,121 @@
+package com.banking.transactions.service;
+
+import com.banking.transactions.exception.AccountLaneSaturatedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccountLaneExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountLaneExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new AccountLaneExecutor(meterRegistry, 8, 1);
+    }
+
+    @Test
+    void testOperationsOnSameAccountRunInOrder() {
+        // Given
+        Sinks.One<String> firstPosting = Sinks.one();
+        AtomicInteger secondStarted = new AtomicInteger();
+        Mono<String> first = executor.run("1234567890", firstPosting::asMono).cache();
+        Mono<String> second = executor.run("1234567890", () -> {
+            secondStarted.incrementAndGet();
+            return Mono.just("second");
+        }).cache();
+
+        // When
+        first.subscribe();
+        second.subscribe();
+
+        // Then
+        assertEquals(0, secondStarted.get());
+        assertEquals(1.0, queueDepth(executor.laneIndexOf("1234567890")));
+
+        firstPosting.tryEmitValue("first");
+        assertEquals("first", first.block(Duration.ofSeconds(5)));
+        assertEquals("second", second.block(Duration.ofSeconds(5)));
+        assertEquals(1, secondStarted.get());
+        assertEquals(0.0, queueDepth(executor.laneIndexOf("1234567890")));
+    }
+
+    @Test
+    void testOperationsOnDifferentLanesRunInParallel() {
+        // Given
+        String blocked = "1234567890";
+        String other = accountOnAnotherLane(blocked);
+        executor.run(blocked, () -> Sinks.<String>one().asMono()).subscribe();
+
+        // When
+        String result = executor.run(other, () -> Mono.just("done")).block(Duration.ofSeconds(5));
+
+        // Then
+        assertEquals("done", result);
+    }
+
+    @Test
+    void testTransferWaitsForBothAccounts() {
+        // Given
+        String from = "1234567890";
+        String to = accountOnAnotherLane(from);
+        Sinks.One<String> depositToTarget = Sinks.one();
+        executor.run(to, depositToTarget::asMono).subscribe();
+        AtomicInteger transferStarted = new AtomicInteger();
+
+        // When
+        Mono<String> transfer = executor.run(from, to, () -> {
+            transferStarted.incrementAndGet();
+            return Mono.just("posted");
+        }).cache();
+        transfer.subscribe();
+
+        // Then
+        assertEquals(0, transferStarted.get());
+        depositToTarget.tryEmitValue("deposited");
+        assertEquals("posted", transfer.block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void testFullLaneRejectsNewOperations() {
+        // Given
+        executor.run("1234567890", () -> Sinks.<String>one().asMono()).subscribe();
+        executor.run("1234567890", () -> Mono.just("queued")).subscribe();
+
+        // When & Then
+        assertThrows(AccountLaneSaturatedException.class, () ->
+                executor.run("1234567890", () -> Mono.just("rejected")).block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void testFailedOperationReleasesLane() {
+        // Given
+        Mono<String> failing = executor.run("1234567890", () -> Mono.error(new RuntimeException("Failed to post transfer")));
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> failing.block(Duration.ofSeconds(5)));
+        assertEquals("next", executor.run("1234567890", () -> Mono.just("next")).block(Duration.ofSeconds(5)));
+    }
+
+    private double queueDepth(int lane) {
+        return meterRegistry.get("transactions.lanes.queue.depth").tag("lane", String.valueOf(lane)).gauge().value();
+    }
+
+    private String accountOnAnotherLane(String accountNumber) {
+        for (long candidate = 1000000000L; ; candidate++) {
+            String other = String.valueOf(candidate);
+            if (executor.laneIndexOf(other) != executor.laneIndexOf(accountNumber)) {
+                return other;
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.banking.transactions.service;
+
+import com.banking.transactions.entity.Transaction;
+import com.banking.transactions.entity.TransactionStatus;
+import com.banking.transactions.entity.TransactionType;
+import com.banking.transactions.repository.AccountBalanceBucketRepository;
+import com.banking.transactions.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BalanceAggregateServiceTest {
+
+    @Mock
+    private AccountBalanceBucketRepository bucketRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private BalanceAggregateService balanceAggregateService;
+
+    @BeforeEach
+    void setUp() {
+        balanceAggregateService = new BalanceAggregateService(bucketRepository, transactionRepository, transactionTemplate,
+                new TransactionTierRouter(false, 12), false);
+    }
+
+    @Test
+    void testCompletedBatchIsCollapsedPerAccountAndDay() {
+        // Given
+        LocalDateTime morning = LocalDateTime.of(2024, 3, 10, 9, 0);
+        List<Transaction> completed = List.of(
+                transaction("1234567890", "0987654321", "100.00", morning),
+                transaction("1234567890", "0987654321", "50.00", morning.plusHours(3)),
+                transaction(null, "1234567890", "20.00", morning.plusDays(1)));
+
+        // When
+        balanceAggregateService.recordCompleted(completed);
+
+        // Then
+        LocalDate day = morning.toLocalDate();
+        verify(bucketRepository).accumulate("1234567890", day, BigDecimal.ZERO, new BigDecimal("150.00"));
+        verify(bucketRepository).accumulate("0987654321", day, new BigDecimal("150.00"), BigDecimal.ZERO);
+        verify(bucketRepository).accumulate("1234567890", day.plusDays(1), new BigDecimal("20.00"), BigDecimal.ZERO);
+        verifyNoMoreInteractions(bucketRepository);
+    }
+
+    @Test
+    void testUncompletedTransactionIsSubtracted() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2024, 3, 10, 9, 0);
+
+        // When
+        balanceAggregateService.recordUncompleted(List.of(transaction("1234567890", null, "75.00", date)));
+
+        // Then
+        verify(bucketRepository).accumulate("1234567890", date.toLocalDate(), BigDecimal.ZERO, new BigDecimal("-75.00"));
+    }
+
+    @Test
+    void testRangeCombinesBucketsWithPartialEdgeDays() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 15, 30);
+        LocalDateTime end = LocalDateTime.of(2024, 3, 31, 8, 0);
+        LocalDate firstFullDay = LocalDate.of(2024, 3, 2);
+        LocalDate lastFullDay = LocalDate.of(2024, 3, 30);
+        when(bucketRepository.sumIncomingAmountByAccountAndDays("1234567890", firstFullDay, lastFullDay)).thenReturn(new BigDecimal("1000.00"));
+        when(bucketRepository.sumOutgoingAmountByAccountAndDays("1234567890", firstFullDay, lastFullDay)).thenReturn(new BigDecimal("400.00"));
+        when(transactionRepository.sumIncomingAmountByAccountFromDateBefore("1234567890", start, firstFullDay.atStartOfDay())).thenReturn(new BigDecimal("10.00"));
+        when(transactionRepository.sumOutgoingAmountByAccountFromDateBefore("1234567890", start, firstFullDay.atStartOfDay())).thenReturn(null);
+        when(transactionRepository.sumIncomingAmountByAccountAndDateRange("1234567890", lastFullDay.plusDays(1).atStartOfDay(), end)).thenReturn(null);
+        when(transactionRepository.sumOutgoingAmountByAccountAndDateRange("1234567890", lastFullDay.plusDays(1).atStartOfDay(), end)).thenReturn(new BigDecimal("5.00"));
+
+        // When
+        BigDecimal balance = balanceAggregateService.getBalance("1234567890", start, end);
+
+        // Then
+        assertEquals(new BigDecimal("605.00"), balance);
+    }
+
+    @Test
+    void testRangeAlignedToDaysReadsOnlyBuckets() {
+        // Given
+        LocalDate first = LocalDate.of(2024, 3, 1);
+        LocalDate last = LocalDate.of(2024, 3, 31);
+        when(bucketRepository.sumIncomingAmountByAccountAndDays("1234567890", first, last)).thenReturn(new BigDecimal("300.00"));
+        when(bucketRepository.sumOutgoingAmountByAccountAndDays("1234567890", first, last)).thenReturn(new BigDecimal("100.00"));
+
+        // When
+        BigDecimal balance = balanceAggregateService.getBalance("1234567890", first.atStartOfDay(), last.atTime(23, 59, 59, 999_999_999));
+
+        // Then
+        assertEquals(new BigDecimal("200.00"), balance);
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void testRangeWithinOneDayUsesTransactionsOnly() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2024, 3, 10, 9, 0);
+        LocalDateTime end = start.plusHours(4);
+        when(transactionRepository.sumIncomingAmountByAccountAndDateRange("1234567890", start, end)).thenReturn(new BigDecimal("80.00"));
+        when(transactionRepository.sumOutgoingAmountByAccountAndDateRange("1234567890", start, end)).thenReturn(new BigDecimal("30.00"));
+
+        // When
+        BigDecimal balance = balanceAggregateService.getBalance("1234567890", start, end);
+
+        // Then
+        assertEquals(new BigDecimal("50.00"), balance);
+        verify(bucketRepository, never()).sumIncomingAmountByAccountAndDays(any(), any(), any());
+    }
+
+    @Test
+    void testEdgeDayBeforeHotWindowReadsArchiveToo() {
+        // Given
+        balanceAggregateService = new BalanceAggregateService(bucketRepository, transactionRepository, transactionTemplate,
+                new TransactionTierRouter(true, 12), false);
+        LocalDateTime start = LocalDateTime.now().minusYears(3).withHour(15);
+        LocalDateTime end = start.toLocalDate().plusDays(3).atStartOfDay();
+        LocalDate firstFullDay = start.toLocalDate().plusDays(1);
+        when(transactionRepository.sumIncomingAmountByAccountAndDateRangeAcrossTiers(
+                "1234567890", start, firstFullDay.atStartOfDay().minusNanos(1000))).thenReturn(new BigDecimal("25.00"));
+
+        // When
+        BigDecimal balance = balanceAggregateService.getBalance("1234567890", start, end);
+
+        // Then
+        assertEquals(new BigDecimal("25.00"), balance);
+        verify(transactionRepository, never()).sumIncomingAmountByAccountFromDateBefore(any(), any(), any());
+    }
+
+    private Transaction transaction(String fromAccount, String toAccount, String amount, LocalDateTime date) {
+        Transaction transaction = new Transaction("TXN" + date, TransactionType.TRANSFER, new BigDecimal(amount), fromAccount, toAccount);
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+}
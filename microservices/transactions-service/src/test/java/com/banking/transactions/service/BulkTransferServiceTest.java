@@ -0,0 +1,190 @@
+package com.banking.transactions.service;
+
+import com.banking.transactions.cache.AccountDirectory;
+import com.banking.transactions.cache.AccountDirectoryEntry;
+import com.banking.transactions.client.AccountsClient;
+import com.banking.transactions.client.AccountsClient.TransferPostingResult;
+import com.banking.transactions.dto.BulkTransferRequest;
+import com.banking.transactions.dto.BulkTransferResponse;
+import com.banking.transactions.dto.TransferRequest;
+import com.banking.transactions.entity.Transaction;
+import com.banking.transactions.entity.TransactionStatus;
+import com.banking.transactions.exception.AccountNotFoundException;
+import com.banking.transactions.repository.TransactionBatchRepository;
+import com.banking.transactions.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkTransferServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionBatchRepository transactionBatchRepository;
+
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private AccountsClient accountsClient;
+
+    @Mock
+    private AccountDirectory accountDirectory;
+
+    @Mock
+    private BalanceAggregateService balanceAggregateService;
+
+    @InjectMocks
+    private BulkTransferService bulkTransferService;
+
+    @BeforeEach
+    void setUp() {
+        AtomicLong sequence = new AtomicLong();
+        when(transactionIdGenerator.nextId()).thenReturn(42L);
+        lenient().when(transactionIdGenerator.nextTransactionId()).thenAnswer(invocation -> "TXN" + sequence.incrementAndGet());
+        doAnswer(invocation -> {
+            Consumer<org.springframework.transaction.TransactionStatus> callback = invocation.getArgument(0);
+            callback.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void testBulkTransferReportsPerItemResults() {
+        // Given
+        when(accountDirectory.lookup(any())).thenAnswer(invocation -> {
+            String accountNumber = invocation.getArgument(0);
+            return "9999999999".equals(accountNumber)
+                    ? Mono.error(new AccountNotFoundException("Account not found: " + accountNumber))
+                    : Mono.just(new AccountDirectoryEntry(accountNumber, "ACTIVE", "EUR"));
+        });
+        when(accountsClient.postTransfers(any())).thenReturn(Mono.just(List.of(
+                postingResult("TXN1", true, null),
+                postingResult("TXN2", false, "Insufficient funds for debit operation"))));
+
+        BulkTransferRequest request = new BulkTransferRequest();
+        request.setTransfers(List.of(
+                transfer("1234567890", "0987654321", "100.00"),
+                transfer("1234567890", "9999999999", "50.00"),
+                transfer("1234567890", "0987654321", "5000.00")));
+
+        // When
+        BulkTransferResponse response = bulkTransferService.bulkTransfer(request);
+
+        // Then
+        assertEquals("BAT0000000000000000042", response.getBatchId());
+        assertEquals(3, response.getTotal());
+        assertEquals(1, response.getCompleted());
+        assertEquals(2, response.getFailed());
+        assertEquals(TransactionStatus.COMPLETED, response.getResults().get(0).getStatus());
+        assertEquals(TransactionStatus.FAILED, response.getResults().get(1).getStatus());
+        assertNull(response.getResults().get(1).getTransactionId());
+        assertEquals("Account not found: 9999999999", response.getResults().get(1).getStatusReason());
+        assertEquals("TXN2", response.getResults().get(2).getTransactionId());
+        assertEquals("Insufficient funds for debit operation", response.getResults().get(2).getStatusReason());
+
+        // Distinct accounts are validated once each, both valid items are posted in one grouped call
+        verify(accountDirectory, times(3)).lookup(any());
+        verify(accountsClient, times(1)).postTransfers(argThat(chunk -> chunk.size() == 2));
+        verify(transactionRepository).saveAll(argThat((List<Transaction> rows) -> rows.size() == 2));
+        verify(transactionBatchRepository).updateStatuses(any());
+        verify(outboxService).enqueueAll(eq("transaction-events"), anyList());
+    }
+
+    @Test
+    void testBulkTransferLeavesChunkPendingWhenPostingOutcomeIsUnknown() {
+        // Given
+        when(accountDirectory.lookup(any())).thenAnswer(invocation ->
+                Mono.just(new AccountDirectoryEntry(invocation.getArgument(0), "ACTIVE", "EUR")));
+        when(accountsClient.postTransfers(any())).thenReturn(Mono.error(new RuntimeException("Failed to post transfer batch: timeout")));
+
+        BulkTransferRequest request = new BulkTransferRequest();
+        request.setTransfers(List.of(transfer("1234567890", "0987654321", "100.00")));
+
+        // When
+        BulkTransferResponse response = bulkTransferService.bulkTransfer(request);
+
+        // Then
+        assertEquals(0, response.getCompleted());
+        assertEquals(0, response.getFailed());
+        assertEquals(1, response.getPending());
+        assertEquals(TransactionStatus.PENDING, response.getResults().get(0).getStatus());
+        assertEquals("TXN1", response.getResults().get(0).getTransactionId());
+
+        // Left for PendingTransactionReconciler: no status update and no event
+        verify(transactionBatchRepository, never()).updateStatuses(any());
+        verify(outboxService, never()).enqueueAll(any(), anyList());
+    }
+
+    @Test
+    void testPayrollFileFromOneAccountIsPostedWithoutReviewHolds() {
+        // Given
+        when(accountDirectory.lookup(any())).thenAnswer(invocation ->
+                Mono.just(new AccountDirectoryEntry(invocation.getArgument(0), "ACTIVE", "EUR")));
+        when(accountsClient.postTransfers(any())).thenAnswer(invocation -> {
+            List<Transaction> chunk = invocation.getArgument(0);
+            return Mono.just(chunk.stream().map(item -> postingResult(item.getTransactionId(), true, null)).toList());
+        });
+
+        List<TransferRequest> transfers = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            transfers.add(transfer("1234567890", String.format("%010d", 2000000000L + i), "2500.00"));
+        }
+        BulkTransferRequest request = new BulkTransferRequest();
+        request.setTransfers(transfers);
+
+        // When
+        BulkTransferResponse response = bulkTransferService.bulkTransfer(request);
+
+        // Then: far over the single-debit velocity limits of the employer account, yet every salary is posted
+        assertEquals(1000, response.getTotal());
+        assertEquals(1000, response.getCompleted());
+        assertTrue(response.getResults().stream().allMatch(result -> result.getStatus() == TransactionStatus.COMPLETED));
+        verify(accountsClient, times(2)).postTransfers(argThat(chunk -> chunk.size() == 500));
+        verify(outboxService).enqueueAll(eq("transaction-events"), argThat((List<OutboxService.KeyedEvent> events) ->
+                events.size() == 1000 && events.stream().allMatch(event ->
+                        event.getEvent() instanceof TransactionService.TransactionCompletedEvent)));
+    }
+
+    private TransferRequest transfer(String from, String to, String amount) {
+        TransferRequest transfer = new TransferRequest();
+        transfer.setFromAccountNumber(from);
+        transfer.setToAccountNumber(to);
+        transfer.setAmount(new BigDecimal(amount));
+        return transfer;
+    }
+
+    private TransferPostingResult postingResult(String transactionId, boolean posted, String reason) {
+        TransferPostingResult result = new TransferPostingResult();
+        result.setTransactionId(transactionId);
+        result.setPosted(posted);
+        result.setReason(reason);
+        return result;
+    }
+}
@@ -0,0 +1,218 @@
+package com.banking.transactions.service;
+
+import com.banking.transactions.dto.TransactionDto;
+import com.banking.transactions.dto.TransferRequest;
+import com.banking.transactions.entity.IdempotencyRecord;
+import com.banking.transactions.exception.IdempotencyKeyInProgressException;
+import com.banking.transactions.exception.IdempotencyKeyMismatchException;
+import com.banking.transactions.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceTest {
+
+    private static final String KEY = IdempotencyService.scopedKey("alice", "key-1");
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private IdempotencyService idempotencyService;
+    private TransferRequest request;
+    private TransactionDto transaction;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        idempotencyService = new IdempotencyService(idempotencyRecordRepository, transactionService, transactionTemplate,
+                new ObjectMapper(), new SimpleMeterRegistry(), 100, Duration.ofHours(24));
+
+        request = new TransferRequest();
+        request.setFromAccountNumber("1234567890");
+        request.setToAccountNumber("0987654321");
+        request.setAmount(new BigDecimal("100.00"));
+
+        transaction = new TransactionDto();
+        transaction.setTransactionId("TXN0000000000000000001");
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void testDuplicateRequestIsReplayedWithoutReExecuting() {
+        // Given
+        when(idempotencyRecordRepository.reserve(eq(KEY), eq("TRANSFER"), anyString(), any())).thenReturn(1);
+        when(transactionService.getTransactionByTransactionId("TXN0000000000000000001")).thenReturn(Optional.of(transaction));
+
+        // When
+        TransactionDto first = idempotencyService.execute("alice", "key-1", "TRANSFER", request, this::runTransfer).join();
+        TransactionDto second = idempotencyService.execute("alice", "key-1", "TRANSFER", request, this::runTransfer).join();
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, executions.get());
+        verify(idempotencyRecordRepository).complete(eq(KEY), eq("TXN0000000000000000001"), any());
+        verify(idempotencyRecordRepository, times(1)).reserve(any(), any(), any(), any());
+    }
+
+    @Test
+    void testDuplicateSeenByAnotherInstanceIsServedFromStore() {
+        // Given
+        when(idempotencyRecordRepository.reserve(eq(KEY), eq("TRANSFER"), anyString(), any())).thenReturn(1, 0);
+        IdempotencyService otherInstance = new IdempotencyService(idempotencyRecordRepository, transactionService,
+                transactionTemplate, new ObjectMapper(), new SimpleMeterRegistry(), 100, Duration.ofHours(24));
+        idempotencyService.execute("alice", "key-1", "TRANSFER", request, this::runTransfer).join();
+
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setIdempotencyKey(KEY);
+        record.setRequestHash(storedHash());
+        record.setTransactionId("TXN0000000000000000001");
+        when(idempotencyRecordRepository.findById(KEY)).thenReturn(Optional.of(record));
+        when(transactionService.getTransactionByTransactionId("TXN0000000000000000001")).thenReturn(Optional.of(transaction));
+
+        // When
+        TransactionDto replayed = otherInstance.execute("alice", "key-1", "TRANSFER", request, this::runTransfer).join();
+
+        // Then
+        assertEquals("TXN0000000000000000001", replayed.getTransactionId());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testDuplicateWhileFirstIsInFlightIsRejected() {
+        // Given
+        when(idempotencyRecordRepository.reserve(eq(KEY), eq("TRANSFER"), anyString(), any())).thenReturn(1, 0);
+        CompletableFuture<TransactionDto> inFlight = new CompletableFuture<>();
+        idempotencyService.execute("alice", "key-1", "TRANSFER", request, () -> inFlight);
+
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setIdempotencyKey(KEY);
+        record.setRequestHash(storedHash());
+        when(idempotencyRecordRepository.findById(KEY)).thenReturn(Optional.of(record));
+
+        // When
+        CompletionException exception = assertThrows(CompletionException.class, () ->
+                idempotencyService.execute("alice", "key-1", "TRANSFER", request, this::runTransfer).join());
+
+        // Then
+        assertInstanceOf(IdempotencyKeyInProgressException.class, exception.getCause());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void testKeyReusedForDifferentRequestIsRejected() {
+        // Given
+        when(idempotencyRecordRepository.reserve(eq(KEY), eq("TRANSFER"), anyString(), any())).thenReturn(1);
+        idempotencyService.execute("alice", "key-1", "TRANSFER", request, this::runTransfer).join();
+
+        TransferRequest otherRequest = new TransferRequest();
+        otherRequest.setFromAccountNumber("1234567890");
+        otherRequest.setToAccountNumber("0987654321");
+        otherRequest.setAmount(new BigDecimal("999.00"));
+
+        // When
+        CompletionException exception = assertThrows(CompletionException.class, () ->
+                idempotencyService.execute("alice", "key-1", "TRANSFER", otherRequest, this::runTransfer).join());
+
+        // Then
+        assertInstanceOf(IdempotencyKeyMismatchException.class, exception.getCause());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testRejectedRequestReleasesKey() {
+        // Given
+        when(idempotencyRecordRepository.reserve(eq(KEY), eq("TRANSFER"), anyString(), any())).thenReturn(1);
+
+        // When
+        assertThrows(CompletionException.class, () -> idempotencyService.execute("alice", "key-1", "TRANSFER", request,
+                () -> CompletableFuture.failedFuture(new IllegalStateException("Account is not active: 1234567890"))).join());
+
+        // Then
+        verify(idempotencyRecordRepository).deleteById(KEY);
+        verify(idempotencyRecordRepository, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    void testAsyncReplayReturnsCurrentStatusNotFirstResponse() {
+        // Given
+        when(idempotencyRecordRepository.reserve(eq(KEY), eq("TRANSFER"), anyString(), any())).thenReturn(1);
+        transaction.setStatus(com.banking.transactions.entity.TransactionStatus.PENDING);
+        idempotencyService.execute("alice", "key-1", "TRANSFER", request, this::runTransfer).join();
+
+        TransactionDto settled = new TransactionDto();
+        settled.setTransactionId("TXN0000000000000000001");
+        settled.setStatus(com.banking.transactions.entity.TransactionStatus.COMPLETED);
+        when(transactionService.getTransactionByTransactionId("TXN0000000000000000001")).thenReturn(Optional.of(settled));
+
+        // When
+        TransactionDto replayed = idempotencyService.execute("alice", "key-1", "TRANSFER", request, this::runTransfer).join();
+
+        // Then
+        assertEquals(com.banking.transactions.entity.TransactionStatus.COMPLETED, replayed.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testSameKeyFromAnotherPrincipalIsASeparateRequest() {
+        // Given
+        String otherKey = IdempotencyService.scopedKey("bob", "key-1");
+        when(idempotencyRecordRepository.reserve(eq(KEY), eq("TRANSFER"), anyString(), any())).thenReturn(1);
+        when(idempotencyRecordRepository.reserve(eq(otherKey), eq("TRANSFER"), anyString(), any())).thenReturn(1);
+
+        // When
+        idempotencyService.execute("alice", "key-1", "TRANSFER", request, this::runTransfer).join();
+        idempotencyService.execute("bob", "key-1", "TRANSFER", request, this::runTransfer).join();
+
+        // Then
+        assertNotEquals(KEY, otherKey);
+        assertEquals(2, executions.get());
+        verify(idempotencyRecordRepository).complete(eq(otherKey), eq("TXN0000000000000000001"), any());
+    }
+
+    private CompletableFuture<TransactionDto> runTransfer() {
+        executions.incrementAndGet();
+        return CompletableFuture.completedFuture(transaction);
+    }
+
+    private String storedHash() {
+        // Capture the hash the first call reserved with
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyRecordRepository, timeout(1000).atLeastOnce()).reserve(eq(KEY), eq("TRANSFER"), hash.capture(), any());
+        return hash.getValue();
+    }
+}
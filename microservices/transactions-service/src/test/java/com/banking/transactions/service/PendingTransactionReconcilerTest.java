@@ -0,0 +1,108 @@
+package com.banking.transactions.service;
+
+import com.banking.transactions.client.AccountsClient;
+import com.banking.transactions.entity.Transaction;
+import com.banking.transactions.entity.TransactionStatus;
+import com.banking.transactions.entity.TransactionType;
+import com.banking.transactions.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PendingTransactionReconcilerTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountsClient accountsClient;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private BalanceAggregateService balanceAggregateService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PendingTransactionReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        meterRegistry = new SimpleMeterRegistry();
+        reconciler = new PendingTransactionReconciler(transactionRepository, accountsClient, outboxService,
+                balanceAggregateService, transactionTemplate, meterRegistry,
+                Duration.ofMinutes(10), 2, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testPostedRowsAreCompletedAndOthersFailed() {
+        // Given
+        Transaction posted = pending("TXN1");
+        Transaction lost = pending("TXN2");
+        when(transactionRepository.countStalePending(any())).thenReturn(2L);
+        when(transactionRepository.claimStalePending(any(), eq(2))).thenReturn(List.of(posted, lost), List.of());
+        when(accountsClient.findPostedTransactionIds(List.of("TXN1", "TXN2"))).thenReturn(Mono.just(List.of("TXN1")));
+
+        // When
+        reconciler.reconcile();
+
+        // Then
+        assertEquals(TransactionStatus.COMPLETED, posted.getStatus());
+        assertEquals(TransactionStatus.FAILED, lost.getStatus());
+        assertEquals(PendingTransactionReconciler.NOT_POSTED_REASON, lost.getStatusReason());
+        verify(transactionRepository).saveAll(List.of(posted, lost));
+        verify(balanceAggregateService).recordCompleted(List.of(posted));
+        verify(outboxService).enqueueAll(eq("transaction-events"), argThat((List<OutboxService.KeyedEvent> events) ->
+                events.get(0).getEvent() instanceof TransactionService.TransactionCompletedEvent
+                        && events.get(1).getEvent() instanceof TransactionService.TransactionFailedEvent
+                        && "1234567890".equals(events.get(1).getPartitionKey())));
+        assertEquals(2.0, meterRegistry.get("transactions.reconciler.backlog").gauge().value());
+        assertEquals(1.0, meterRegistry.get("transactions.reconciler.resolved").tag("outcome", "completed").counter().count());
+        assertEquals(1.0, meterRegistry.get("transactions.reconciler.resolved").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    void testLookupFailureLeavesRowsPending() {
+        // Given
+        Transaction transaction = pending("TXN1");
+        when(transactionRepository.claimStalePending(any(), anyInt())).thenReturn(List.of(transaction));
+        when(accountsClient.findPostedTransactionIds(any())).thenReturn(Mono.error(new RuntimeException("accounts-service down")));
+
+        // When
+        reconciler.reconcile();
+
+        // Then
+        assertEquals(TransactionStatus.PENDING, transaction.getStatus());
+        verify(transactionRepository, never()).saveAll(any());
+        verifyNoInteractions(outboxService);
+    }
+
+    private Transaction pending(String transactionId) {
+        Transaction transaction = new Transaction(transactionId, TransactionType.TRANSFER, new BigDecimal("100.00"), "1234567890", "0987654321");
+        transaction.setStatus(TransactionStatus.PENDING);
+        transaction.setTransactionDate(LocalDateTime.now().minusHours(1));
+        return transaction;
+    }
+}
@@ -0,0 +1,102 @@
+package com.banking.transactions.service;
+
+import com.banking.transactions.dto.StatementFormat;
+import com.banking.transactions.entity.Transaction;
+import com.banking.transactions.entity.TransactionStatus;
+import com.banking.transactions.entity.TransactionType;
+import com.banking.transactions.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StatementExportServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 12, 31, 23, 59, 59);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private TransactionTierRouter tierRouter = new TransactionTierRouter(false, 12);
+
+    @InjectMocks
+    private StatementExportService statementExportService;
+
+    private Transaction incoming;
+    private Transaction outgoing;
+
+    @BeforeEach
+    void setUp() {
+        incoming = new Transaction("TXN1", TransactionType.TRANSFER, new BigDecimal("100.00"), "0987654321", "1234567890");
+        incoming.setStatus(TransactionStatus.COMPLETED);
+        incoming.setTransactionDate(LocalDateTime.of(2024, 3, 10, 9, 0));
+        incoming.setDescription("Rent, March \"flat 2\"");
+
+        outgoing = new Transaction("TXN2", TransactionType.WITHDRAWAL, new BigDecimal("40.00"), "1234567890", null);
+        outgoing.setStatus(TransactionStatus.COMPLETED);
+        outgoing.setTransactionDate(LocalDateTime.of(2024, 3, 11, 9, 0));
+    }
+
+    @Test
+    void testCsvExportWritesOneEscapedRowPerTransaction() throws Exception {
+        // Given
+        when(transactionRepository.streamByAccountNumberAndDateRange("1234567890", START, END))
+                .thenReturn(Stream.of(incoming, outgoing));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = statementExportService.export("1234567890", START, END, StatementFormat.CSV, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(3, lines.length);
+        assertEquals("TXN1,2024-03-10T09:00,TRANSFER,COMPLETED,CREDIT,100.00,EUR,0987654321,\"Rent, March \"\"flat 2\"\"\",", lines[1]);
+        assertEquals("TXN2,2024-03-11T09:00,WITHDRAWAL,COMPLETED,DEBIT,40.00,EUR,,,", lines[2]);
+        verify(entityManager).detach(incoming);
+        verify(entityManager).detach(outgoing);
+    }
+
+    @Test
+    void testNdjsonExportWritesOneObjectPerLine() throws Exception {
+        // Given
+        when(transactionRepository.streamByAccountNumberAndDateRange("1234567890", START, END))
+                .thenReturn(Stream.of(incoming, outgoing));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        statementExportService.export("1234567890", START, END, StatementFormat.NDJSON, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("TXN1", first.get("transactionId").asText());
+        assertEquals("CREDIT", first.get("direction").asText());
+        assertEquals("DEBIT", objectMapper.readTree(lines[1]).get("direction").asText());
+    }
+}
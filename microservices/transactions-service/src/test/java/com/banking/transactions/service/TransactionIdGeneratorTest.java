@@ -0,0 +1,81 @@
+package com.banking.transactions.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionIdGeneratorTest {
+
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 100_000;
+
+    @Test
+    void testIdsAreUniqueAndMonotonicUnderContention() throws Exception {
+        // Given
+        TransactionIdGenerator generator = new TransactionIdGenerator(7);
+        Set<Long> ids = ConcurrentHashMap.newKeySet(THREADS * IDS_PER_THREAD);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // When
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                long previous = -1;
+                boolean monotonic = true;
+                for (int i = 0; i < IDS_PER_THREAD; i++) {
+                    long id = generator.nextId();
+                    monotonic &= id > previous;
+                    previous = id;
+                    ids.add(id);
+                }
+                return monotonic;
+            }));
+        }
+        start.countDown();
+
+        // Then
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get(60, TimeUnit.SECONDS), "ids must increase within a thread");
+        }
+        executor.shutdown();
+        assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+    }
+
+    @Test
+    void testIdsEmbedWorkerAndSortAsStrings() {
+        // Given
+        TransactionIdGenerator generator = new TransactionIdGenerator(1023);
+
+        // When
+        String first = generator.nextTransactionId();
+        String second = generator.nextTransactionId();
+        long id = Long.parseLong(second.substring(3));
+
+        // Then
+        assertEquals(22, first.length());
+        assertTrue(first.compareTo(second) < 0);
+        assertEquals(1023, (id >>> TransactionIdGenerator.SEQUENCE_BITS) & TransactionIdGenerator.MAX_WORKER_ID);
+    }
+
+    @Test
+    void testRejectsOutOfRangeWorkerId() {
+        assertThrows(IllegalArgumentException.class, () -> new TransactionIdGenerator(1024));
+    }
+
+    @Test
+    void testFailsFastWithoutConfiguredWorkerId() {
+        assertThrows(IllegalStateException.class, () -> new TransactionIdGenerator(-1));
+    }
+}
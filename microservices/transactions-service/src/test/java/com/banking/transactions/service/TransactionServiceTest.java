@@ -1,23 +1,44 @@
 package com.banking.transactions.service;
 
+import com.banking.transactions.cache.AccountDirectory;
+import com.banking.transactions.cache.AccountDirectoryEntry;
+import com.banking.transactions.client.AccountsClient;
+import com.banking.transactions.dto.TransactionCursor;
+import com.banking.transactions.dto.TransactionDto;
+import com.banking.transactions.dto.TransactionSlice;
 import com.banking.transactions.dto.TransferRequest;
 import com.banking.transactions.dto.DepositRequest;
 import com.banking.transactions.dto.WithdrawalRequest;
 import com.banking.transactions.entity.Transaction;
 import com.banking.transactions.entity.TransactionStatus;
 import com.banking.transactions.entity.TransactionType;
+import com.banking.transactions.exception.InvalidTransactionStateException;
 import com.banking.transactions.mapper.TransactionMapper;
 import com.banking.transactions.repository.TransactionRepository;
+import com.banking.transactions.risk.RiskAssessment;
+import com.banking.transactions.risk.RiskScorer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,11 +53,41 @@ public class TransactionServiceTest {
     @Mock
     private TransactionMapper transactionMapper;
 
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+
     @Mock
     private KafkaTemplate<String, Object> kafkaTemplate;
 
     @Mock
-    private WebClient.Builder webClientBuilder;
+    private OutboxService outboxService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private AccountsClient accountsClient;
+
+    @Mock
+    private AccountDirectory accountDirectory;
+
+    @Mock
+    private BalanceAggregateService balanceAggregateService;
+
+    @Spy
+    private TransactionTierRouter tierRouter = new TransactionTierRouter(false, 12);
+
+    @Spy
+    private AccountLaneExecutor accountLaneExecutor = new AccountLaneExecutor(new SimpleMeterRegistry(), 4, 16);
+
+    @Spy
+    private RiskScorer riskScorer = new RiskScorer(new SimpleMeterRegistry(), false, 1000, 5, 30, new BigDecimal("20000"), 30, 10, 50);
+
+    @Mock
+    private TransactionStatusNotifier statusNotifier;
+
+    @Spy
+    private Scheduler transactionProcessingScheduler = Schedulers.immediate();
 
     @InjectMocks
     private TransactionService transactionService;
@@ -60,20 +111,111 @@ public class TransactionServiceTest {
         transferRequest.setToAccountNumber("0987654321");
         transferRequest.setAmount(new BigDecimal("1000.00"));
         transferRequest.setDescription("Test transfer");
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
     void testTransferCreation() {
         // Given
-        when(transactionRepository.existsByTransactionId(any())).thenReturn(false);
+        when(transactionIdGenerator.nextTransactionId()).thenReturn("TXN0000000000000000001");
         when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+        when(accountDirectory.lookup(any())).thenAnswer(invocation ->
+                Mono.just(new AccountDirectoryEntry(invocation.getArgument(0), "ACTIVE", "EUR")));
+        when(transactionMapper.toDto(any(Transaction.class))).thenReturn(new TransactionDto());
+        when(accountsClient.postTransfer(any())).thenReturn(Mono.empty());
+
+        // When
+        transactionService.transfer(transferRequest).join();
+
+        // Then
+        verify(transactionRepository, times(2)).save(any(Transaction.class));
+        verify(accountsClient).postTransfer(testTransaction);
+        verify(balanceAggregateService).recordCompleted(List.of(testTransaction));
+        assertEquals(TransactionStatus.COMPLETED, testTransaction.getStatus());
+        verify(outboxService).enqueue(eq("transaction-events"), eq("TXN123456789"), eq("1234567890"), any(TransactionService.TransactionCompletedEvent.class));
+        verify(kafkaTemplate, never()).send(eq("transaction-events"), any()); // Event relayed from the outbox
+    }
+
+    @Test
+    void testRiskyTransferIsHeldForReviewWithoutPosting() {
+        // Given
+        when(transactionIdGenerator.nextTransactionId()).thenReturn("TXN0000000000000000001");
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+        when(accountDirectory.lookup(any())).thenAnswer(invocation ->
+                Mono.just(new AccountDirectoryEntry(invocation.getArgument(0), "ACTIVE", "EUR")));
+        when(transactionMapper.toDto(any(Transaction.class))).thenReturn(new TransactionDto());
+        doReturn(new RiskAssessment(80, true, List.of("more than 5 debits in 1 minute")))
+                .when(riskScorer).assess(any(Transaction.class));
+
+        // When
+        transactionService.transfer(transferRequest).join();
+
+        // Then
+        assertEquals(TransactionStatus.UNDER_REVIEW, testTransaction.getStatus());
+        assertTrue(testTransaction.getStatusReason().contains("more than 5 debits in 1 minute"));
+        verify(accountsClient, never()).postTransfer(any());
+        verifyNoInteractions(balanceAggregateService);
+        verify(outboxService).enqueue(eq("transaction-events"), eq("TXN123456789"), eq("1234567890"), any(TransactionService.TransactionStatusUpdatedEvent.class));
+    }
+
+    @Test
+    void testSubmittedTransferIsAnsweredBeforePosting() {
+        // Given
+        TransactionDto pending = new TransactionDto();
+        pending.setStatus(TransactionStatus.PENDING);
+        when(transactionIdGenerator.nextTransactionId()).thenReturn("TXN0000000000000000001");
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+        when(transactionMapper.toDto(any(Transaction.class))).thenReturn(pending);
+        when(accountDirectory.lookup(any())).thenReturn(Mono.never());
+
+        // When
+        TransactionDto accepted = transactionService.submitTransfer(transferRequest).join();
+
+        // Then: the account lookups never answer, yet the caller already has its PENDING transaction
+        assertEquals(TransactionStatus.PENDING, accepted.getStatus());
+        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(accountsClient, never()).postTransfer(any());
+    }
+
+    @Test
+    void testSubmittedTransferIsPostedInBackground() {
+        // Given
+        when(transactionIdGenerator.nextTransactionId()).thenReturn("TXN0000000000000000001");
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+        when(transactionMapper.toDto(any(Transaction.class))).thenReturn(new TransactionDto());
+        when(accountDirectory.lookup(any())).thenAnswer(invocation ->
+                Mono.just(new AccountDirectoryEntry(invocation.getArgument(0), "ACTIVE", "EUR")));
+        when(accountsClient.postTransfer(any())).thenReturn(Mono.empty());
+
+        // When
+        transactionService.submitTransfer(transferRequest).join();
+
+        // Then
+        verify(statusNotifier, timeout(2000)).publish(testTransaction);
+        assertEquals(TransactionStatus.COMPLETED, testTransaction.getStatus());
+        verify(accountsClient).postTransfer(testTransaction);
+    }
+
+    @Test
+    void testStatusStreamEndsWhenTransactionSettles() {
+        // Given
+        TransactionDto pending = new TransactionDto();
+        pending.setTransactionId("TXN123456789");
+        pending.setStatus(TransactionStatus.PENDING);
+        TransactionDto completed = new TransactionDto();
+        completed.setTransactionId("TXN123456789");
+        completed.setStatus(TransactionStatus.COMPLETED);
+        when(statusNotifier.updates("TXN123456789")).thenReturn(Flux.just(pending, completed));
 
         // When
-        transactionService.transfer(transferRequest);
+        List<TransactionDto> updates = transactionService.streamTransactionStatus(pending)
+                .collectList()
+                .block(Duration.ofSeconds(5));
 
         // Then
-        verify(transactionRepository).save(any(Transaction.class));
-        verify(kafkaTemplate, never()).send(eq("transaction-events"), any()); // Event sent asynchronously
+        assertEquals(List.of(pending, completed), updates);
     }
 
     @Test
@@ -92,14 +234,19 @@ public class TransactionServiceTest {
         depositTransaction.setToAccountNumber("1234567890");
         depositTransaction.setStatus(TransactionStatus.PENDING);
 
-        when(transactionRepository.existsByTransactionId(any())).thenReturn(false);
+        when(transactionIdGenerator.nextTransactionId()).thenReturn("TXN0000000000000000001");
         when(transactionRepository.save(any(Transaction.class))).thenReturn(depositTransaction);
+        when(accountDirectory.lookup(any())).thenAnswer(invocation ->
+                Mono.just(new AccountDirectoryEntry(invocation.getArgument(0), "ACTIVE", "EUR")));
+        when(transactionMapper.toDto(any(Transaction.class))).thenReturn(new TransactionDto());
+        when(accountsClient.updateBalance(any(), any(), eq("CREDIT"), any())).thenReturn(Mono.empty());
 
         // When
-        transactionService.deposit(depositRequest);
+        transactionService.deposit(depositRequest).join();
 
         // Then
-        verify(transactionRepository).save(any(Transaction.class));
+        verify(transactionRepository, times(2)).save(any(Transaction.class));
+        assertEquals(TransactionStatus.COMPLETED, depositTransaction.getStatus());
     }
 
     @Test
@@ -118,14 +265,20 @@ public class TransactionServiceTest {
         withdrawalTransaction.setFromAccountNumber("1234567890");
         withdrawalTransaction.setStatus(TransactionStatus.PENDING);
 
-        when(transactionRepository.existsByTransactionId(any())).thenReturn(false);
+        when(transactionIdGenerator.nextTransactionId()).thenReturn("TXN0000000000000000001");
         when(transactionRepository.save(any(Transaction.class))).thenReturn(withdrawalTransaction);
+        when(accountDirectory.lookup(any())).thenAnswer(invocation ->
+                Mono.just(new AccountDirectoryEntry(invocation.getArgument(0), "ACTIVE", "EUR")));
+        when(transactionMapper.toDto(any(Transaction.class))).thenReturn(new TransactionDto());
+        when(accountsClient.updateBalance(any(), any(), eq("DEBIT"), any())).thenReturn(Mono.error(new RuntimeException("Insufficient funds")));
 
         // When
-        transactionService.withdrawal(withdrawalRequest);
+        transactionService.withdrawal(withdrawalRequest).join();
 
         // Then
-        verify(transactionRepository).save(any(Transaction.class));
+        verify(transactionRepository, times(2)).save(any(Transaction.class));
+        assertEquals(TransactionStatus.FAILED, withdrawalTransaction.getStatus());
+        assertEquals("Insufficient funds", withdrawalTransaction.getStatusReason());
     }
 
     @Test
@@ -142,6 +295,125 @@ public class TransactionServiceTest {
         assertEquals("Transaction completed successfully", testTransaction.getStatusReason());
         assertNotNull(testTransaction.getProcessedDate());
         verify(transactionRepository).save(testTransaction);
-        verify(kafkaTemplate).send(eq("transaction-events"), any());
+        verify(outboxService).enqueue(eq("transaction-events"), eq("TXN123456789"), eq("1234567890"), any(TransactionService.TransactionStatusUpdatedEvent.class));
+    }
+
+    @Test
+    void testHeldTransactionCannotBeCompletedByStatusUpdate() {
+        // Given
+        testTransaction.setStatus(TransactionStatus.UNDER_REVIEW);
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(testTransaction));
+
+        // When / Then
+        assertThrows(InvalidTransactionStateException.class,
+                () -> transactionService.updateTransactionStatus(1L, TransactionStatus.COMPLETED, null));
+        assertEquals(TransactionStatus.UNDER_REVIEW, testTransaction.getStatus());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void testReleasedTransactionIsPostedThroughTheTransferPipeline() {
+        // Given
+        testTransaction.setStatus(TransactionStatus.PROCESSING);
+        when(transactionRepository.updateStatusIfCurrent(eq(1L), eq(TransactionStatus.UNDER_REVIEW), eq(TransactionStatus.PROCESSING), isNull(), any()))
+                .thenReturn(1);
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(testTransaction));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+        when(accountsClient.postTransfer(any())).thenReturn(Mono.empty());
+        when(transactionMapper.toDto(any(Transaction.class))).thenReturn(new TransactionDto());
+
+        // When
+        transactionService.releaseFromReview(1L).join();
+
+        // Then
+        verify(accountsClient).postTransfer(testTransaction);
+        verify(riskScorer, never()).assess(any());
+        assertEquals(TransactionStatus.COMPLETED, testTransaction.getStatus());
+        verify(outboxService).enqueue(eq("transaction-events"), eq("TXN123456789"), eq("1234567890"), any(TransactionService.TransactionCompletedEvent.class));
+    }
+
+    @Test
+    void testReleaseOfTransactionNoLongerUnderReviewIsRejected() {
+        // Given
+        testTransaction.setStatus(TransactionStatus.FAILED);
+        when(transactionRepository.updateStatusIfCurrent(eq(1L), eq(TransactionStatus.UNDER_REVIEW), eq(TransactionStatus.PROCESSING), isNull(), any()))
+                .thenReturn(0);
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(testTransaction));
+
+        // When
+        CompletionException thrown = assertThrows(CompletionException.class, () -> transactionService.releaseFromReview(1L).join());
+
+        // Then
+        assertInstanceOf(InvalidTransactionStateException.class, thrown.getCause());
+        verify(accountsClient, never()).postTransfer(any());
+    }
+
+    @Test
+    void testTransactionHistoryMergesBothSidesAndReturnsCursor() {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2024, 3, 10, 12, 0);
+        TransactionDto sent = historyTransaction(5L, now);
+        TransactionDto received = historyTransaction(4L, now.minusMinutes(1));
+        TransactionDto toSelf = historyTransaction(3L, now.minusMinutes(2));
+        TransactionDto older = historyTransaction(2L, now.minusMinutes(3));
+        when(transactionRepository.findOutgoingBefore(eq("1234567890"), any(), any(), any()))
+                .thenReturn(List.of(sent, toSelf, older));
+        when(transactionRepository.findIncomingBefore(eq("1234567890"), any(), any(), any()))
+                .thenReturn(List.of(received, toSelf));
+
+        // When
+        TransactionSlice slice = transactionService.getTransactionHistoryByAccountNumber("1234567890", null, 2);
+
+        // Then
+        assertEquals(List.of(sent, received), slice.getContent());
+        assertTrue(slice.isHasNext());
+        TransactionCursor cursor = TransactionCursor.decode(slice.getNextCursor());
+        assertEquals(received.getTransactionDate(), cursor.getTransactionDate());
+        assertEquals(4L, cursor.getId());
+    }
+
+    @Test
+    void testReferenceLookupFallsBackToArchive() {
+        // Given
+        doReturn(true).when(tierRouter).isArchiveEnabled();
+        TransactionDto archived = historyTransaction(1L, LocalDateTime.of(2020, 1, 15, 9, 0));
+        when(transactionRepository.findDtoByTransactionId("TXN123456789")).thenReturn(Optional.empty());
+        when(transactionRepository.findArchivedByTransactionId("TXN123456789")).thenReturn(Optional.of(testTransaction));
+        when(transactionMapper.toDto(testTransaction)).thenReturn(archived);
+
+        // When
+        Optional<TransactionDto> transaction = transactionService.getTransactionByTransactionId("TXN123456789");
+
+        // Then
+        assertSame(archived, transaction.get());
+    }
+
+    @Test
+    void testTransactionHistoryContinuesIntoArchiveWhenHotRowsRunOut() {
+        // Given
+        doReturn(true).when(tierRouter).isArchiveEnabled();
+        LocalDateTime now = LocalDateTime.of(2024, 3, 10, 12, 0);
+        TransactionDto hot = historyTransaction(5L, now);
+        TransactionDto archived = historyTransaction(2L, now.minusYears(2));
+        Transaction archivedRow = new Transaction();
+        when(transactionRepository.findOutgoingBefore(eq("1234567890"), any(), any(), any())).thenReturn(List.of(hot));
+        when(transactionRepository.findIncomingBefore(eq("1234567890"), any(), any(), any())).thenReturn(List.of());
+        when(transactionRepository.findArchivedOutgoingBefore(eq("1234567890"), any(), any(), eq(3))).thenReturn(List.of(archivedRow));
+        when(transactionRepository.findArchivedIncomingBefore(eq("1234567890"), any(), any(), eq(3))).thenReturn(List.of());
+        when(transactionMapper.toDto(archivedRow)).thenReturn(archived);
+
+        // When
+        TransactionSlice slice = transactionService.getTransactionHistoryByAccountNumber("1234567890", null, 2);
+
+        // Then
+        assertEquals(List.of(hot, archived), slice.getContent());
+        assertFalse(slice.isHasNext());
+    }
+
+    private TransactionDto historyTransaction(Long id, LocalDateTime transactionDate) {
+        TransactionDto transaction = new TransactionDto();
+        transaction.setId(id);
+        transaction.setTransactionDate(transactionDate);
+        return transaction;
     }
 }
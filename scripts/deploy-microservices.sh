@@ -57,7 +57,7 @@ deploy_transactions_service() {
     
     kubectl apply -f infrastructure/kubernetes/transactions-service.yaml
     
-    kubectl wait --for=condition=available deployment/transactions-service -n banking --timeout=300s
+    kubectl rollout status statefulset/transactions-service -n banking --timeout=300s
     
     echo "Transactions Service déployé"
 }
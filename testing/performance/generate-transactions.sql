@@ -0,0 +1,41 @@
+-- Synthetic transactions for partitioning/archival benchmarks (see docs/performance.md).
+-- Usage: psql -d banking_transactions -v rows=100000000 -v accounts=1000000 -v months=36 -f generate-transactions.sql
+-- Rows are spread evenly over the last :months months and :accounts accounts, inserted in chunks of 1M.
+
+\set ON_ERROR_STOP on
+
+-- psql does not substitute variables inside the DO body, so pass them through session settings
+SET generator.rows = :'rows';
+SET generator.accounts = :'accounts';
+SET generator.months = :'months';
+
+DO $$
+DECLARE
+    total    BIGINT := current_setting('generator.rows')::BIGINT;
+    accounts BIGINT := current_setting('generator.accounts')::BIGINT;
+    span     INTERVAL := make_interval(months => current_setting('generator.months')::INT);
+    chunk    BIGINT := 1000000;
+    done     BIGINT := 0;
+BEGIN
+    WHILE done < total LOOP
+        INSERT INTO transactions (transaction_id, type, amount, currency, from_account_number, to_account_number,
+                                  description, status, transaction_date, processed_date, fees)
+        SELECT 'GEN' || lpad((done + g)::text, 19, '0'),
+               (ARRAY['TRANSFER', 'DEPOSIT', 'WITHDRAWAL'])[1 + (g % 3)],
+               round((random() * 5000 + 1)::numeric, 2),
+               'EUR',
+               CASE WHEN g % 3 = 1 THEN NULL ELSE lpad((1000000000 + (random() * accounts)::bigint)::text, 10, '0') END,
+               CASE WHEN g % 3 = 2 THEN NULL ELSE lpad((1000000000 + (random() * accounts)::bigint)::text, 10, '0') END,
+               'Generated transaction',
+               CASE WHEN g % 50 = 0 THEN 'FAILED' ELSE 'COMPLETED' END,
+               now() - span + (span * (done + g) / total),
+               now() - span + (span * (done + g) / total),
+               0
+        FROM generate_series(1, LEAST(chunk, total - done)) AS g;
+        done := done + chunk;
+        COMMIT;
+        RAISE NOTICE '% / % rows', LEAST(done, total), total;
+    END LOOP;
+END $$;
+
+ANALYZE transactions;